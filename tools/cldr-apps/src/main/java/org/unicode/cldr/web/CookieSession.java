@@ -18,10 +18,15 @@ import java.util.Base64;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Hashtable;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
 
 import org.unicode.cldr.util.CLDRConfig;
 import org.unicode.cldr.util.Level;
@@ -30,6 +35,9 @@ import org.unicode.cldr.util.StandardCodes;
 /**
  * Instances of this class represent the session-persistent data kept on a
  * per-user basis. Instances are typically held by WebContext.session.
+ * <p>
+ * The sessions are kept in concurrent maps, so lookups don't lock. Idle sessions are
+ * expired by a timer wheel (see {@link ExpiryWheel}) rather than by scanning all of them.
  */
 public class CookieSession {
     /*
@@ -55,10 +63,29 @@ public class CookieSession {
     private static final boolean KICK_IF_ABSENT = false;
 
     static final boolean DEBUG_INOUT = false;
+
+    /**
+     * Source of the current time, in millis since 1970. Only replaced by tests.
+     */
+    private static volatile LongSupplier clock = System::currentTimeMillis;
+
+    private static long now() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * Replace the clock used for session times and expiry, so that tests can move time forward.
+     *
+     * @param newClock the clock, or null to use the system clock
+     */
+    public static void setClock(LongSupplier newClock) {
+        clock = (newClock == null) ? System::currentTimeMillis : newClock;
+    }
+
     public String id;
     public String ip;
-    public Hashtable<String, Object> stuff = new Hashtable<>(); // user data
-    public Hashtable<String, Comparable> prefs = new Hashtable<>(); // user prefs
+    public final Map<String, Object> stuff = new ConcurrentHashMap<>(); // user data
+    public final Map<String, Comparable> prefs = new ConcurrentHashMap<>(); // user prefs
     public UserRegistry.User user = null;
     /**
      * @deprecated need to refactor anything that uses this.
@@ -76,7 +103,7 @@ public class CookieSession {
      *
      * Compare lastBrowserCallMillisSinceEpoch.
      */
-    private long lastActionMillisSinceEpoch = System.currentTimeMillis();
+    private volatile long lastActionMillisSinceEpoch = now();
 
     /**
      * Get the time (in millis since 1970) when the user last took an explicit action.
@@ -105,7 +132,7 @@ public class CookieSession {
         if (!KICK_IF_INACTIVE) {
             return 1000000; // anything more than one minute, to prevent browser console countdown
         }
-        final long nowMillisSinceEpoch = System.currentTimeMillis();
+        final long nowMillisSinceEpoch = now();
         final boolean guest = (user == null);
         long myTimeoutSecs; // timeout in seconds.
 
@@ -143,7 +170,7 @@ public class CookieSession {
      *
      * Compare lastActionMillisSinceEpoch.
      */
-    private long lastBrowserCallMillisSinceEpoch;
+    private volatile long lastBrowserCallMillisSinceEpoch;
 
     /**
      * Get the time (in millis since 1970) when the user last touched this session.
@@ -169,8 +196,18 @@ public class CookieSession {
             + "}";
     }
 
-    static Hashtable<String, CookieSession> gHash = new Hashtable<>(); // hash by sess ID
-    static Hashtable<String, CookieSession> uHash = new Hashtable<>(); // hash by user ID
+    static final Map<String, CookieSession> gHash = new ConcurrentHashMap<>(); // hash by sess ID
+    static final Map<String, CookieSession> uHash = new ConcurrentHashMap<>(); // hash by user ID
+
+    /**
+     * Number of sessions in gHash that have a user
+     */
+    private static final AtomicInteger userSessionCount = new AtomicInteger();
+
+    /**
+     * Sessions waiting to be checked for expiry
+     */
+    private static final ExpiryWheel expiryWheel = new ExpiryWheel();
 
     /**
      *
@@ -178,24 +215,22 @@ public class CookieSession {
      * Called by AdminAjax.jsp
      */
     public static Set<CookieSession> getAllSet() {
-        synchronized (gHash) {
-            TreeSet<CookieSession> sessSet = new TreeSet<>(new Comparator<Object>() {
-                @Override
-                public int compare(Object a, Object b) {
-                    CookieSession aa = (CookieSession) a;
-                    CookieSession bb = (CookieSession) b;
-                    if (aa == bb)
-                        return 0;
-                    if (aa.lastBrowserCallMillisSinceEpoch > bb.lastBrowserCallMillisSinceEpoch)
-                        return -1;
-                    if (aa.lastBrowserCallMillisSinceEpoch < bb.lastBrowserCallMillisSinceEpoch)
-                        return 1;
-                    return 0; // same age
-                }
-            });
-            sessSet.addAll(gHash.values()); // ALL sessions
-            return sessSet;
-        }
+        TreeSet<CookieSession> sessSet = new TreeSet<>(new Comparator<Object>() {
+            @Override
+            public int compare(Object a, Object b) {
+                CookieSession aa = (CookieSession) a;
+                CookieSession bb = (CookieSession) b;
+                if (aa == bb)
+                    return 0;
+                if (aa.lastBrowserCallMillisSinceEpoch > bb.lastBrowserCallMillisSinceEpoch)
+                    return -1;
+                if (aa.lastBrowserCallMillisSinceEpoch < bb.lastBrowserCallMillisSinceEpoch)
+                    return 1;
+                return 0; // same age
+            }
+        });
+        sessSet.addAll(gHash.values()); // ALL sessions
+        return sessSet;
     }
 
     /**
@@ -224,10 +259,7 @@ public class CookieSession {
      */
     public static CookieSession retrieveWithoutTouch(String sessionid) {
         checkForExpiredSessions();
-        synchronized (gHash) {
-            CookieSession c = gHash.get(sessionid);
-            return c;
-        }
+        return gHash.get(sessionid);
     }
 
     /**
@@ -238,10 +270,7 @@ public class CookieSession {
      * @return session or null
      */
     public static CookieSession retrieveUserWithoutTouch(String email) {
-        synchronized (gHash) {
-            CookieSession c = uHash.get(email);
-            return c;
-        }
+        return uHash.get(email);
     }
 
     /**
@@ -252,13 +281,11 @@ public class CookieSession {
      * @return session or null
      */
     public static CookieSession retrieveUser(String email) {
-        synchronized (gHash) {
-            CookieSession c = retrieveUserWithoutTouch(email);
-            if (c != null) {
-                c.touch();
-            }
-            return c;
+        CookieSession c = retrieveUserWithoutTouch(email);
+        if (c != null) {
+            c.touch();
         }
+        return c;
     }
 
     /**
@@ -268,12 +295,13 @@ public class CookieSession {
      *            user
      */
     public void setUser(UserRegistry.User u) {
+        if (user == null && gHash.get(id) == this) {
+            userSessionCount.incrementAndGet();
+        }
         user = u;
         settings = null;
-        synchronized (gHash) {
-            uHash.put(user.email, this); // replaces any existing session by
-            // this user.
-        }
+        uHash.put(user.email, this); // replaces any existing session by
+        // this user.
     }
 
     /**
@@ -290,30 +318,43 @@ public class CookieSession {
             id = fromId;
         }
         if (DEBUG_INOUT) System.out.println("S: new " + id + " - " + user);
-        synchronized (gHash) {
-            if (gHash.containsKey(id)) {
-                System.err.println("CookieSession.CookieSession() - dup id " + id);
+        touch();
+    }
+
+    /**
+     * Add a new session to the registry, replacing any with the same id, and schedule its expiry check.
+     */
+    private static CookieSession register(CookieSession cs) {
+        CookieSession old = gHash.put(cs.id, cs);
+        if (old != null) {
+            System.err.println("CookieSession.CookieSession() - dup id " + cs.id);
+            if (old.user != null) {
+                userSessionCount.decrementAndGet();
             }
-            gHash.put(id, this);
-            touch();
         }
+        expiryWheel.schedule(cs, cs.millisTillRecheck());
+        return cs;
     }
 
     public static CookieSession newSession(boolean isGuest, String ip, String fromId) {
-        CookieSession rv = null;
-        synchronized (gHash) {
-            rv = gHash.get(fromId);
-            if (rv != null) {
-                System.err.println("Trying to create extant session " + rv);
-                if (!rv.ip.equals(ip)) {
-                    if (SurveyMain.isUnofficial()) System.out.println("IP changed from " + rv.ip + " to " + ip + " - " + rv);
-                    rv.ip = ip;
-                    rv.touch();
-                }
-            } else {
-                rv = new CookieSession(isGuest, ip, fromId);
+        if (fromId == null) {
+            return register(new CookieSession(isGuest, ip, null));
+        }
+        CookieSession rv = gHash.get(fromId);
+        if (rv == null) {
+            CookieSession cs = new CookieSession(isGuest, ip, fromId);
+            rv = gHash.putIfAbsent(fromId, cs);
+            if (rv == null) {
+                expiryWheel.schedule(cs, cs.millisTillRecheck());
+                return cs;
             }
         }
+        System.err.println("Trying to create extant session " + rv);
+        if (!rv.ip.equals(ip)) {
+            if (SurveyMain.isUnofficial()) System.out.println("IP changed from " + rv.ip + " to " + ip + " - " + rv);
+            rv.ip = ip;
+            rv.touch();
+        }
         return rv;
     }
 
@@ -321,7 +362,7 @@ public class CookieSession {
      * mark this session as recently updated and shouldn't expire
      */
     protected void touch() {
-        lastBrowserCallMillisSinceEpoch = System.currentTimeMillis();
+        lastBrowserCallMillisSinceEpoch = now();
         if (DEBUG_INOUT) System.out.println("S: touch " + id + " - " + user);
     }
 
@@ -329,18 +370,18 @@ public class CookieSession {
      * Note a direct user action.
      */
     public void userDidAction() {
-        lastActionMillisSinceEpoch = System.currentTimeMillis();
+        lastActionMillisSinceEpoch = now();
     }
 
     /**
      * Delete a session.
      */
     public void remove() {
-        synchronized (gHash) {
-            if (user != null) {
-                uHash.remove(user.email);
-            }
-            gHash.remove(id);
+        if (gHash.remove(id, this) && user != null) {
+            userSessionCount.decrementAndGet();
+        }
+        if (user != null) {
+            uHash.remove(user.email, this);
         }
         // clear out any database sessions in use
         DBUtils.closeDBConnection(conn);
@@ -353,7 +394,7 @@ public class CookieSession {
      * @return age since the last browser call, in millis
      */
     private long millisSinceLastBrowserCall() {
-        return (System.currentTimeMillis() - lastBrowserCallMillisSinceEpoch);
+        return (now() - lastBrowserCallMillisSinceEpoch);
     }
 
     /**
@@ -362,29 +403,71 @@ public class CookieSession {
      * @return age since the user's last active action, in millis
      */
     private long millisSinceLastUserAction() {
-        return (System.currentTimeMillis() - lastActionMillisSinceEpoch);
+        return (now() - lastActionMillisSinceEpoch);
+    }
+
+    /**
+     * How long until this session could expire, if it does nothing more? This uses the shorter
+     * timeouts (those that apply when there are too many users), so it is never later than the
+     * actual expiry.
+     */
+    private long millisTillRecheck() {
+        long timeoutMillis = 1000L * (user == null ? Params.CLDR_GUEST_TIMEOUT_SECS : Params.CLDR_USER_TIMEOUT_SECS).value();
+        long remainMillis = Long.MAX_VALUE;
+        if (KICK_IF_INACTIVE) {
+            remainMillis = timeoutMillis - millisSinceLastUserAction();
+        }
+        if (KICK_IF_ABSENT) {
+            remainMillis = Math.min(remainMillis, timeoutMillis - millisSinceLastBrowserCall());
+        }
+        return remainMillis;
+    }
+
+    /**
+     * Should this session be removed?
+     */
+    private boolean isExpired(boolean tooManyUsers) {
+        if (user == null) { // guest
+            return tooManyUsers
+                || (KICK_IF_ABSENT && millisSinceLastBrowserCall() > Params.CLDR_GUEST_TIMEOUT_SECS.value() * 1000)
+                || (KICK_IF_INACTIVE && millisTillKick() <= 0);
+        } else {
+            return (KICK_IF_ABSENT && millisSinceLastBrowserCall() > Params.CLDR_USER_TIMEOUT_SECS.value() * 1000)
+                || (KICK_IF_INACTIVE && millisTillKick() <= 0);
+        }
     }
 
     // secure stuff
-    static SecureRandom myRand = null;
+    private static volatile SecureRandom myRand = null;
 
     /** Secure random number generator **/
 
+    private static SecureRandom getRandom() throws NoSuchAlgorithmException {
+        SecureRandom rand = myRand;
+        if (rand == null) {
+            synchronized (CookieSession.class) {
+                if (myRand == null) {
+                    myRand = SecureRandom.getInstance("SHA1PRNG");
+                }
+                rand = myRand;
+            }
+        }
+        return rand;
+    }
+
     /**
-     * Generate a new ID.
+     * Generate a new ID. SecureRandom is thread-safe, so this doesn't lock once the generator is made.
      *
      * @param isGuest
      *            true if user is a guest. The guest namespace is separate from
      *            the nonguest.
      */
-    public static synchronized String newId(boolean isGuest) {
+    public static String newId(boolean isGuest) {
         try {
-            if (myRand == null) {
-                myRand = SecureRandom.getInstance("SHA1PRNG");
-            }
+            SecureRandom rand = getRandom();
 
             MessageDigest aDigest = MessageDigest.getInstance("SHA-1");
-            byte[] outBytes = aDigest.digest(new Integer(myRand.nextInt()).toString().getBytes());
+            byte[] outBytes = aDigest.digest(new Integer(rand.nextInt()).toString().getBytes());
             return cheapEncode(outBytes);
         } catch (NoSuchAlgorithmException nsa) {
             SurveyMain.busted("MessageDigest error", nsa);
@@ -401,9 +484,7 @@ public class CookieSession {
      *            the key to load
      */
     Object get(String key) {
-        synchronized (stuff) {
-            return stuff.get(key);
-        }
+        return stuff.get(key);
     }
 
     /**
@@ -415,9 +496,7 @@ public class CookieSession {
      *            object to be set
      */
     public void put(String key, Object value) {
-        synchronized (stuff) {
-            stuff.put(key, value);
-        }
+        stuff.put(key, value);
     }
 
     /**
@@ -490,20 +569,13 @@ public class CookieSession {
     }
 
     /**
-     * Fetch a hashtable of per-locale session data. Will create one if it
+     * Fetch a map of per-locale session data. Will create one if it
      * wasn't already there.
      *
-     * @return the locale hashtable
+     * @return the locale map
      */
-    public Hashtable<String, Hashtable<String, Object>> getLocales() {
-        synchronized (stuff) {
-            Hashtable<String, Hashtable<String, Object>> l = (Hashtable<String, Hashtable<String, Object>>) get("locales");
-            if (l == null) {
-                l = new Hashtable<>();
-                put("locales", l);
-            }
-            return l;
-        }
+    public Map<String, Map<String, Object>> getLocales() {
+        return (Map<String, Map<String, Object>>) stuff.computeIfAbsent("locales", k -> new ConcurrentHashMap<>());
     }
 
     /**
@@ -657,23 +729,93 @@ public class CookieSession {
     // parameters
 
     /**
-     * last time reaped. Starts at 0, so reap immediately
+     * A timer wheel of sessions to check for expiry. Each session is in one slot, for the tick
+     * at which it could first expire; when that tick comes round, the session is either removed
+     * or put back for its new expiry time (it may have been active since). So only the sessions
+     * that are due are looked at, instead of all of them.
+     * <p>
+     * Any thread may schedule; advancing is done by one thread at a time, and other threads
+     * skip it rather than wait.
      */
-    static long lastReapMillisSinceEpoch = 0;
+    private static class ExpiryWheel {
+        private static final long TICK_MILLIS = 5 * 1000; // check every 5 seconds
+        private static final int SLOTS = 512; // about 40 minutes; later entries just go round again
 
-    /**
-     * Number of guests
-     */
-    private static int nGuests = 0;
+        private final Queue<Entry>[] slots;
+        private final ReentrantLock advanceLock = new ReentrantLock();
+        private volatile long currentTick = now() / TICK_MILLIS;
 
-    /**
-     * Number of users
-     */
-    private static int nUsers = 0;
+        private static class Entry {
+            final CookieSession session;
+            final long tick;
+
+            Entry(CookieSession session, long tick) {
+                this.session = session;
+                this.tick = tick;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        ExpiryWheel() {
+            slots = new Queue[SLOTS];
+            for (int i = 0; i < SLOTS; ++i) {
+                slots[i] = new ConcurrentLinkedQueue<>();
+            }
+        }
+
+        /**
+         * Check the session when delayMillis have passed.
+         */
+        void schedule(CookieSession cs, long delayMillis) {
+            long tick = Math.max(currentTick + 1, (now() + Math.max(0, delayMillis)) / TICK_MILLIS + 1);
+            slots[(int) (tick % SLOTS)].add(new Entry(cs, tick));
+        }
+
+        /**
+         * Check the sessions in each slot that has come due since the last call.
+         *
+         * @return the number of sessions removed
+         */
+        int advance(long nowMillisSinceEpoch, boolean tooManyUsers) {
+            if (!advanceLock.tryLock()) {
+                return 0;
+            }
+            try {
+                int removed = 0;
+                long nowTick = nowMillisSinceEpoch / TICK_MILLIS;
+                // don't go round more than once, however long it has been
+                for (long tick = Math.max(currentTick + 1, nowTick - SLOTS + 1); tick <= nowTick; ++tick) {
+                    Queue<Entry> slot = slots[(int) (tick % SLOTS)];
+                    for (int i = slot.size(); i > 0; --i) {
+                        Entry entry = slot.poll();
+                        if (entry == null) {
+                            break;
+                        }
+                        if (entry.tick > nowTick) {
+                            slot.add(entry); // due on a later turn of the wheel
+                        } else if (gHash.get(entry.session.id) != entry.session) {
+                            // already removed
+                        } else if (entry.session.isExpired(tooManyUsers)) {
+                            if (SurveyMain.isUnofficial()) {
+                                System.err.println("Removed stale session " + entry.session);
+                            }
+                            entry.session.remove();
+                            ++removed;
+                        } else {
+                            schedule(entry.session, entry.session.millisTillRecheck());
+                        }
+                    }
+                }
+                currentTick = Math.max(currentTick, nowTick);
+                return removed;
+            } finally {
+                advanceLock.unlock();
+            }
+        }
+    }
 
     public static int getGuestCount() {
-        getUserCount();
-        return nGuests;
+        return Math.max(0, gHash.size() - userSessionCount.get());
     }
 
     /**
@@ -681,78 +823,31 @@ public class CookieSession {
      * @return user count
      */
     public static int getUserCount() {
-        synchronized (uHash) {
-            return uHash.size();
-        }
+        return uHash.size();
     }
 
-    private static int lastCount = -1;
-
+    /**
+     * Remove the sessions that have expired. Only the sessions that are due are checked.
+     * When there are too many users, each guest is removed when it comes due.
+     *
+     * @return the number of sessions with users
+     */
     public static int checkForExpiredSessions() {
-
-        synchronized (gHash) {
-            int allCount = gHash.size(); // count of ALL users
-            long nowMillisSinceEpoch = System.currentTimeMillis();
-            long elapsedMillis = (nowMillisSinceEpoch - lastReapMillisSinceEpoch);
-
-            final boolean tooManyUsers = tooManyUsers();
-            final boolean tooManyGuests = tooManyGuests();
-
-            final long CHECK_SECS = 5; // check every 5 seconds or if count grows
-            if (elapsedMillis < (1000 * CHECK_SECS) && allCount <= lastCount && !tooManyGuests) {
-                return nUsers;
-            }
-
-            lastCount = allCount;
-
-            int guests = 0;
-            int users = 0;
-            lastReapMillisSinceEpoch = nowMillisSinceEpoch;
-
-            // remove any sessions we need to get rid of, count the rest.
-            List<CookieSession> toRemove = new LinkedList<>();
-            for (CookieSession cs : gHash.values()) {
-                if (cs.user == null) { // guest
-                    if (tooManyUsers
-                            || (KICK_IF_ABSENT && cs.millisSinceLastBrowserCall() > Params.CLDR_GUEST_TIMEOUT_SECS.value() * 1000)
-                            || (KICK_IF_INACTIVE && cs.millisTillKick() <= 0)) {
-                        toRemove.add(cs);
-                    } else {
-                        guests++;
-                    }
-                } else {
-                    if ((KICK_IF_ABSENT && cs.millisSinceLastBrowserCall() > Params.CLDR_USER_TIMEOUT_SECS.value() * 1000)
-                            || (KICK_IF_INACTIVE && cs.millisTillKick() <= 0)) {
-                        toRemove.add(cs);
-                    } else {
-                        users++;
-                    }
-                }
-            }
-            for (CookieSession cs : toRemove) {
-                if (SurveyMain.isUnofficial()) {
-                    System.err.println("Removed stale session " + cs);
-                }
-                cs.remove();
-            }
-            nGuests = guests;
-            return (nUsers = users);
-        }
+        expiryWheel.advance(now(), tooManyUsers());
+        return userSessionCount.get();
     }
 
     public static void shutdownDB() {
-        synchronized (gHash) {
-            CookieSession sessions[] = gHash.values().toArray(new CookieSession[0]);
-            for (CookieSession cs : sessions) {
-                try {
-                    cs.remove();
-                } catch (Throwable t) {
-                    //
-                }
+        for (CookieSession cs : gHash.values()) {
+            try {
+                cs.remove();
+            } catch (Throwable t) {
+                //
             }
-            gHash.clear();
-            uHash.clear();
         }
+        gHash.clear();
+        uHash.clear();
+        userSessionCount.set(0);
     }
 
     public UserSettings settings() {
@@ -772,7 +867,7 @@ public class CookieSession {
 
     private static synchronized CookieSession getSpecialGuest() {
         if (specialGuest == null) {
-            specialGuest = new CookieSession(true, "[throttled]", null);
+            specialGuest = register(new CookieSession(true, "[throttled]", null));
             // gHash.put("throttled", specialGuest);
         }
         return specialGuest;
@@ -818,20 +913,17 @@ public class CookieSession {
         // get the # of sessions
 
         int noSes = 0;
-        long nowMillisSinceEpoch = System.currentTimeMillis();
-        synchronized (gHash) {
-            for (Object o : gHash.values()) {
-                CookieSession cs = (CookieSession) o;
-                if (!userIP.equals(cs.ip)) {
-                    continue;
-                }
-                if (cs.user != null) {
-                    return null; // has a user, OK
-                }
-                final long N_MINUTES = 5; // five minutes (why?)
-                if ((nowMillisSinceEpoch - cs.lastBrowserCallMillisSinceEpoch) < (N_MINUTES * 60 * 1000)) {
-                    noSes++;
-                }
+        long nowMillisSinceEpoch = now();
+        for (CookieSession cs : gHash.values()) {
+            if (!userIP.equals(cs.ip)) {
+                continue;
+            }
+            if (cs.user != null) {
+                return null; // has a user, OK
+            }
+            final long N_MINUTES = 5; // five minutes (why?)
+            if ((nowMillisSinceEpoch - cs.lastBrowserCallMillisSinceEpoch) < (N_MINUTES * 60 * 1000)) {
+                noSes++;
             }
         }
         if ((noSes > 10) || userAgent.contains("Googlebot") || userAgent.contains("MJ12bot") || userAgent.contains("ezooms.bot")
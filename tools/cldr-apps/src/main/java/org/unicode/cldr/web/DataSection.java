@@ -986,6 +986,17 @@ public class DataSection implements JSONString {
          */
         @Override
         public String toJSONString() throws JSONException {
+            return toJSONString(getForumPostCounts());
+        }
+
+        /**
+         * Convert this DataRow to a JSON string, with the number of forum posts from the given counts.
+         *
+         * @param postCounts the forum post counts for the locale, or null if they aren't available
+         *
+         * Called by DataSection.toJSONString, which gets the counts once for all the rows
+         */
+        String toJSONString(SurveyForum.PostCounts postCounts) throws JSONException {
 
             try {
                 String winningVhash = DataSection.getValueHash(winningValue);
@@ -1028,6 +1039,8 @@ public class DataSection implements JSONString {
 
                 String xpstrid = XPathTable.getStringIDString(xpath);
 
+                Integer forumPosts = (postCounts != null) ? postCounts.get(xpathId) : null;
+
                 StatusAction statusAction = getStatusAction();
 
                 Map<String, String> extraAttributes = getNonDistinguishingAttributes();
@@ -1066,6 +1079,7 @@ public class DataSection implements JSONString {
                 jo.put("displayExample", displayExample);
                 jo.put("displayName", displayName);
                 jo.put("extraAttributes", extraAttributes);
+                jo.put("forumPosts", forumPosts);
                 jo.put("hasVoted", hasVoted);
                 jo.put("inheritedLocale", inheritedLocale);
                 jo.put("inheritedValue", inheritedValue);
@@ -2318,9 +2332,10 @@ public class DataSection implements JSONString {
         JSONObject itemList = new JSONObject();
         JSONObject result = new JSONObject();
         try {
+            SurveyForum.PostCounts postCounts = getForumPostCounts();
             for (DataRow d : rowsHash.values()) {
                 try {
-                    String str = d.toJSONString();
+                    String str = d.toJSONString(postCounts);
                     JSONObject obj = new JSONObject(str);
                     itemList.put(d.fieldHash(), obj);
                 } catch (JSONException ex) {
@@ -2338,6 +2353,14 @@ public class DataSection implements JSONString {
         }
     }
 
+    /**
+     * Get the forum post counts for this locale, or null if there is no forum (as in unit tests)
+     * or the counts couldn't be loaded.
+     */
+    private SurveyForum.PostCounts getForumPostCounts() {
+        return (sm == null || sm.fora == null) ? null : sm.fora.getPostCounts(locale);
+    }
+
     /**
      * Get the DisplayAndInputProcessor for this DataSection; if there isn't one yet, create it
      *
@@ -0,0 +1,327 @@
+package org.unicode.cldr.web;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.CLDRLocale;
+
+/**
+ * A background job that outputs all files (VXML and PXML), then optionally removes the empty
+ * ones and verifies the result. The job runs on the SurveyThreadManager executor, and writes the
+ * locales in parallel on a pool of its own, so that it never waits for tasks queued behind it on
+ * the shared executor. The later stages need all the files, so they run after the output stage.
+ * <p>
+ * The status is read with the getters (see the OutputFiles API); the job can be cancelled,
+ * in which case the locales in progress are finished but no more are started.
+ *
+ * @see OutputFileManager#startOutputJob
+ */
+public class OutputFileJob implements Runnable {
+    /**
+     * The stages of the job, in order. The last three are final.
+     */
+    public enum Stage {
+        queued, output, removeEmpty, verify, done, failed, cancelled
+    }
+
+    /**
+     * The number of locales written at a time, which is the size of the job's pool.
+     */
+    private static final int PARALLELISM = Math.max(1, CLDRConfig.getInstance().getProperty("CLDR_OUTPUT_THREADS",
+        Runtime.getRuntime().availableProcessors() - 1));
+
+    private final OutputFileManager ofm;
+    private final File vetdir;
+    private final Collection<CLDRLocale> locales;
+    private final boolean outputFiles;
+    private final boolean removeEmpty;
+    private final boolean verifyConsistent;
+
+    private volatile Stage stage = Stage.queued;
+    private volatile boolean cancelRequested = false;
+    private volatile String error = null;
+    private volatile File vetdataDir = null;
+    private volatile int localeCount = 0;
+    private final AtomicInteger localesDone = new AtomicInteger();
+    private final Map<String, Long> localeMillis = new ConcurrentSkipListMap<>();
+    private final StringWriter report = new StringWriter();
+    private final long createdMillis = System.currentTimeMillis();
+    private volatile long startMillis = 0;
+    private volatile long endMillis = 0;
+    private volatile Future<?> future = null;
+
+    /**
+     * @param vetdir the vetdata directory, next to which the new directory is created
+     * @param locales the locales to write; en and root are skipped
+     */
+    OutputFileJob(OutputFileManager ofm, File vetdir, Collection<CLDRLocale> locales,
+        boolean outputFiles, boolean removeEmpty, boolean verifyConsistent) {
+        this.ofm = ofm;
+        this.vetdir = vetdir;
+        this.locales = locales;
+        this.outputFiles = outputFiles;
+        this.removeEmpty = removeEmpty;
+        this.verifyConsistent = verifyConsistent;
+    }
+
+    /**
+     * Submit the job to the executor.
+     */
+    OutputFileJob start() {
+        return start(SurveyThreadManager.getExecutorService());
+    }
+
+    OutputFileJob start(ExecutorService executor) {
+        future = executor.submit(this);
+        return this;
+    }
+
+    /**
+     * Ask the job to stop. Locales already being written are finished.
+     */
+    public void cancel() {
+        cancelRequested = true;
+        Future<?> f = future;
+        if (f != null && f.cancel(false) && startMillis == 0) {
+            finish(Stage.cancelled); // never ran
+        }
+    }
+
+    @Override
+    public void run() {
+        if (cancelRequested) {
+            finish(Stage.cancelled);
+            return;
+        }
+        startMillis = System.currentTimeMillis();
+        try {
+            File dir = OutputFileManager.createNewManualVetdataDir(vetdir);
+            if (dir == null) {
+                fail("Directory creation for vetting data failed.");
+                return;
+            }
+            vetdataDir = dir;
+            if (outputFiles) {
+                if (!enter(Stage.output) || !outputAllFiles(dir) || isCancelled()) {
+                    return;
+                }
+            }
+            if (!ofm.copyDtd(dir)) {
+                fail("Copying DTD failed.");
+                return;
+            }
+            File vxmlDir = new File(dir, OutputFileManager.Kind.vxml.name());
+            if (removeEmpty) {
+                if (!enter(Stage.removeEmpty)) {
+                    return;
+                }
+                ofm.removeEmptyFiles(getReportWriter(), vxmlDir);
+            }
+            if (verifyConsistent) {
+                if (!enter(Stage.verify)) {
+                    return;
+                }
+                ofm.verifyAllFiles(getReportWriter(), vxmlDir);
+            }
+            finish(Stage.done);
+            System.out.println("OutputFileJob finished: " + this);
+        } catch (Throwable t) {
+            System.err.println("Exception in OutputFileJob: " + t);
+            t.printStackTrace();
+            fail(t.toString());
+        }
+    }
+
+    /**
+     * Write the vxml and pxml for each locale, with up to PARALLELISM locales at a time.
+     *
+     * @return true for success, false for failure or cancellation
+     */
+    private boolean outputAllFiles(File dir) throws InterruptedException {
+        Set<CLDRLocale> sortSet = new TreeSet<>(locales);
+        /*
+         * skip "en" and "root", since they should never be changed by the Survey Tool
+         */
+        sortSet.remove(CLDRLocale.getInstance("en"));
+        sortSet.remove(CLDRLocale.getInstance("root"));
+        localeCount = sortSet.size();
+
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLELISM, SurveyThreadManager.getThreadFactory());
+        CompletionService<String> completion = new ExecutorCompletionService<>(executor);
+        List<Future<String>> futures = new ArrayList<>();
+        try {
+            for (CLDRLocale loc : sortSet) {
+                futures.add(completion.submit(() -> writeLocale(dir, loc)));
+            }
+            for (int i = 0; i < futures.size(); ++i) {
+                if (!checkDone(completion.take()) || isCancelled()) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            for (Future<String> f : futures) {
+                f.cancel(false); // any that haven't started, after a failure or cancellation
+            }
+            executor.shutdown();
+        }
+    }
+
+    private String writeLocale(File dir, CLDRLocale loc) {
+        if (cancelRequested) {
+            return null;
+        }
+        long start = System.currentTimeMillis();
+        for (OutputFileManager.Kind kind : new OutputFileManager.Kind[] { OutputFileManager.Kind.vxml, OutputFileManager.Kind.pxml }) {
+            if (ofm.writeManualOutputFile(dir, loc, kind) == null) {
+                throw new IllegalArgumentException("FILE CREATION FAILED: " + loc + " " + kind);
+            }
+        }
+        localeMillis.put(loc.getBaseName(), System.currentTimeMillis() - start);
+        int done = localesDone.incrementAndGet();
+        SurveyLog.debug("OutputFileJob: wrote " + loc + " - " + done + "/" + localeCount);
+        return loc.getBaseName();
+    }
+
+    private boolean checkDone(Future<String> f) throws InterruptedException {
+        try {
+            f.get();
+            return true;
+        } catch (ExecutionException e) {
+            fail("File output failed: " + e.getCause());
+            return false;
+        }
+    }
+
+    private boolean isCancelled() {
+        if (cancelRequested) {
+            finish(Stage.cancelled);
+            return true;
+        }
+        return false;
+    }
+
+    private void fail(String message) {
+        error = message;
+        finish(Stage.failed);
+    }
+
+    /**
+     * Move on to the next stage, unless the job has been cancelled or has failed.
+     */
+    private synchronized boolean enter(Stage next) {
+        if (isCancelled() || isFinished()) {
+            return false;
+        }
+        stage = next;
+        return true;
+    }
+
+    private synchronized void finish(Stage finalStage) {
+        if (!isFinished()) {
+            stage = finalStage;
+            endMillis = System.currentTimeMillis();
+        }
+    }
+
+    private Writer getReportWriter() {
+        return new PrintWriter(report, true);
+    }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    public boolean isFinished() {
+        return stage.compareTo(Stage.done) >= 0;
+    }
+
+    public boolean isOutputFiles() {
+        return outputFiles;
+    }
+
+    public boolean isRemoveEmpty() {
+        return removeEmpty;
+    }
+
+    public boolean isVerifyConsistent() {
+        return verifyConsistent;
+    }
+
+    /**
+     * The directory being written, or null if it hasn't been created yet.
+     */
+    public String getDirectory() {
+        File dir = vetdataDir;
+        return dir == null ? null : dir.toString();
+    }
+
+    /**
+     * The number of locales to write, or 0 if the output stage hasn't started.
+     */
+    public int getLocaleCount() {
+        return localeCount;
+    }
+
+    public int getLocalesDone() {
+        return localesDone.get();
+    }
+
+    /**
+     * For each locale written so far, the milliseconds taken to write its vxml and pxml.
+     */
+    public Map<String, Long> getLocaleMillis() {
+        return localeMillis;
+    }
+
+    public long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    /**
+     * The milliseconds since the job started running, or the total time if it is finished.
+     */
+    public long getElapsedMillis() {
+        if (startMillis == 0) {
+            return 0;
+        }
+        return (endMillis == 0 ? System.currentTimeMillis() : endMillis) - startMillis;
+    }
+
+    /**
+     * The error message, if the job failed.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * The HTML output of the remove-empty and verify stages.
+     */
+    public String getReport() {
+        return report.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "{OutputFileJob " + stage + ", " + localesDone + "/" + localeCount + " locales, "
+            + getElapsedMillis() + "ms" + (error == null ? "" : ", error=" + error) + "}";
+    }
+}
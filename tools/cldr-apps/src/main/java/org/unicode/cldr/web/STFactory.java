@@ -13,6 +13,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Date;
 import java.util.HashMap;
@@ -43,6 +44,7 @@ import org.unicode.cldr.util.LDMLUtilities;
 import org.unicode.cldr.util.Pair;
 import org.unicode.cldr.util.PathHeader;
 import org.unicode.cldr.util.SimpleXMLSource;
+import org.unicode.cldr.util.ValueSearchIndex;
 import org.unicode.cldr.util.VoteResolver;
 import org.unicode.cldr.util.VoteResolver.Level;
 import org.unicode.cldr.util.VoteResolver.Status;
@@ -380,6 +382,10 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
          */
         private XMLSource diskData = null;
         private CLDRFile diskFile = null;
+        /**
+         * The value search index, kept up to date as a listener on the unresolved source. Held here since listeners are weak.
+         */
+        private ValueSearchIndex valueSearchIndex = null;
 
         /**
          * Per-xpath data. There's one of these per xpath- voting data, etc.
@@ -686,13 +692,13 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
              * TODO: move the readonly check to the caller
              */
             if (!readonly) {
-                VoteResolver<String> resolver = null; // save recalculating this.
-                ElapsedTimer et = (SurveyLog.DEBUG) ? new ElapsedTimer("Loading PLD for " + locale) : null;
+                final long start = System.currentTimeMillis();
                 Connection conn = null;
                 PreparedStatement ps = null;
                 ResultSet rs = null;
                 int n = 0;
                 int del = 0;
+                VoteLoader loader = new VoteLoader();
 
                 try {
                     /*
@@ -706,7 +712,7 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
 
                     while (rs.next()) {
                         int xp = rs.getInt(1);
-                        String xpath = sm.xpt.getById(xp);
+                        String xpath = loader.getXpath(xp);
                         int submitter = rs.getInt(2);
                         String value = DBUtils.getStringUTF8(rs, 3);
                         /*
@@ -718,24 +724,20 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
                             voteOverride = null;
                         }
                         Timestamp last_mod = rs.getTimestamp(6); // last mod
-                        User theSubmitter = sm.reg.getInfo(submitter);
-                        if (theSubmitter == null) {
-                            SurveyLog.warnOnce("Ignoring votes for deleted user #" + submitter);
-                        }
-                        if (!UserRegistry.countUserVoteForLocale(theSubmitter, locale)) { // check user permission to submit
+                        User theSubmitter = loader.getUser(submitter);
+                        if (!loader.countsForLocale(submitter, theSubmitter)) { // check user permission to submit
                             continue;
                         }
-                        if (!isValidSurveyToolVote(theSubmitter, xpath)) { // Make sure it is a visible path
+                        if (!loader.isValidSurveyToolVote(theSubmitter, xpath)) { // Make sure it is a visible path
                             continue;
                         }
-                        try {
-                            internalSetVoteForValue(theSubmitter, xpath, value, voteOverride, last_mod);
-                            n++;
-                        } catch (BallotBox.InvalidXPathException e) {
+                        if (!loader.isValidXpath(xp)) {
                             System.err.println("InvalidXPathException: Deleting vote for " + theSubmitter + ":" + locale + ":" + xpath);
                             rs.deleteRow();
                             del++;
+                            continue;
                         }
+                        loader.addVote(xp, theSubmitter, value, voteOverride, last_mod);
                     }
                     if (del > 0) {
                         System.out.println("Committing delete of " + del + " invalid votes from " + locale);
@@ -745,17 +747,16 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
                     ps = openPermVoteQuery(conn);
                     ps.setString(1, locale.getBaseName());
                     rs = ps.executeQuery();
+                    User admin = sm.reg.getInfo(UserRegistry.ADMIN_ID);
                     while (rs.next()) {
                         int xp = rs.getInt(1);
-                        String xpath = sm.xpt.getById(xp);
                         String value = DBUtils.getStringUTF8(rs, 2);
                         Timestamp last_mod = rs.getTimestamp(3);
-                        try {
-                            internalSetVoteForValue(sm.reg.getInfo(UserRegistry.ADMIN_ID), xpath, value, VoteResolver.Level.LOCKING_VOTES, last_mod);
-                            n++;
-                        } catch (BallotBox.InvalidXPathException e) {
-                            System.err.println("InvalidXPathException: Ignoring permanent vote for:" + locale + ":" + xpath);
+                        if (!loader.isValidXpath(xp)) {
+                            System.err.println("InvalidXPathException: Ignoring permanent vote for:" + locale + ":" + loader.getXpath(xp));
+                            continue;
                         }
+                        loader.addVote(xp, admin, value, VoteResolver.Level.LOCKING_VOTES, last_mod);
                     }
                 } catch (SQLException e) {
                     SurveyLog.logException(e);
@@ -764,9 +765,12 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
                 } finally {
                     DBUtils.close(rs, ps, conn);
                 }
-                SurveyLog.debug(et + " - read " + n + " items  (" + xpathToData.size() + " xpaths.)");
+                n = loader.storeVotes();
+                if (n > 0) {
+                    stamp.next(); // once for the whole load, rather than per vote as in internalSetVoteForValue
+                }
+                final long loaded = System.currentTimeMillis();
 
-                et = (SurveyLog.DEBUG) ? new ElapsedTimer("Resolver loading for xpaths in " + locale) : null;
                 /*
                  * Now that we've loaded all the votes, resolve the votes for each path.
                  *
@@ -789,12 +793,15 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
                 } else {
                     xpathSet = allPXDPaths();
                 }
+                VoteResolver<String> resolver = null; // save recalculating this.
                 int j = 0;
                 for (String xp : xpathSet) {
                     resolver = targetXmlSource.setValueFromResolver(xp, resolver, resolveMorePaths);
                     j++;
                 }
-                SurveyLog.debug(et + " - resolved " + j + " items, " + n + " total.");
+                SurveyLog.debug("Loaded " + locale + ": " + n + " votes on " + xpathToData.size() + " xpaths in "
+                    + (loaded - start) + "ms, resolved " + j + " xpaths in " + (System.currentTimeMillis() - loaded) + "ms"
+                    + (resolveMorePaths ? " (vxml)" : ""));
             }
             if (doStampAndListen) {
                 /*
@@ -845,6 +852,18 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
             }
         }
 
+        /**
+         * Get the index over the resolved values of this locale, building it on first use.
+         */
+        public synchronized ValueSearchIndex getValueSearchIndex() {
+            if (valueSearchIndex == null) {
+                valueSearchIndex = new ValueSearchIndex(getFile(true));
+                // the resolving source passes on changes in this locale and its parents
+                makeSource(true).addListener(valueSearchIndex);
+            }
+            return valueSearchIndex;
+        }
+
         /**
          * Utility class for testing values
          * @author srl
@@ -1312,6 +1331,99 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
             stamp.next();
         }
 
+        /**
+         * Per-load lookups for loadVoteValues. A locale typically has many vote rows per xpath and per submitter,
+         * so the xpath, the user, and the permission and visibility checks are done once per id rather than per row.
+         * <p>
+         * The rows are collected by xpath id while the result sets are read, and stored into the per-xpath data
+         * afterwards with {@link #storeVotes}, once the connection has been closed.
+         */
+        private final class VoteLoader {
+            /**
+             * One vote row, as read.
+             */
+            private final class LoadedVote {
+                final User user;
+                final String value;
+                final Integer voteOverride;
+                final Date when;
+
+                LoadedVote(User user, String value, Integer voteOverride, Date when) {
+                    this.user = user;
+                    this.value = value;
+                    this.voteOverride = voteOverride;
+                    this.when = when;
+                }
+            }
+
+            // in the order read, so that a later row for the same user (such as a permanent vote) wins
+            private final Map<Integer, List<LoadedVote>> votesByXpathId = new HashMap<>();
+            private final Map<Integer, Boolean> validXpathIds = new HashMap<>();
+            private final Map<Integer, String> idToXpath = new HashMap<>();
+            private final Map<Integer, User> idToUser = new HashMap<>();
+            private final Map<Integer, Boolean> submitterCounts = new HashMap<>();
+            // visibility of xpaths for TC users, and for other users
+            private final Map<String, Boolean> validForTC = new HashMap<>();
+            private final Map<String, Boolean> validForOthers = new HashMap<>();
+
+            String getXpath(int xp) {
+                return idToXpath.computeIfAbsent(xp, sm.xpt::getById);
+            }
+
+            User getUser(int submitter) {
+                User user = idToUser.get(submitter);
+                if (user == null && !idToUser.containsKey(submitter)) {
+                    user = sm.reg.getInfo(submitter);
+                    if (user == null) {
+                        SurveyLog.warnOnce("Ignoring votes for deleted user #" + submitter);
+                    }
+                    idToUser.put(submitter, user);
+                }
+                return user;
+            }
+
+            boolean countsForLocale(int submitter, User user) {
+                return submitterCounts.computeIfAbsent(submitter, k -> UserRegistry.countUserVoteForLocale(user, locale));
+            }
+
+            boolean isValidSurveyToolVote(User user, String xpath) {
+                boolean isTC = user != null && UserRegistry.userIsTC(user);
+                return (isTC ? validForTC : validForOthers)
+                    .computeIfAbsent(xpath, k -> PerLocaleData.this.isValidSurveyToolVote(user, k));
+            }
+
+            /**
+             * Is the xpath one that can be voted on in this locale? Otherwise, internalSetVoteForValue would throw
+             * InvalidXPathException.
+             */
+            boolean isValidXpath(int xp) {
+                return validXpathIds.computeIfAbsent(xp, k -> getPathsForFile().contains(getXpath(k)));
+            }
+
+            void addVote(int xp, User user, String value, Integer voteOverride, Date when) {
+                votesByXpathId.computeIfAbsent(xp, k -> new ArrayList<>(2)).add(new LoadedVote(user, value, voteOverride, when));
+            }
+
+            /**
+             * Store the votes that have been read, one xpath at a time.
+             *
+             * @return the number of votes
+             */
+            int storeVotes() {
+                int count = 0;
+                for (Entry<Integer, List<LoadedVote>> e : votesByXpathId.entrySet()) {
+                    String xpath = getXpath(e.getKey());
+                    PerXPathData xpd = getXPathData(xpath);
+                    for (LoadedVote vote : e.getValue()) {
+                        xpd.setVoteForValue(vote.user, xpath, vote.value, vote.voteOverride, vote.when);
+                    }
+                    count += e.getValue().size();
+                }
+                votesByXpathId.clear();
+                return count;
+            }
+        }
+
         @Override
         public boolean userDidVote(User myUser, String somePath) {
             PerXPathData xpd = peekXpathData(somePath);
@@ -1752,6 +1864,13 @@ public class STFactory extends Factory implements BallotBoxFactory<UserRegistry.
         return make(loc.getBaseName(), resolved);
     }
 
+    /**
+     * Get the index over the resolved values of a locale, for substring searches. It is updated as votes change values.
+     */
+    public ValueSearchIndex getValueSearchIndex(CLDRLocale loc) {
+        return get(loc).getValueSearchIndex();
+    }
+
     public XMLSource makeSource(String localeID, boolean resolved) {
         if (localeID == null)
             return null; // ?!
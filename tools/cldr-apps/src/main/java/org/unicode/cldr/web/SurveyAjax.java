@@ -14,6 +14,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -54,6 +55,7 @@ import org.unicode.cldr.util.PathHeader;
 import org.unicode.cldr.util.PathHeader.SurveyToolStatus;
 import org.unicode.cldr.util.SpecialLocales;
 import org.unicode.cldr.util.SupplementalDataInfo;
+import org.unicode.cldr.util.ValueSearchIndex;
 import org.unicode.cldr.util.VoteResolver;
 import org.unicode.cldr.util.XMLSource;
 import org.unicode.cldr.util.XMLUploader;
@@ -1090,6 +1092,11 @@ public class SurveyAjax extends HttpServlet {
         }
     }
 
+    /**
+     * The maximum number of paths found by value in a search, best matches first.
+     */
+    private static final int SEARCH_LIMIT = 200;
+
     private void searchPathheader(JSONArray results, CLDRLocale l, String q, CookieSession mySession) {
         if (l == null) {
             return; // don't search with no locale
@@ -1112,17 +1119,23 @@ public class SurveyAjax extends HttpServlet {
             //
         }
 
-        // substring search
-        Set<PathHeader> resultPh = new TreeSet<>();
+        // substring search, in English and the locale, best matches first
+        Set<PathHeader> resultPh = new LinkedHashSet<>();
 
         if (new UnicodeSet("[:Letter:]").containsSome(q)) {
-            // check English
-            Set<String> retrievedPaths = new HashSet<>();
             SurveyMain sm = CookieSession.sm;
-            sm.getTranslationHintsFile().getPathsWithValue(q, "", null, retrievedPaths);
             final STFactory stFactory = sm.getSTFactory();
-            if (l != null) {
-                stFactory.make(l, true).getPathsWithValue(q, "", null, retrievedPaths);
+            List<ValueSearchIndex.Match> matches = new ArrayList<>();
+            for (ValueSearchIndex index : new ValueSearchIndex[] { sm.getTranslationHintsSearchIndex(), stFactory.getValueSearchIndex(l) }) {
+                matches.addAll(index.search(q, SEARCH_LIMIT));
+            }
+            matches.sort(ValueSearchIndex.RANKING);
+            Set<String> retrievedPaths = new LinkedHashSet<>();
+            for (ValueSearchIndex.Match match : matches) {
+                if (retrievedPaths.size() >= SEARCH_LIMIT) {
+                    break;
+                }
+                retrievedPaths.add(match.getPath());
             }
             for (String xp : retrievedPaths) {
                 PathHeader ph = stFactory.getPathHeader(xp);
@@ -21,6 +21,8 @@ import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -91,6 +93,34 @@ public class SurveyForum {
      */
     public static final int NO_PARENT = -1;
 
+    /**
+     * The post counts for each locale (by base name, as in the loc column) that has been loaded. Each locale is loaded
+     * once, by computeIfAbsent, without blocking the other locales; a new post is counted after it is
+     * committed, if its locale has been loaded. A post committed while its locale is being loaded may
+     * be missed until the next restart, which is acceptable for a count that is only shown.
+     */
+    private final Map<String, PostCounts> localeToPostCounts = new ConcurrentHashMap<>();
+
+    /**
+     * The number of posts for each xpath in one locale, loaded with a single grouped query
+     * and then kept up to date as posts are added. Closed posts are still counted.
+     */
+    public static final class PostCounts {
+        private final Map<Integer, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+        /**
+         * @return the number of posts for the xpath id, or 0 if there are none
+         */
+        public int get(int xpathId) {
+            AtomicInteger count = counts.get(xpathId);
+            return count == null ? 0 : count.get();
+        }
+
+        private void add(int xpathId, int n) {
+            counts.computeIfAbsent(xpathId, k -> new AtomicInteger()).addAndGet(n);
+        }
+    }
+
     private synchronized int getForumNumber(CLDRLocale locale) {
         String forum = localeToForum(locale);
         if (forum.length() == 0) {
@@ -567,22 +597,49 @@ public class SurveyForum {
      * Called by STFactory.PerLocaleData.voteForValue and SurveyAjax.processRequest (WHAT_FORUM_COUNT)
      */
     public int postCountFor(CLDRLocale locale, int xpathId) {
+        PostCounts counts = getPostCounts(locale);
+        return counts == null ? 0 : counts.get(xpathId);
+    }
+
+    /**
+     * Get the post counts for all the xpaths in the given locale, so that a page can show them for all its rows.
+     * The first call for a locale loads its counts from the database; the result stays up to date.
+     *
+     * @param locale
+     * @return the counts, or null if they couldn't be loaded
+     *
+     * Called by postCountFor and DataSection.toJSONString
+     */
+    public PostCounts getPostCounts(CLDRLocale locale) {
+        String loc = locale.getBaseName();
+        PostCounts counts = localeToPostCounts.get(loc);
+        if (counts == null) {
+            // a failed load returns null, which isn't stored, so it is tried again next time
+            counts = localeToPostCounts.computeIfAbsent(loc, this::loadPostCounts);
+        }
+        return counts;
+    }
+
+    private PostCounts loadPostCounts(String loc) {
         Connection conn = null;
         PreparedStatement ps = null;
+        ResultSet rs = null;
         String tableName = DBUtils.Table.FORUM_POSTS.toString();
         try {
             conn = DBUtils.getInstance().getDBConnection();
-
-            ps = DBUtils.prepareForwardReadOnly(conn, "select count(*) from " + tableName + " where loc=? and xpath=?");
-            ps.setString(1, locale.getBaseName());
-            ps.setInt(2, xpathId);
-
-            return DBUtils.sqlCount(null, conn, ps);
+            ps = DBUtils.prepareForwardReadOnly(conn, "select xpath, count(*) from " + tableName + " where loc=? group by xpath");
+            ps.setString(1, loc);
+            rs = ps.executeQuery();
+            PostCounts counts = new PostCounts();
+            while (rs.next()) {
+                counts.add(rs.getInt(1), rs.getInt(2));
+            }
+            return counts;
         } catch (SQLException e) {
-            SurveyLog.logException(e, "postCountFor for " + tableName + " " + locale + ":" + xpathId);
-            return 0;
+            SurveyLog.logException(e, "loadPostCounts for " + tableName + " " + loc);
+            return null;
         } finally {
-            DBUtils.close(ps, conn);
+            DBUtils.close(rs, ps, conn);
         }
     }
 
@@ -1078,6 +1135,10 @@ public class SurveyForum {
                 }
 
                 conn.commit();
+                PostCounts counts = localeToPostCounts.get(locale.getBaseName()); // as in getPostCounts
+                if (counts != null && n == 1) {
+                    counts.add(postInfo.getPath(), 1);
+                }
                 postId = DBUtils.getLastId(pAdd);
 
                 if (n != 1) {
@@ -31,7 +31,6 @@ import java.sql.Timestamp;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
@@ -90,6 +89,7 @@ import org.unicode.cldr.util.SpecialLocales.Type;
 import org.unicode.cldr.util.StackTracker;
 import org.unicode.cldr.util.SupplementalDataInfo;
 import org.unicode.cldr.util.TransliteratorUtilities;
+import org.unicode.cldr.util.ValueSearchIndex;
 import org.unicode.cldr.util.VoteResolver;
 import org.unicode.cldr.util.XMLSource;
 import org.unicode.cldr.web.UserRegistry.InfoType;
@@ -2810,12 +2810,10 @@ public class SurveyMain extends HttpServlet implements CLDRProgressIndicator, Ex
     }
 
     private void printRecentLocales(WebContext baseContext, WebContext ctx) {
-        Hashtable<String, Hashtable<String, Object>> lh = ctx.session.getLocales();
-        Enumeration<String> e = lh.keys();
-        if (e.hasMoreElements()) {
+        Map<String, Map<String, Object>> lh = ctx.session.getLocales();
+        if (!lh.isEmpty()) {
             boolean shownHeader = false;
-            for (; e.hasMoreElements();) {
-                String k = e.nextElement().toString();
+            for (String k : lh.keySet()) {
                 if ((ctx.getLocale() != null) && (ctx.getLocale().toString().equals(k))) {
                     continue;
                 }
@@ -3267,6 +3265,18 @@ public class SurveyMain extends HttpServlet implements CLDRProgressIndicator, Ex
         return gTranslationHintsFile;
     }
 
+    private static ValueSearchIndex gTranslationHintsSearchIndex = null;
+
+    /**
+     * Get the index over the values of the translation hints file, for substring searches.
+     */
+    public synchronized ValueSearchIndex getTranslationHintsSearchIndex() {
+        if (gTranslationHintsSearchIndex == null) {
+            gTranslationHintsSearchIndex = new ValueSearchIndex(getTranslationHintsFile());
+        }
+        return gTranslationHintsSearchIndex;
+    }
+
     private Set<UserLocaleStuff> allUserLocaleStuffs = new HashSet<>();
 
     public static final String QUERY_VALUE_SUFFIX = "_v";
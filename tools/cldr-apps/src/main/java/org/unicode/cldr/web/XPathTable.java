@@ -14,11 +14,15 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Hashtable;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.unicode.cldr.icu.LDMLConstants;
 import org.unicode.cldr.util.CLDRConfig;
@@ -78,7 +82,7 @@ public class XPathTable {
     }
 
     private void loadXPaths(Connection conn) throws SQLException {
-        if (stringToId.size() != 0) { // Only load the entire stringToId map
+        if (!stringToId.isEmpty()) { // Only load the entire stringToId map
             // once.
             return;
         }
@@ -87,14 +91,20 @@ public class XPathTable {
         PreparedStatement queryStmt = DBUtils.prepareForwardReadOnly(conn, "SELECT id,xpath FROM " + CLDR_XPATHS);
         // First, try to query it back from the DB.
         ResultSet rs = queryStmt.executeQuery();
+        List<Integer> ids = new ArrayList<>();
+        List<String> xpaths = new ArrayList<>();
         while (rs.next()) {
-            int id = rs.getInt(1);
-            String xpath = Utility.unescape(rs.getString(2));
-            setById(id, xpath);
+            ids.add(rs.getInt(1));
+            xpaths.add(Utility.unescape(rs.getString(2)));
+        }
+        queryStmt.close();
+        // compute all the string ids up front, in parallel, and keep them for the life of the server
+        StringId.preload(xpaths);
+        for (int i = 0; i < ids.size(); ++i) {
+            setById(ids.get(i), xpaths.get(i));
             stat_dbFetch++;
             ixpaths++;
         }
-        queryStmt.close();
         final boolean hushMessages = CLDRConfig.getInstance().getEnvironment() == Environment.UNITTEST;
         if (!hushMessages) System.err.println(et + ": " + ixpaths + " loaded");
     }
@@ -135,8 +145,20 @@ public class XPathTable {
         }
     }
 
-    public Hashtable<String, Integer> stringToId = new Hashtable<>(4096); // public for statistics only
-    public Hashtable<Long, String> sidToString = new Hashtable<>(4096); // public for statistics only
+    /*
+     * The xpath <-> id store. Reads are lock-free: ids map to xpaths through a dense array, indexed by id,
+     * and xpaths map back through a ConcurrentHashMap. Writes (which may also touch the database) are
+     * serialized on writeLock. The xpath instances in the array are the canonical ones, shared by both maps.
+     */
+    private final ConcurrentHashMap<String, Integer> stringToId = new ConcurrentHashMap<>(4096);
+    private final ConcurrentHashMap<Long, String> sidToString = new ConcurrentHashMap<>(4096);
+    private volatile String[] idToString = new String[4096];
+    private final Object writeLock = new Object();
+
+    private final LongAdder stat_byId = new LongAdder();
+    private final LongAdder stat_byXpath = new LongAdder();
+    private final LongAdder stat_byXpathMiss = new LongAdder();
+    private final long createTime = System.currentTimeMillis();
 
     public String statistics() {
         return "DB: " + stat_dbAdd + "add/" + stat_dbFetch + "fetch/"
@@ -149,37 +171,58 @@ public class XPathTable {
     public XPathTable() {
     }
 
-    /**
-     * SpecialTable implementation
-     */
-    IntHash<String> xptHash = new IntHash<>();
-
     String idToString_put(int id, String str) {
-        return xptHash.put(id, str);
+        synchronized (writeLock) {
+            String[] ids = idToString;
+            if (id >= ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(id + 1, ids.length * 2));
+            }
+            ids[id] = str;
+            idToString = ids; // volatile write, to publish the new entry
+            return str;
+        }
     }
 
     String idToString_get(int id) {
-        return xptHash.get(id);
+        String[] ids = idToString;
+        return id >= 0 && id < ids.length ? ids[id] : null;
     }
 
+    /**
+     * Memory use (approximate) and lookup counts, for statistics().
+     */
     String idStats() {
-        return xptHash.stats();
+        String[] ids = idToString;
+        long chars = 0;
+        for (String xpath : stringToId.keySet()) {
+            chars += xpath.length();
+        }
+        long seconds = Math.max(1, (System.currentTimeMillis() - createTime) / 1000);
+        long byId = stat_byId.sum();
+        long byXpath = stat_byXpath.sum();
+        return stringToId.size() + " xpaths, id array " + ids.length
+            // chars, the array, and roughly 100 bytes of String and map entry overhead per xpath
+            + ", ~" + ((chars * 2 + ids.length * 4L + stringToId.size() * 100L) / 1024) + "K"
+            + ", lookups: " + byId + " byId/" + byXpath + " byXpath (" + stat_byXpathMiss.sum() + " missed), "
+            + ((byId + byXpath) / seconds) + "/s";
     }
 
-    /** END specialtable implementation */
-
     /**
      * Loads all xpath-id mappings from the database. If there are any xpaths in
      * the specified XMLSource which are not already in the database, they will
      * be created here.
      */
-    public synchronized void loadXPaths(XMLSource source) {
+    public void loadXPaths(XMLSource source) {
         // Get list of xpaths that aren't already loaded.
         Set<String> unloadedXpaths = new HashSet<>();
         for (String xpath : source) {
-            unloadedXpaths.add(xpath);
+            if (!stringToId.containsKey(xpath)) {
+                unloadedXpaths.add(xpath);
+            }
+        }
+        if (unloadedXpaths.isEmpty()) {
+            return; // the usual case, without a connection
         }
-        unloadedXpaths.removeAll(stringToId.keySet());
 
         Connection conn = null;
         PreparedStatement queryStmt = null;
@@ -213,7 +256,15 @@ public class XPathTable {
      * @param conn
      * @throws SQLException
      */
-    private synchronized void addXpaths(Set<String> xpaths, Connection conn) throws SQLException {
+    private void addXpaths(Set<String> xpaths, Connection conn) throws SQLException {
+        synchronized (writeLock) {
+            addXpathsLocked(xpaths, conn);
+        }
+    }
+
+    private void addXpathsLocked(Set<String> xpaths, Connection conn) throws SQLException {
+        xpaths = new HashSet<>(xpaths);
+        xpaths.removeAll(stringToId.keySet()); // double check, now that we have the lock
         if (xpaths.size() == 0)
             return;
 
@@ -249,11 +300,18 @@ public class XPathTable {
     /**
      * @return the xpath's id (as an Integer)
      */
-    private synchronized Integer addXpath(String xpath, boolean addIfNotFound, Connection inConn) {
+    private Integer addXpath(String xpath, boolean addIfNotFound, Connection inConn) {
+        synchronized (writeLock) {
+            return addXpathLocked(xpath, addIfNotFound, inConn);
+        }
+    }
+
+    private Integer addXpathLocked(String xpath, boolean addIfNotFound, Connection inConn) {
         Integer nid = stringToId.get(xpath); // double check
         if (nid != null) {
             return nid;
         }
+        stat_byXpathMiss.increment();
 
         Connection conn = null;
         PreparedStatement queryStmt = null;
@@ -317,6 +375,7 @@ public class XPathTable {
         if (id == -1) {
             return null;
         }
+        stat_byId.increment();
         String s = idToString_get(id);
         if (s != null) {
             return s;
@@ -332,8 +391,12 @@ public class XPathTable {
      * @param xpath
      */
     public final void setById(int id, String xpath) {
-        stringToId.put(idToString_put(id, xpath), id);
-        sidToString.put(getStringID(xpath), xpath);
+        String canonical = idToString_get(id);
+        if (!xpath.equals(canonical)) {
+            canonical = idToString_put(id, xpath);
+        }
+        stringToId.put(canonical, id);
+        sidToString.put(getStringID(canonical), canonical);
     }
 
     /**
@@ -344,6 +407,7 @@ public class XPathTable {
      * @return the id for the specified path
      */
     public final int getByXpath(String xpath) {
+        stat_byXpath.increment();
         Integer nid = stringToId.get(xpath);
         if (nid != null) {
             return nid.intValue();
@@ -359,6 +423,7 @@ public class XPathTable {
      * @return id, or -1 if not found
      */
     public final int peekByXpath(String xpath) {
+        stat_byXpath.increment();
         Integer nid = stringToId.get(xpath);
         if (nid != null) {
             return nid.intValue();
@@ -375,6 +440,7 @@ public class XPathTable {
      * @return the id for the specified path
      */
     public final int getByXpath(String xpath, Connection conn) {
+        stat_byXpath.increment();
         Integer nid = stringToId.get(xpath);
         if (nid != null) {
             return nid.intValue();
@@ -390,6 +456,7 @@ public class XPathTable {
      * @return id, or -1 if not found
      */
     public final int peekByXpath(String xpath, Connection conn) {
+        stat_byXpath.increment();
         Integer nid = stringToId.get(xpath);
         if (nid != null) {
             return nid.intValue();
@@ -0,0 +1,140 @@
+package org.unicode.cldr.web.api;
+
+import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.unicode.cldr.web.OutputFileJob;
+import org.unicode.cldr.web.OutputFileManager;
+import org.unicode.cldr.web.SurveyMain;
+
+@Path("/admin/outputfiles")
+public class OutputFilesAPI {
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+        summary = "Get output job status",
+        description = "Returns the stage, progress, and per-locale timing of the most recent vxml output job")
+    @APIResponses(
+        value = {
+            @APIResponse(
+                responseCode = "200",
+                description = "Job status",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = OutputFileJob.class))),
+            @APIResponse(
+                responseCode = "401",
+                description = "Not authorized",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = STError.class))),
+            @APIResponse(
+                responseCode = "404",
+                description = "No job has been started",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = STError.class))) })
+    public Response getStatus(
+        @Parameter(required = true) @QueryParam("vap") String vap) {
+        if (!isAuthorized(vap)) {
+            return notAuthorized();
+        }
+        OutputFileJob job = OutputFileManager.getOutputJob();
+        if (job == null) {
+            return Response.status(Status.NOT_FOUND).entity(new STError("No output job")).build();
+        }
+        return Response.ok(job).build();
+    }
+
+    @POST
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+        summary = "Start output job",
+        description = "Starts writing vxml and pxml in the background, unless a job is already running, and returns its status")
+    @APIResponses(
+        value = {
+            @APIResponse(
+                responseCode = "200",
+                description = "Job status",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = OutputFileJob.class))),
+            @APIResponse(
+                responseCode = "400",
+                description = "None of output, remove, or verify was requested",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = STError.class))),
+            @APIResponse(
+                responseCode = "401",
+                description = "Not authorized",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = STError.class))) })
+    public Response start(
+        @Parameter(required = true) @QueryParam("vap") String vap,
+        @Parameter(description = "write vxml and pxml") @QueryParam("output") @DefaultValue("false") boolean output,
+        @Parameter(description = "remove empty vxml annotation files") @QueryParam("remove") @DefaultValue("false") boolean remove,
+        @Parameter(description = "verify vxml files") @QueryParam("verify") @DefaultValue("false") boolean verify) {
+        if (!isAuthorized(vap)) {
+            return notAuthorized();
+        }
+        if (!(output || remove || verify)) {
+            return Response.status(Status.BAD_REQUEST)
+                .entity(new STError("Specify at least one of output, remove, verify")).build();
+        }
+        return Response.ok(OutputFileManager.startOutputJob(output, remove, verify)).build();
+    }
+
+    @DELETE
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(
+        summary = "Cancel output job",
+        description = "Stops the running output job after the locales in progress, and returns its status")
+    @APIResponses(
+        value = {
+            @APIResponse(
+                responseCode = "200",
+                description = "Job status",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = OutputFileJob.class))),
+            @APIResponse(
+                responseCode = "401",
+                description = "Not authorized",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = STError.class))),
+            @APIResponse(
+                responseCode = "404",
+                description = "No job has been started",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = STError.class))) })
+    public Response cancel(
+        @Parameter(required = true) @QueryParam("vap") String vap) {
+        if (!isAuthorized(vap)) {
+            return notAuthorized();
+        }
+        OutputFileJob job = OutputFileManager.getOutputJob();
+        if (job == null) {
+            return Response.status(Status.NOT_FOUND).entity(new STError("No output job")).build();
+        }
+        job.cancel();
+        return Response.ok(job).build();
+    }
+
+    private static boolean isAuthorized(String vap) {
+        return vap != null && vap.equals(SurveyMain.vap);
+    }
+
+    private static Response notAuthorized() {
+        return Response.status(Status.UNAUTHORIZED).entity(new STError("Not authorized.")).build();
+    }
+}
@@ -273,24 +273,30 @@ function loadInfo(frag, forumDivClone, tr) {
     cldrDom.listenFor(showButton, "mouseover", theListen);
   }
 
-  // still in the very long function loadInfo...
-  // lazy load post count!
-  // load async
-  let ourUrl = tr.forumDiv.url + "&what=forum_count" + cldrSurvey.cacheKill();
-  window.setTimeout(function () {
-    var xhrArgs = {
-      url: ourUrl,
-      handleAs: "json",
-      load: function (json) {
-        if (json && json.forum_count !== undefined) {
-          havePosts(parseInt(json.forum_count));
-        } else {
-          console.log("Some error loading post count??");
-        }
-      },
-    };
-    cldrAjax.queueXhr(xhrArgs);
-  }, 1900);
+  if (tr.theRow && tr.theRow.forumPosts !== undefined) {
+    // the count came with the row
+    havePosts(tr.theRow.forumPosts);
+  } else {
+    // still in the very long function loadInfo...
+    // lazy load post count!
+    // load async
+    let ourUrl =
+      tr.forumDiv.url + "&what=forum_count" + cldrSurvey.cacheKill();
+    window.setTimeout(function () {
+      var xhrArgs = {
+        url: ourUrl,
+        handleAs: "json",
+        load: function (json) {
+          if (json && json.forum_count !== undefined) {
+            havePosts(parseInt(json.forum_count));
+          } else {
+            console.log("Some error loading post count??");
+          }
+        },
+      };
+      cldrAjax.queueXhr(xhrArgs);
+    }, 1900);
+  }
 } // end of the very long function loadInfo
 
 function getUsersValue(theRow) {
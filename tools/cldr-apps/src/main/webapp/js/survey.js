@@ -1958,23 +1958,28 @@ function showForumStuff(frag, forumDivClone, tr) {
     listenFor(showButton, "mouseover", theListen);
   }
 
-  // lazy load post count!
-  // load async
-  var ourUrl = tr.forumDiv.url + "&what=forum_count" + cacheKill();
-  window.setTimeout(function () {
-    var xhrArgs = {
-      url: ourUrl,
-      handleAs: "json",
-      load: function (json) {
-        if (json && json.forum_count !== undefined) {
-          havePosts(parseInt(json.forum_count));
-        } else {
-          console.log("Some error loading post count??");
-        }
-      },
-    };
-    cldrAjax.queueXhr(xhrArgs);
-  }, 1900);
+  if (tr.theRow && tr.theRow.forumPosts !== undefined) {
+    // the count came with the row
+    havePosts(tr.theRow.forumPosts);
+  } else {
+    // lazy load post count!
+    // load async
+    var ourUrl = tr.forumDiv.url + "&what=forum_count" + cacheKill();
+    window.setTimeout(function () {
+      var xhrArgs = {
+        url: ourUrl,
+        handleAs: "json",
+        load: function (json) {
+          if (json && json.forum_count !== undefined) {
+            havePosts(parseInt(json.forum_count));
+          } else {
+            console.log("Some error loading post count??");
+          }
+        },
+      };
+      cldrAjax.queueXhr(xhrArgs);
+    }, 1900);
+  }
 
   function getUsersValue(theRow) {
     "use strict";
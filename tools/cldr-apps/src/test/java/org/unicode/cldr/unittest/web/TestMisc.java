@@ -4,11 +4,20 @@ package org.unicode.cldr.unittest.web;
  * Copyright (C) 2012
  */
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.unicode.cldr.util.CLDRConfig;
 import org.unicode.cldr.util.CLDRConfigImpl;
 import org.unicode.cldr.util.CLDRLocale;
 import org.unicode.cldr.util.CldrUtility;
 import org.unicode.cldr.util.Factory;
+import org.unicode.cldr.web.CookieSession;
 import org.unicode.cldr.web.STFactory;
 import org.unicode.cldr.web.WebContext;
 
@@ -105,4 +114,85 @@ public class TestMisc extends TestFmwk {
             // }
         }
     }
+
+    /**
+     * Create, look up, and remove sessions from several threads at once.
+     */
+    public void TestCookieSessions() throws InterruptedException {
+        final int threadCount = 8;
+        final int perThread = 50;
+        final Set<String> ids = ConcurrentHashMap.newKeySet();
+        final int guestsBefore = CookieSession.getGuestCount();
+        // TestFmwk isn't thread-safe, so the workers only collect failures
+        final Queue<String> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; ++t) {
+            final String ip = "10.0.0." + t;
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perThread; ++i) {
+                        CookieSession cs = CookieSession.newSession(true, ip, null);
+                        ids.add(cs.id);
+                        cs.put("n", i);
+                        if (CookieSession.retrieve(cs.id) != cs) {
+                            failures.add("Can't retrieve new session " + cs.id);
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.add("Thread for " + ip + " failed: " + e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (String failure : failures) {
+            errln(failure);
+        }
+        assertEquals("unique ids", threadCount * perThread, ids.size());
+        assertEquals("guest count", guestsBefore + threadCount * perThread, CookieSession.getGuestCount());
+
+        String first = ids.iterator().next();
+        CookieSession cs = CookieSession.retrieveWithoutTouch(first);
+        assertEquals("existing session", cs, CookieSession.newSession(true, cs.ip, first));
+        cs.getLocales().computeIfAbsent("fr", k -> new ConcurrentHashMap<>());
+        assertEquals("locales", true, cs.getLocales().containsKey("fr"));
+
+        for (String id : ids) {
+            CookieSession.retrieveWithoutTouch(id).remove();
+        }
+        assertEquals("removed", null, CookieSession.retrieveWithoutTouch(first));
+        assertEquals("guest count after", guestsBefore, CookieSession.getGuestCount());
+    }
+
+    /**
+     * Move the clock past the session timeouts, and check that the expired sessions are removed,
+     * and that a session that was active in the meantime is kept until it expires in turn.
+     */
+    public void TestCookieSessionExpiry() {
+        final long tickMillis = 5 * 1000; // CookieSession.ExpiryWheel.TICK_MILLIS
+        final AtomicLong now = new AtomicLong(System.currentTimeMillis());
+        CookieSession.setClock(now::get);
+        try {
+            CookieSession idle = CookieSession.newSession(true, "10.0.1.1", null);
+            CookieSession active = CookieSession.newSession(true, "10.0.1.2", null);
+            final long timeoutMillis = idle.millisTillKick();
+            assertEquals("idle session", idle, CookieSession.retrieveWithoutTouch(idle.id));
+
+            now.addAndGet(timeoutMillis / 2);
+            active.userDidAction();
+            assertEquals("idle session before timeout", idle, CookieSession.retrieveWithoutTouch(idle.id));
+
+            now.addAndGet(timeoutMillis / 2 + 2 * tickMillis);
+            assertEquals("idle session after timeout", null, CookieSession.retrieveWithoutTouch(idle.id));
+            assertEquals("active session", active, CookieSession.retrieveWithoutTouch(active.id));
+
+            now.addAndGet(timeoutMillis / 2 + 2 * tickMillis);
+            assertEquals("active session after timeout", null, CookieSession.retrieveWithoutTouch(active.id));
+        } finally {
+            CookieSession.setClock(null);
+        }
+    }
 }
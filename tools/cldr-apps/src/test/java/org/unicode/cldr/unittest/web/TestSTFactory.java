@@ -31,6 +31,7 @@ import org.unicode.cldr.web.CookieSession;
 import org.unicode.cldr.web.DBUtils;
 import org.unicode.cldr.web.STFactory;
 import org.unicode.cldr.web.SurveyException;
+import org.unicode.cldr.web.SurveyForum;
 import org.unicode.cldr.web.SurveyLog;
 import org.unicode.cldr.web.SurveyMain;
 import org.unicode.cldr.web.UserRegistry;
@@ -242,6 +243,43 @@ public class TestSTFactory extends TestFmwk {
         }
     }
 
+    /**
+     * The forum post counts for a locale are loaded once, and then kept up to date as posts are made.
+     */
+    public void TestForumPostCounts() throws SQLException, SurveyException {
+        STFactory fac = getFactory();
+        SurveyMain sm = fac.sm;
+        SurveyForum forum = SurveyForum.createTable(SurveyLog.logger, DBUtils.getInstance().getDBConnection(), sm);
+        CLDRLocale locale = CLDRLocale.getInstance("de");
+        final String somePath = "//ldml/localeDisplayNames/keys/key[@type=\"calendar\"]";
+        int xpathId = sm.xpt.getByXpath(somePath);
+
+        SurveyForum.PostCounts counts = forum.getPostCounts(locale); // load
+        assertNotNull("counts for " + locale, counts);
+        int before = counts.get(xpathId);
+        assertEquals("postCountFor before posting", before, forum.postCountFor(locale, xpathId));
+        assertSame("counts for a locale with keywords", counts,
+            forum.getPostCounts(CLDRLocale.getInstance("de@collation=phonebook")));
+
+        CookieSession session = CookieSession.newSession(false, "[::1]", null);
+        try {
+            session.setUser(getMyUser());
+            SurveyForum.PostInfo postInfo = forum.new PostInfo(locale, "Discuss", "A post to be counted");
+            postInfo.setSubj("Post counts");
+            postInfo.setPathString(sm.xpt.getStringIDString(xpathId));
+            postInfo.setUser(getMyUser());
+            postInfo.setSendEmail(false);
+            int postId = forum.doPost(session, postInfo); // post
+            assertTrue("post id " + postId, postId > 0);
+        } finally {
+            session.remove();
+        }
+
+        assertSame("counts are kept, not reloaded", counts, forum.getPostCounts(locale));
+        assertEquals("count after posting", before + 1, counts.get(xpathId)); // incremented
+        assertEquals("postCountFor after posting", before + 1, forum.postCountFor(locale, xpathId));
+    }
+
     public void TestDenyVote() throws SQLException, IOException {
         STFactory fac = getFactory();
         final String somePath2 = "//ldml/localeDisplayNames/keys/key[@type=\"numbers\"]";
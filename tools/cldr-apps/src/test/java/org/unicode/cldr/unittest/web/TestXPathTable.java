@@ -5,9 +5,16 @@ package org.unicode.cldr.unittest.web;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
 
 import org.unicode.cldr.web.CookieSession;
 import org.unicode.cldr.web.DBUtils;
@@ -64,6 +71,37 @@ public class TestXPathTable extends TestFmwk {
         logln("OK: Tested " + ii + " values");
     }
 
+    public void TestConcurrentPutGet() throws SQLException {
+        Connection conn = DBUtils.getInstance().getDBConnection();
+        XPathTable xpt = XPathTable.createTable(conn);
+        DBUtils.closeDBConnection(conn);
+        List<String> xpaths = new ArrayList<>();
+        for (int i = 0; i < TEST_COUNT; i++) {
+            xpaths.add("//test/concurrent/" + i + "/[@hash=\"" + CookieSession.cheapEncode(i) + "\"]/item");
+        }
+        // add and look up from several threads at once; each xpath must get exactly one id
+        Map<String, Integer> ids = new ConcurrentHashMap<>();
+        // TestFmwk isn't thread-safe, so the workers only collect the mismatches
+        Queue<String> mismatches = new ConcurrentLinkedQueue<>();
+        IntStream.range(0, TEST_COUNT * 4).parallel().forEach(i -> {
+            String xpath = xpaths.get(i % TEST_COUNT);
+            int xpid = xpt.getByXpath(xpath);
+            Integer other = ids.putIfAbsent(xpath, xpid);
+            if (other != null && other != xpid) {
+                mismatches.add(xpath + " got ids " + xpid + " and " + other);
+            }
+            String found = xpt.getById(xpid);
+            if (!xpath.equals(found)) {
+                mismatches.add("id " + xpid + " is " + found + ", expected " + xpath);
+            }
+        });
+        for (String mismatch : mismatches) {
+            errln("Error: " + mismatch);
+        }
+        assertEquals("distinct ids", TEST_COUNT, new HashSet<>(ids.values()).size());
+        logln(xpt.statistics());
+    }
+
     public void TestRemoveDraftAltProposed() {
         String inout[] = {
 
@@ -0,0 +1,200 @@
+package org.unicode.cldr.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.unicode.cldr.util.CLDRLocale;
+
+/**
+ * Tests for OutputFileJob, with an OutputFileManager that only pretends to write the files.
+ * The OutputFiles API reports the job's status, and starts and cancels it through OutputFileManager.
+ */
+class OutputFileJobTest {
+
+    private static final List<CLDRLocale> LOCALES = Arrays.asList(
+        CLDRLocale.getInstance("root"), CLDRLocale.getInstance("en"), CLDRLocale.getInstance("de"),
+        CLDRLocale.getInstance("fr"), CLDRLocale.getInstance("ja"), CLDRLocale.getInstance("zh"));
+
+    private static final AtomicInteger jobCount = new AtomicInteger();
+
+    private static File tmpdir;
+    private static ExecutorService executor;
+
+    @BeforeAll
+    static void setUpBeforeClass() throws Exception {
+        tmpdir = Files.createTempDirectory(OutputFileJobTest.class.getSimpleName()).toFile();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterAll
+    static void tearDownAfterClass() throws Exception {
+        executor.shutdownNow();
+        tmpdir.deleteOnExit();
+    }
+
+    /**
+     * Records the locales written; a write blocks while the gate is closed, and fails for the failing locale.
+     */
+    private static class FakeOutputFileManager extends OutputFileManager {
+        final Set<String> written = new TreeSet<>();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch gate;
+        final String failing;
+        volatile boolean verified = false;
+
+        FakeOutputFileManager(boolean open, String failing) {
+            super(null);
+            this.gate = new CountDownLatch(open ? 0 : 1);
+            this.failing = failing;
+        }
+
+        @Override
+        File writeManualOutputFile(File vetDataDir, CLDRLocale loc, Kind kind) {
+            started.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                return null;
+            }
+            if (loc.getBaseName().equals(failing)) {
+                return null;
+            }
+            synchronized (written) {
+                written.add(loc.getBaseName() + "." + kind);
+            }
+            return new File(vetDataDir, kind + "/" + loc.getBaseName() + ".xml");
+        }
+
+        @Override
+        boolean copyDtd(File vetdataDir) {
+            return true;
+        }
+
+        @Override
+        void removeEmptyFiles(Writer out, File vxmlDir) throws IOException {
+            out.write("<p>removed</p>");
+        }
+
+        @Override
+        void verifyAllFiles(Writer out, File vxmlDir) throws IOException {
+            verified = true;
+            out.write("<p>verified</p>");
+        }
+    }
+
+    private static OutputFileJob makeJob(OutputFileManager ofm) {
+        // a vetdata directory for each job, since the directories it makes are only distinguished by a timestamp
+        File vetdir = new File(tmpdir, "vetdata" + jobCount.incrementAndGet());
+        return new OutputFileJob(ofm, vetdir, LOCALES, true, true, true);
+    }
+
+    private static void waitUntilFinished(OutputFileJob job) throws InterruptedException {
+        for (int i = 0; i < 1000 && !job.isFinished(); ++i) {
+            Thread.sleep(10);
+        }
+        assertTrue(job.isFinished(), "finished: " + job);
+    }
+
+    @Test
+    void testProgressAndStatus() {
+        FakeOutputFileManager ofm = new FakeOutputFileManager(true, null);
+        OutputFileJob job = makeJob(ofm);
+        assertEquals(OutputFileJob.Stage.queued, job.getStage());
+        assertEquals(0, job.getElapsedMillis());
+        assertNull(job.getDirectory());
+
+        job.run();
+
+        assertEquals(OutputFileJob.Stage.done, job.getStage(), job.toString());
+        assertNull(job.getError());
+        assertEquals(4, job.getLocaleCount(), "en and root are skipped");
+        assertEquals(4, job.getLocalesDone());
+        assertEquals(new TreeSet<>(Arrays.asList("de", "fr", "ja", "zh")), job.getLocaleMillis().keySet());
+        assertEquals(new TreeSet<>(Arrays.asList("de.vxml", "de.pxml", "fr.vxml", "fr.pxml",
+            "ja.vxml", "ja.pxml", "zh.vxml", "zh.pxml")), ofm.written);
+        assertNotNull(job.getDirectory());
+        assertTrue(new File(job.getDirectory()).isDirectory());
+        assertTrue(job.getReport().contains("removed") && job.getReport().contains("verified"), job.getReport());
+        assertTrue(ofm.verified);
+    }
+
+    @Test
+    void testCancel() throws InterruptedException {
+        FakeOutputFileManager ofm = new FakeOutputFileManager(false, null);
+        OutputFileJob job = makeJob(ofm).start(executor);
+        assertTrue(ofm.started.await(10, TimeUnit.SECONDS), "a locale was started");
+        assertEquals(OutputFileJob.Stage.output, job.getStage());
+        assertFalse(job.isFinished());
+
+        job.cancel();
+        ofm.gate.countDown(); // let the locales in progress finish
+        waitUntilFinished(job);
+
+        assertEquals(OutputFileJob.Stage.cancelled, job.getStage());
+        assertFalse(ofm.verified, "later stages are skipped");
+    }
+
+    @Test
+    void testCancelBeforeRunning() {
+        FakeOutputFileManager ofm = new FakeOutputFileManager(true, null);
+        OutputFileJob job = makeJob(ofm);
+        job.cancel();
+        job.run();
+        assertEquals(OutputFileJob.Stage.cancelled, job.getStage());
+        assertEquals(0, job.getLocalesDone());
+        assertTrue(ofm.written.isEmpty());
+    }
+
+    @Test
+    void testFailure() {
+        FakeOutputFileManager ofm = new FakeOutputFileManager(true, "fr");
+        OutputFileJob job = makeJob(ofm);
+        job.run();
+        assertEquals(OutputFileJob.Stage.failed, job.getStage());
+        assertTrue(job.getError().contains("FILE CREATION FAILED: fr"), job.getError());
+        assertFalse(ofm.verified);
+    }
+
+    /**
+     * The OutputFiles API: POST starts a job unless one is running, GET returns the latest, DELETE cancels it.
+     */
+    @Test
+    void testStartStatusCancel() throws InterruptedException {
+        FakeOutputFileManager ofm = new FakeOutputFileManager(false, null);
+        OutputFileJob job = makeJob(ofm);
+        assertSame(job, OutputFileManager.startOutputJob(job));
+        assertSame(job, OutputFileManager.getOutputJob());
+        assertSame(job, OutputFileManager.startOutputJob(makeJob(ofm)), "already running");
+
+        OutputFileManager.getOutputJob().cancel();
+        ofm.gate.countDown();
+        waitUntilFinished(job);
+        assertEquals(OutputFileJob.Stage.cancelled, OutputFileManager.getOutputJob().getStage());
+
+        OutputFileJob next = makeJob(new FakeOutputFileManager(true, null));
+        assertSame(next, OutputFileManager.startOutputJob(next), "the previous job is finished");
+        waitUntilFinished(next);
+        assertEquals(OutputFileJob.Stage.done, OutputFileManager.getOutputJob().getStage());
+    }
+}
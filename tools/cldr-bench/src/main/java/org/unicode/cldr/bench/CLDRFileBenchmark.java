@@ -0,0 +1,64 @@
+package org.unicode.cldr.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.FlattenedXMLSource;
+
+/**
+ * Lookups in a resolved CLDRFile, one path per operation. The flattened variants read the same locale
+ * from a {@link FlattenedXMLSource}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CLDRFileBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Flattened {
+        CLDRFile file;
+
+        @Setup(Level.Trial)
+        public void setup(LocaleData data) {
+            file = FlattenedXMLSource.make(data.factory, data.locale);
+        }
+    }
+
+    @Benchmark
+    public String getStringValue(LocaleData data, PathCursor cursor) {
+        return data.resolved.getStringValue(cursor.next(data.paths));
+    }
+
+    @Benchmark
+    public String getFullXPath(LocaleData data, PathCursor cursor) {
+        return data.resolved.getFullXPath(cursor.next(data.paths));
+    }
+
+    @Benchmark
+    public String getStringValueFlattened(LocaleData data, Flattened flattened, PathCursor cursor) {
+        return flattened.file.getStringValue(cursor.next(data.paths));
+    }
+
+    @Benchmark
+    public String getSourceLocaleIDFlattened(LocaleData data, Flattened flattened, PathCursor cursor) {
+        return flattened.file.getSourceLocaleID(cursor.next(data.paths), null);
+    }
+
+    @Benchmark
+    public String getSourceLocaleID(LocaleData data, PathCursor cursor) {
+        return data.resolved.getSourceLocaleID(cursor.next(data.paths), null);
+    }
+}
@@ -0,0 +1,83 @@
+package org.unicode.cldr.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.unicode.cldr.tool.Option;
+import org.unicode.cldr.tool.Option.Options;
+import org.unicode.cldr.tool.Option.Params;
+
+/**
+ * Run the CLDR benchmarks once for each thread count, writing the results of each to a JSON file
+ * (eg cldr-bench-t1.json), so that they can be compared between releases.
+ */
+public class CldrBench {
+    private enum MyOptions {
+        threads(new Params().setHelp("comma-separated thread counts")
+            .setMatch("\\d+(,\\d+)*").setDefault("1," + Runtime.getRuntime().availableProcessors())),
+        match(new Params().setHelp("regex for the benchmarks to run, eg Coverage.*").setMatch(".*").setDefault(".*")),
+        output(new Params().setHelp("prefix of the JSON result files").setMatch(".*").setDefault("cldr-bench")),
+        locales(new Params().setHelp("comma-separated locales to use instead of the defaults").setMatch(".*")),
+        quick(new Params().setHelp("fewer and shorter iterations, for a quick check").setMatch("")),
+        ;
+
+        // BOILERPLATE TO COPY
+        final Option option;
+
+        private MyOptions(Params params) {
+            option = new Option(this, params);
+        }
+
+        private static Options myOptions = new Options();
+        static {
+            for (MyOptions option : MyOptions.values()) {
+                myOptions.add(option, option.option);
+            }
+        }
+
+        private static Set<String> parse(String[] args) {
+            return myOptions.parse(MyOptions.values()[0], args, true);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        MyOptions.parse(args);
+
+        // the forked JVMs need to find the CLDR data; prepended, so that a benchmark's own jvmArgsAppend wins
+        List<String> jvmArgs = new ArrayList<>();
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith("CLDR_")) {
+                jvmArgs.add("-D" + key + "=" + System.getProperty(key));
+            }
+        }
+
+        for (String threadString : MyOptions.threads.option.getValue().split(",")) {
+            int threads = Integer.parseInt(threadString);
+            String resultFile = MyOptions.output.option.getValue() + "-t" + threads + ".json";
+            ChainedOptionsBuilder builder = new OptionsBuilder()
+                .include(MyOptions.match.option.getValue())
+                .threads(threads)
+                .jvmArgsPrepend(jvmArgs.toArray(new String[jvmArgs.size()]))
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile);
+            if (MyOptions.locales.option.doesOccur()) {
+                builder.param("locale", MyOptions.locales.option.getValue().split(","));
+            }
+            if (MyOptions.quick.option.doesOccur()) {
+                builder.warmupIterations(1)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(2)
+                    .measurementTime(TimeValue.seconds(1));
+            }
+            System.out.println("Running with " + threads + " thread(s), writing " + resultFile);
+            new Runner(builder.build()).run();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.unicode.cldr.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.unicode.cldr.test.CoverageLevel2;
+import org.unicode.cldr.util.CLDRConfig;
+
+/**
+ * Getting the coverage level of a path, one per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CoverageLevelBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Coverage {
+        CoverageLevel2 coverage;
+
+        @Setup(Level.Trial)
+        public void setup(LocaleData data) {
+            coverage = CoverageLevel2.getInstance(CLDRConfig.getInstance().getSupplementalDataInfo(), data.locale);
+        }
+    }
+
+    @Benchmark
+    public org.unicode.cldr.util.Level getLevel(Coverage coverage, LocaleData data, PathCursor cursor) {
+        return coverage.coverage.getLevel(cursor.next(data.paths));
+    }
+}
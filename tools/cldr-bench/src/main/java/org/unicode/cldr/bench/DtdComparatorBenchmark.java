@@ -0,0 +1,57 @@
+package org.unicode.cldr.bench;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.unicode.cldr.util.DtdData;
+import org.unicode.cldr.util.DtdType;
+
+/**
+ * Sorting all the paths of a locale into DTD order, as is done when writing files.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtdComparatorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Shuffled {
+        Comparator<String> comparator;
+        String[] paths;
+
+        @Setup(Level.Trial)
+        public void setup(LocaleData data) {
+            comparator = DtdData.getInstance(DtdType.ldml).getDtdComparator(null);
+            paths = data.paths.clone();
+            Collections.shuffle(Arrays.asList(paths), new Random(0));
+        }
+    }
+
+    @Benchmark
+    public String[] sort(Shuffled shuffled) {
+        String[] result = shuffled.paths.clone();
+        Arrays.sort(result, shuffled.comparator);
+        return result;
+    }
+
+    @Benchmark
+    public int compare(Shuffled shuffled, PathCursor cursor) {
+        return shuffled.comparator.compare(cursor.next(shuffled.paths), cursor.next(shuffled.paths));
+    }
+}
@@ -0,0 +1,38 @@
+package org.unicode.cldr.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.XMLNormalizingLoader;
+import org.unicode.cldr.util.XMLSourceBinaryCache;
+
+/**
+ * Making CLDRFiles. The XMLSources are cached for the whole process (see {@link XMLNormalizingLoader}
+ * and {@link XMLSourceBinaryCache}), so the "cold" make is run in its own fork with both caches turned off;
+ * the system properties there take precedence over any CLDR_* settings in the environment.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FactoryBenchmark {
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-DCLDR_XML_CACHE_MB=0", "-DCLDR_XML_BINARY_CACHE_DIR=" })
+    public CLDRFile makeCold(LocaleData data) {
+        return data.factory.make(data.locale, false);
+    }
+
+    @Benchmark
+    public CLDRFile makeWarm(LocaleData data) {
+        return data.factory.make(data.locale, true);
+    }
+}
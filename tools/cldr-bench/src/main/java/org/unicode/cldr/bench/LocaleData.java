@@ -0,0 +1,44 @@
+package org.unicode.cldr.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.Factory;
+
+/**
+ * The data shared by all threads of a benchmark: a resolved locale, with its paths.
+ */
+@State(Scope.Benchmark)
+public class LocaleData {
+    @Param({ "fr", "de", "ja" })
+    public String locale;
+
+    public Factory factory;
+    public CLDRFile resolved;
+    /** The distinguishing paths of the resolved file, in the file's order */
+    public String[] paths;
+    /** The full paths, parallel to paths */
+    public String[] fullPaths;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        factory = CLDRConfig.getInstance().getCldrFactory();
+        resolved = factory.make(locale, true);
+        List<String> pathList = new ArrayList<>();
+        List<String> fullPathList = new ArrayList<>();
+        for (String path : resolved.fullIterable()) {
+            pathList.add(path);
+            String fullPath = resolved.getFullXPath(path);
+            fullPathList.add(fullPath == null ? path : fullPath);
+        }
+        paths = pathList.toArray(new String[pathList.size()]);
+        fullPaths = fullPathList.toArray(new String[fullPathList.size()]);
+    }
+}
@@ -0,0 +1,20 @@
+package org.unicode.cldr.bench;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A per-thread position in a list of paths, so that each operation looks up the next path.
+ * Each thread starts at a different place, so that threads don't move through the data in lockstep.
+ */
+@State(Scope.Thread)
+public class PathCursor {
+    private int index = (int) (Thread.currentThread().getId() * 7919);
+
+    public String next(String[] items) {
+        if (index >= items.length || index < 0) {
+            index = Math.floorMod(index, items.length);
+        }
+        return items[index++];
+    }
+}
@@ -0,0 +1,43 @@
+package org.unicode.cldr.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.PathHeader;
+
+/**
+ * Getting the PathHeader for a path, one per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathHeaderBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Headers {
+        PathHeader.Factory factory;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            factory = PathHeader.getFactory(CLDRConfig.getInstance().getEnglish());
+        }
+    }
+
+    @Benchmark
+    public PathHeader fromPath(Headers headers, LocaleData data, PathCursor cursor) {
+        return headers.factory.fromPath(cursor.next(data.paths));
+    }
+}
@@ -0,0 +1,103 @@
+package org.unicode.cldr.bench;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.Rational;
+import org.unicode.cldr.util.UnitConverter;
+
+/**
+ * Unit conversions, one pair of convertible units per operation. The uncached variant runs with
+ * the conversion cache turned off, so each operation parses both units, as before the plans were cached.
+ * The array variant converts 1000 doubles per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnitConverterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Units {
+        UnitConverter converter;
+        String[] sources;
+        String[] targets;
+        String[] indexes;
+        double[] values = new double[1000];
+        Rational value = Rational.of(1234567, 1000);
+        Rational bigValue = Rational.of(BigInteger.TEN.pow(30).add(BigInteger.ONE), BigInteger.valueOf(7));
+
+        @Setup(Level.Trial)
+        public void setup() {
+            converter = CLDRConfig.getInstance().getSupplementalDataInfo().getUnitConverter();
+            List<String> sourceList = new ArrayList<>();
+            List<String> targetList = new ArrayList<>();
+            for (String source : converter.canConvert()) {
+                for (String target : converter.canConvertBetween(source)) {
+                    sourceList.add(source);
+                    targetList.add(target);
+                }
+            }
+            sources = sourceList.toArray(new String[sourceList.size()]);
+            targets = targetList.toArray(new String[targetList.size()]);
+            // the cursor walks over strings, so give it the indexes of the pairs
+            indexes = new String[sources.length];
+            for (int i = 0; i < indexes.length; ++i) {
+                indexes[i] = String.valueOf(i);
+            }
+            for (int i = 0; i < values.length; ++i) {
+                values[i] = i * 1.5 - 100;
+            }
+        }
+
+        int next(PathCursor cursor) {
+            return Integer.parseInt(cursor.next(indexes));
+        }
+    }
+
+    @Benchmark
+    public Rational convert(Units units, PathCursor cursor) {
+        int i = units.next(cursor);
+        return units.converter.convert(units.value, units.sources[i], units.targets[i], false);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-DCLDR_UNIT_CONVERSION_CACHE_SIZE=0")
+    public Rational convertUncached(Units units, PathCursor cursor) {
+        int i = units.next(cursor);
+        return units.converter.convert(units.value, units.sources[i], units.targets[i], false);
+    }
+
+    @Benchmark
+    public Rational convertBig(Units units, PathCursor cursor) {
+        int i = units.next(cursor);
+        return units.converter.convert(units.bigValue, units.sources[i], units.targets[i], false);
+    }
+
+    @Benchmark
+    public double convertDouble(Units units, PathCursor cursor) {
+        int i = units.next(cursor);
+        return units.converter.convert(1234.567, units.sources[i], units.targets[i]);
+    }
+
+    @Benchmark
+    public double[] convertDoubleArray(Units units, PathCursor cursor) {
+        int i = units.next(cursor);
+        return units.converter.convert(units.values, units.sources[i], units.targets[i]);
+    }
+}
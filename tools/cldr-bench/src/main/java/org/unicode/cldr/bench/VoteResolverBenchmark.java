@@ -0,0 +1,84 @@
+package org.unicode.cldr.bench;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.unicode.cldr.util.CLDRLocale;
+import org.unicode.cldr.util.CldrUtility;
+import org.unicode.cldr.util.Organization;
+import org.unicode.cldr.util.VoteResolver;
+import org.unicode.cldr.util.VoteResolver.Status;
+import org.unicode.cldr.util.VoteResolver.VoterInfo;
+
+/**
+ * Resolving the votes for a path, one per operation: the current value is the trunk and bailey value,
+ * and a few voters from different organizations vote for it, for a change, and for inheritance.
+ * VoteResolver isn't thread-safe, so each thread has its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VoteResolverBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Votes {
+        String[] values;
+
+        @Setup(Level.Trial)
+        public void setup(LocaleData data) {
+            Map<Integer, VoterInfo> voters = new HashMap<>();
+            voters.put(1, new VoterInfo(Organization.google, VoteResolver.Level.vetter, "G. Vetter"));
+            voters.put(2, new VoterInfo(Organization.apple, VoteResolver.Level.vetter, "A. Vetter"));
+            voters.put(3, new VoterInfo(Organization.microsoft, VoteResolver.Level.expert, "M. Expert"));
+            voters.put(4, new VoterInfo(Organization.guest, VoteResolver.Level.street, "G. Street"));
+            VoteResolver.setVoterToInfo(voters);
+
+            values = new String[data.paths.length];
+            for (int i = 0; i < values.length; ++i) {
+                values[i] = data.resolved.getStringValue(data.paths[i]);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Resolver {
+        VoteResolver<String> resolver;
+
+        @Setup(Level.Trial)
+        public void setup(LocaleData data) {
+            resolver = new VoteResolver<>();
+            resolver.setLocale(CLDRLocale.getInstance(data.locale), null);
+        }
+    }
+
+    @Benchmark
+    public String getWinningValue(Votes votes, Resolver resolver, PathCursor cursor) {
+        String value = cursor.next(votes.values);
+        if (value == null) {
+            value = "";
+        }
+        VoteResolver<String> r = resolver.resolver;
+        r.clear();
+        r.setTrunk(value, Status.approved);
+        r.setBaileyValue(value);
+        r.add(value, 1);
+        r.add(value + "x", 2);
+        r.add(CldrUtility.INHERITANCE_MARKER, 3);
+        r.add(value + "x", 4);
+        return r.getWinningValue();
+    }
+}
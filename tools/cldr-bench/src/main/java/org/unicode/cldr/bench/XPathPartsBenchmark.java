@@ -0,0 +1,33 @@
+package org.unicode.cldr.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.unicode.cldr.util.XPathParts;
+
+/**
+ * Parsing full paths, one per operation. After the first pass these are cache hits.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XPathPartsBenchmark {
+
+    @Benchmark
+    public XPathParts getFrozenInstance(LocaleData data, PathCursor cursor) {
+        return XPathParts.getFrozenInstance(cursor.next(data.fullPaths));
+    }
+
+    @Benchmark
+    public XPathParts cloneAsThawed(LocaleData data, PathCursor cursor) {
+        return XPathParts.getFrozenInstance(cursor.next(data.fullPaths)).cloneAsThawed();
+    }
+}
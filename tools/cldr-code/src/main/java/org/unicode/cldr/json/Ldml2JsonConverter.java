@@ -16,7 +16,10 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -47,6 +50,7 @@ import org.unicode.cldr.util.SupplementalDataInfo;
 import org.unicode.cldr.util.XPathParts;
 
 import com.google.common.base.Joiner;
+import com.google.common.base.Throwables;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
@@ -133,6 +137,10 @@ public class Ldml2JsonConverter {
                 .add("identity", 'i', "(true|false)", "true",
                     "Whether to copy the identity info into all sections containing data")
                 .add("konfig", 'k', ".*", null, "LDML to JSON configuration file")
+                .add("streaming", 'S', "(true|false)", "false",
+                    "Whether to write each section as the paths are read, instead of collecting all of a file's items first (uses less memory)")
+                .add("threads", 'T', "\\d+", "0",
+                    "Number of files to convert in parallel; 0 uses the common pool")
                 .add("pkgversion",  'V', ".*", getDefaultVersion(), "Version to be used in writing package files");
 
     public static void main(String[] args) throws Exception {
@@ -341,11 +349,21 @@ public class Ldml2JsonConverter {
         return result;
     }
 
-    private Map<JSONSection, List<CldrItem>> mapPathsToSections(AtomicInteger readCount, int totalCount,
-        CLDRFile file, String pathPrefix, SupplementalDataInfo sdi)
-        throws IOException, ParseException {
-        final Map<JSONSection, List<CldrItem>> sectionItems = new TreeMap<>();
+    /**
+     * Receives each item to be output, along with the section it belongs to.
+     */
+    private interface SectionItemHandler {
+        void handle(JSONSection js, CldrItem item) throws IOException, ParseException;
+    }
+
+    private static final Pattern VERSION_INFO_PATTERN = PatternCache.get(".*/(identity|version).*");
 
+    /**
+     * Filter and transform the paths of the file, in DTD order, passing each resulting item to the handler
+     * along with the first section that matches it.
+     */
+    private void forEachSectionItem(CLDRFile file, String pathPrefix, SectionItemHandler handler)
+        throws IOException, ParseException {
         String locID = file.getLocaleID();
         Matcher noNumberingSystemMatcher = LdmlConvertRules.NO_NUMBERING_SYSTEM_PATTERN.matcher("");
         Matcher numberingSystemMatcher = LdmlConvertRules.NUMBERING_SYSTEM_PATTERN.matcher("");
@@ -421,20 +439,22 @@ public class Ldml2JsonConverter {
 
             for (JSONSection js : sections) {
                 if (js.pattern.matcher(transformedPath).matches()) {
-                    CldrItem item = new CldrItem(transformedPath, transformedFullPath, path, fullPath, value);
-
-                    List<CldrItem> cldrItems = sectionItems.get(js);
-                    if (cldrItems == null) {
-                        cldrItems = new ArrayList<>();
-                    }
-                    cldrItems.add(item);
-                    sectionItems.put(js, cldrItems);
+                    handler.handle(js, new CldrItem(transformedPath, transformedFullPath, path, fullPath, value));
                     break;
                 }
             }
         }
+    }
+
+    private Map<JSONSection, List<CldrItem>> mapPathsToSections(AtomicInteger readCount, int totalCount,
+        CLDRFile file, String pathPrefix, SupplementalDataInfo sdi)
+        throws IOException, ParseException {
+        final Map<JSONSection, List<CldrItem>> sectionItems = new TreeMap<>();
 
-        Matcher versionInfoMatcher = PatternCache.get(".*/(identity|version).*").matcher("");
+        forEachSectionItem(file, pathPrefix,
+            (js, item) -> sectionItems.computeIfAbsent(js, k -> new ArrayList<>()).add(item));
+
+        Matcher versionInfoMatcher = VERSION_INFO_PATTERN.matcher("");
         // Automatically copy the version info to any sections that had real data in them.
         JSONSection otherSection = sections.get(sections.size() - 1);
         List<CldrItem> others = sectionItems.get(otherSection);
@@ -490,208 +510,258 @@ public class Ldml2JsonConverter {
         List<Pair<String,Integer>> outputProgress = new LinkedList<>();
 
         for (JSONSection js : sections) {
-            if (js.section.equals("IGNORE")) {
+            List<String> outputDirs = getOutputDirs(js, dirName, filename);
+            if (outputDirs == null) {
                 continue;
             }
-            String outFilename;
-            final String filenameAsLangTag = localeIdToLangTag(filename);
-            if (type == RunType.rbnf) {
-                outFilename = filenameAsLangTag + ".json";
-            } else if(js.section.equals("other")) {
-                // If you see other-___.json, it means items that were missing from JSON_config_*.txt
-                outFilename = js.section + "-" + filenameAsLangTag + ".json";
-            } else {
-                outFilename = js.section + ".json";
+            String outFilename = getOutputFilename(js, filename);
+            for (String outputDir : outputDirs) {
+                List<CldrItem> theItems = sectionItems.get(js);
+                if (theItems == null || theItems.size() == 0) {
+                    if (DEBUG) System.out.println(">" + progressPrefix(readCount, totalCount) +
+                        outputDir + " - no items to write in " + js.section); // mostly noise
+                    continue;
+                }
+                if(DEBUG) System.out
+                    .print("?" + progressPrefix(readCount, totalCount, filename, js.section) + " - " + theItems.size() + " item(s)" + "\r");
+                SectionWriter writer = new SectionWriter(js, filename, outputDir, outFilename);
+                for (CldrItem item : theItems) {
+                    writer.add(item);
+                }
+                totalItemsInFile += closeSectionWriter(readCount, totalCount, writer, outputProgress);
             }
-            String tier = "";
-            boolean writeOther = Boolean.parseBoolean(options.get("other").getValue());
-            if (js.section.equals("other") && !writeOther) {
-                continue;
-            } else {
-                StringBuilder outputDirname = new StringBuilder(outputDir);
-                if (writePackages) {
-                    if (type.tiered()) {
-                        LocaleIDParser lp = new LocaleIDParser();
-                        lp.set(filename);
-                        if (defaultContentLocales.contains(filename) &&
-                            lp.getRegion().length() > 0) {
-                            if (type == RunType.main) {
-                                skippedDefaultContentLocales.add(filenameAsLangTag);
-                            }
-                            continue;
+        }
+        printOutputProgress(readCount, totalCount, filename, outputProgress, totalItemsInFile);
+        return totalItemsInFile;
+    }
+
+    /**
+     * Convert CLDR's XML data to JSON format without first collecting all of the items of the file.
+     * Each item is passed to the writer(s) for its section as the paths are iterated, so only the items
+     * that have to be sorted or grouped into arrays are held in memory. The output is the same as
+     * {@link #convertCldrItems}: the identity/version items that are copied into every section come first
+     * in DTD order, so they are known before any section is started.
+     * The paths are iterated twice: first to count the items of each section, so that each section's
+     * file can be completed and closed as soon as its last item has been written.
+     *
+     * @return total items written in all files. (if 0, file had no effect)
+     */
+    private int streamCldrItems(AtomicInteger readCount, int totalCount,
+        String dirName, String filename, String pathPrefix, CLDRFile file)
+        throws IOException, ParseException {
+        final JSONSection otherSection = sections.get(sections.size() - 1);
+        final boolean copyIdentityInfo = Boolean.parseBoolean(options.get("identity").getValue());
+        final Matcher versionInfoMatcher = VERSION_INFO_PATTERN.matcher("");
+
+        // count the items of each section, leaving out the identity/version items
+        final Map<JSONSection, Integer> remainingItems = new HashMap<>();
+        forEachSectionItem(file, pathPrefix, (js, item) -> {
+            if (js != otherSection || !versionInfoMatcher.reset(item.getPath()).matches()) {
+                remainingItems.merge(js, 1, Integer::sum);
+            }
+        });
+
+        // compute the directories up front, so that the side effects (packages, directories) match convertCldrItems
+        final Map<JSONSection, List<String>> sectionToOutputDirs = new HashMap<>();
+        for (JSONSection js : sections) {
+            List<String> outputDirs = getOutputDirs(js, dirName, filename);
+            if (outputDirs != null) {
+                sectionToOutputDirs.put(js, outputDirs);
+            }
+        }
+        final List<CldrItem> identityItems = new ArrayList<>();
+        final Set<JSONSection> startedSections = new TreeSet<>();
+        final Map<JSONSection, List<SectionWriter>> openWriters = new TreeMap<>();
+        final Map<JSONSection, List<Pair<String,Integer>>> sectionProgress = new HashMap<>();
+        final AtomicInteger totalItemsInFile = new AtomicInteger();
+
+        try {
+            forEachSectionItem(file, pathPrefix, (js, item) -> {
+                if (js == otherSection && versionInfoMatcher.reset(item.getPath()).matches()) {
+                    if (!copyIdentityInfo) {
+                        return;
+                    }
+                    for (JSONSection started : startedSections) {
+                        if (started != otherSection) {
+                            throw new IllegalArgumentException("Can't stream " + filename + ": " + item.getPath()
+                                + " comes after the start of " + started.section);
                         }
-                        final boolean isModernTier = localeIsModernTier(filename);
-                        if (isModernTier) {
-                            tier = MODERN_TIER_SUFFIX;
-                            if (type == RunType.main) {
-                                avl.modern.add(filenameAsLangTag);
+                    }
+                    identityItems.add(item);
+                    return;
+                }
+                boolean isFirst = startedSections.add(js);
+                boolean isLast = remainingItems.merge(js, -1, Integer::sum) == 0;
+                List<String> outputDirs = sectionToOutputDirs.get(js);
+                if (outputDirs == null) {
+                    return;
+                }
+                List<SectionWriter> writers = openWriters.get(js);
+                if (isFirst) {
+                    writers = new ArrayList<>();
+                    for (String outputDir : outputDirs) {
+                        if(DEBUG) System.out.print("?" + progressPrefix(readCount, totalCount, filename, js.section) + "\r");
+                        SectionWriter writer = new SectionWriter(js, filename, outputDir, getOutputFilename(js, filename));
+                        if (js != otherSection) {
+                            for (CldrItem identityItem : identityItems) {
+                                writer.add(identityItem);
                             }
-                        } else {
-                            tier = FULL_TIER_SUFFIX;
                         }
-                        if (type == RunType.main) {
-                            avl.full.add(filenameAsLangTag);
-                        }
-                    } else if (type == RunType.rbnf) {
-                        js.packageName = "rbnf";
-                        tier = "";
-                    }
-                    if (js.packageName != null) {
-                        String packageName = CLDR_PKG_PREFIX + js.packageName + tier;
-                        outputDirname.append("/" + packageName);
-                        packages.add(packageName);
-                    }
-                    outputDirname.append("/" + dirName + "/");
-                    if (type.tiered()) {
-                        outputDirname.append(filenameAsLangTag);
+                        writers.add(writer);
                     }
-                    if (DEBUG) {
-                        System.out.println("outDir: " + outputDirname);
-                        System.out.println("pack: " + js.packageName);
-                        System.out.println("dir: " + dirName);
-                    }
-                } else {
-                    outputDirname.append("/" + filename);
+                    openWriters.put(js, writers);
                 }
-
-                File dir = new File(outputDirname.toString());
-                if (!dir.exists()) {
-                    dir.mkdirs();
-                }
-                assert(tier.isEmpty() == !type.tiered());
-
-                List<String> outputDirs = new ArrayList<>();
-                outputDirs.add(outputDirname.toString());
-                if (writePackages && tier.equals(MODERN_TIER_SUFFIX) && js.packageName != null) {
-                    // if it is in 'modern', add it to 'full' also.
-                    outputDirs.add(outputDirname.toString().replaceFirst(MODERN_TIER_SUFFIX, FULL_TIER_SUFFIX));
-                    // Also need to make sure that the full package is added
-                    packages.add(CLDR_PKG_PREFIX + js.packageName + FULL_TIER_SUFFIX);
+                for (SectionWriter writer : writers) {
+                    writer.add(item);
                 }
-
-                for (String outputDir : outputDirs) {
-                    List<CldrItem> theItems = sectionItems.get(js);
-                    if (theItems == null || theItems.size() == 0) {
-                        if (DEBUG) System.out.println(">" + progressPrefix(readCount, totalCount) +
-                            outputDir + " - no items to write in " + js.section); // mostly noise
-                        continue;
+                if (isLast) {
+                    openWriters.remove(js);
+                    List<Pair<String,Integer>> progress = new ArrayList<>();
+                    for (SectionWriter writer : writers) {
+                        totalItemsInFile.addAndGet(closeSectionWriter(readCount, totalCount, writer, progress));
                     }
-                    if(DEBUG) System.out
-                        .print("?" + progressPrefix(readCount, totalCount, filename, js.section) + " - " + theItems.size() + " item(s)" + "\r");
-                    PrintWriter outf = FileUtilities.openUTF8Writer(outputDir, outFilename);
-                    JsonWriter out = new JsonWriter(outf);
-                    out.setIndent("  ");
-
-                    ArrayList<CldrItem> sortingItems = new ArrayList<>();
-                    ArrayList<CldrItem> arrayItems = new ArrayList<>();
-
-                    ArrayList<CldrNode> nodesForLastItem = new ArrayList<>();
-                    String lastLeadingArrayItemPath = null;
-                    String leadingArrayItemPath = "";
-                    int valueCount = 0;
-                    String previousIdentityPath = null;
-                    for (CldrItem item : theItems) {
-                        if (item.getPath().isEmpty()) {
-                            throw new IllegalArgumentException("empty xpath in " + filename + " section " + js.packageName + "/" + js.section);
-                        }
-                        if (type == RunType.rbnf) {
-                            item.adjustRbnfPath();
-                        }
-
-                        // items in the identity section of a file should only ever contain the lowest level, even if using
-                        // resolving source, so if we have duplicates ( caused by attributes used as a value ) then suppress
-                        // them here.
-                        if (item.getPath().contains("/identity/")) {
-                            String[] parts = item.getPath().split("\\[");
-                            if (parts[0].equals(previousIdentityPath)) {
-                                continue;
-                            } else {
-                                XPathParts xpp = XPathParts.getFrozenInstance(item.getPath());
-                                String territory = xpp.findAttributeValue("territory", "type");
-                                LocaleIDParser lp = new LocaleIDParser().set(filename);
-                                if (territory != null && territory.length() > 0 && !territory.equals(lp.getRegion())) {
-                                    continue;
-                                }
-                                previousIdentityPath = parts[0];
-                            }
-                        }
+                    sectionProgress.put(js, progress);
+                }
+            });
+        } catch (IOException | ParseException | RuntimeException e) {
+            abandonSectionWriters(openWriters);
+            throw e;
+        }
+        if (!openWriters.isEmpty()) {
+            abandonSectionWriters(openWriters);
+            throw new IllegalArgumentException("Can't stream " + filename + ": the paths changed while being read");
+        }
 
-                        // some items need to be split to multiple item before processing. None
-                        // of those items need to be sorted.
-                        // Applies to SPLITTABLE_ATTRS attributes.
-                        CldrItem[] items = item.split();
-                        if (items == null) {
-                            // Nothing to split. Make it a 1-element array.
-                            items = new CldrItem[1];
-                            items[0] = item;
-                        }
-                        valueCount += items.length;
+        // report in the same order as convertCldrItems writes, so that the progress output is the same
+        List<Pair<String,Integer>> outputProgress = new LinkedList<>();
+        for (JSONSection js : sections) {
+            List<Pair<String,Integer>> progress = sectionProgress.get(js);
+            if (progress != null) {
+                outputProgress.addAll(progress);
+            }
+        }
+        printOutputProgress(readCount, totalCount, filename, outputProgress, totalItemsInFile.get());
+        return totalItemsInFile.get();
+    }
 
-                        // Hard code this part.
-                        if (item.getUntransformedPath().contains("unitPreference")) {
-                            // Need to do more transforms on this one, so just output version/etc here.
-                            continue;
-                        }
+    private static void abandonSectionWriters(Map<JSONSection, List<SectionWriter>> openWriters) {
+        for (List<SectionWriter> writers : openWriters.values()) {
+            for (SectionWriter writer : writers) {
+                writer.abandon();
+            }
+        }
+    }
 
-                        for (CldrItem newItem : items) {
-                            // alias will be dropped in conversion, don't count it.
-                            if (newItem.isAliasItem()) {
-                                valueCount--;
-                            }
+    /**
+     * Return the name of the JSON file for the section.
+     */
+    private String getOutputFilename(JSONSection js, String filename) {
+        final String filenameAsLangTag = localeIdToLangTag(filename);
+        if (type == RunType.rbnf) {
+            return filenameAsLangTag + ".json";
+        } else if(js.section.equals("other")) {
+            // If you see other-___.json, it means items that were missing from JSON_config_*.txt
+            return js.section + "-" + filenameAsLangTag + ".json";
+        } else {
+            return js.section + ".json";
+        }
+    }
 
-                            // Items like zone items need to be sorted first before write them out.
-                            if (newItem.needsSort()) {
-                                resolveArrayItems(out, nodesForLastItem, arrayItems);
-                                sortingItems.add(newItem);
-                            } else {
-                                Matcher matcher = LdmlConvertRules.ARRAY_ITEM_PATTERN.matcher(
-                                    newItem.getPath());
-                                if (matcher.matches()) {
-                                    resolveSortingItems(out, nodesForLastItem, sortingItems);
-                                    leadingArrayItemPath = matcher.group(1);
-                                    if (lastLeadingArrayItemPath != null &&
-                                        !lastLeadingArrayItemPath.equals(leadingArrayItemPath)) {
-                                        resolveArrayItems(out, nodesForLastItem, arrayItems);
-                                    }
-                                    lastLeadingArrayItemPath = leadingArrayItemPath;
-                                    arrayItems.add(newItem);
-                                } else {
-                                    // output a single item
-                                    resolveSortingItems(out, nodesForLastItem, sortingItems);
-                                    resolveArrayItems(out, nodesForLastItem, arrayItems);
-                                    outputCldrItem(out, nodesForLastItem, newItem);
-                                    lastLeadingArrayItemPath = "";
-                                }
-                            }
-                        }
+    /**
+     * Return the directories that the section should be written to, creating them if necessary
+     * and recording the packages and locales as a side effect; or null if the section isn't written.
+     */
+    private List<String> getOutputDirs(JSONSection js, String dirName, String filename) {
+        if (js.section.equals("IGNORE")) {
+            return null;
+        }
+        final String filenameAsLangTag = localeIdToLangTag(filename);
+        String tier = "";
+        boolean writeOther = Boolean.parseBoolean(options.get("other").getValue());
+        if (js.section.equals("other") && !writeOther) {
+            return null;
+        }
+        StringBuilder outputDirname = new StringBuilder(outputDir);
+        if (writePackages) {
+            if (type.tiered()) {
+                LocaleIDParser lp = new LocaleIDParser();
+                lp.set(filename);
+                if (defaultContentLocales.contains(filename) &&
+                    lp.getRegion().length() > 0) {
+                    if (type == RunType.main) {
+                        skippedDefaultContentLocales.add(filenameAsLangTag);
                     }
-
-                    resolveSortingItems(out, nodesForLastItem, sortingItems);
-                    resolveArrayItems(out, nodesForLastItem, arrayItems);
-                    if (js.section.contains("unitPreferenceData")) {
-                        outputUnitPreferenceData(js, theItems, out, nodesForLastItem);
+                    return null;
+                }
+                final boolean isModernTier = localeIsModernTier(filename);
+                if (isModernTier) {
+                    tier = MODERN_TIER_SUFFIX;
+                    if (type == RunType.main) {
+                        avl.modern.add(filenameAsLangTag);
                     }
+                } else {
+                    tier = FULL_TIER_SUFFIX;
+                }
+                if (type == RunType.main) {
+                    avl.full.add(filenameAsLangTag);
+                }
+            } else if (type == RunType.rbnf) {
+                js.packageName = "rbnf";
+                tier = "";
+            }
+            if (js.packageName != null) {
+                String packageName = CLDR_PKG_PREFIX + js.packageName + tier;
+                outputDirname.append("/" + packageName);
+                packages.add(packageName);
+            }
+            outputDirname.append("/" + dirName + "/");
+            if (type.tiered()) {
+                outputDirname.append(filenameAsLangTag);
+            }
+            if (DEBUG) {
+                System.out.println("outDir: " + outputDirname);
+                System.out.println("pack: " + js.packageName);
+                System.out.println("dir: " + dirName);
+            }
+        } else {
+            outputDirname.append("/" + filename);
+        }
 
-                    closeNodes(out, nodesForLastItem.size() - 2, 0);
-
-                    outf.println();
-                    out.close();
-
-                    String outPath = new File(outputDir.substring(this.outputDir.length()), outFilename).getPath();
-                    outputProgress.add(Pair.of(js.section+' '+outPath, valueCount));
-                    if(DEBUG) {
-                        String outStr = ">" + progressPrefix(readCount, totalCount, filename, js.section) + String.format("…%s (%d values)",
-                            outPath, valueCount);
-                        synchronized(readCount) { // to prevent interleaved output
-                            System.out.println(outStr);
-                        }
-                    }
+        File dir = new File(outputDirname.toString());
+        if (!dir.exists()) {
+            dir.mkdirs();
+        }
+        assert(tier.isEmpty() == !type.tiered());
+
+        List<String> outputDirs = new ArrayList<>();
+        outputDirs.add(outputDirname.toString());
+        if (writePackages && tier.equals(MODERN_TIER_SUFFIX) && js.packageName != null) {
+            // if it is in 'modern', add it to 'full' also.
+            outputDirs.add(outputDirname.toString().replaceFirst(MODERN_TIER_SUFFIX, FULL_TIER_SUFFIX));
+            // Also need to make sure that the full package is added
+            packages.add(CLDR_PKG_PREFIX + js.packageName + FULL_TIER_SUFFIX);
+        }
+        return outputDirs;
+    }
 
-                    totalItemsInFile += valueCount;
-                }
+    private int closeSectionWriter(AtomicInteger readCount, int totalCount, SectionWriter writer,
+        List<Pair<String,Integer>> outputProgress) throws IOException, ParseException {
+        int valueCount = writer.close();
+        String outPath = writer.getOutPath();
+        outputProgress.add(Pair.of(writer.js.section+' '+outPath, valueCount));
+        if(DEBUG) {
+            String outStr = ">" + progressPrefix(readCount, totalCount, writer.filename, writer.js.section) + String.format("…%s (%d values)",
+                outPath, valueCount);
+            synchronized(readCount) { // to prevent interleaved output
+                System.out.println(outStr);
             }
+        }
+        return valueCount;
+    }
 
-        }        // this is the only normal output with debug off
+    private void printOutputProgress(AtomicInteger readCount, int totalCount, String filename,
+        List<Pair<String,Integer>> outputProgress, int totalItemsInFile) {
+        // this is the only normal output with debug off
         StringBuilder outStr = new StringBuilder();
         if(!outputProgress.isEmpty()) {
             // Put these first, so the percent is at the end.
@@ -707,7 +777,147 @@ public class Ldml2JsonConverter {
         synchronized(readCount) { // to prevent interleaved output
             System.out.print(outStr);
         }
-        return totalItemsInFile;
+    }
+
+    /**
+     * Writes the items of one section to one JSON file, as they are added.
+     * Only the items that need sorting, or that form an array, are held until they can be written.
+     */
+    private class SectionWriter {
+        final JSONSection js;
+        final String filename;
+        private final String outputDir;
+        private final String outFilename;
+        private final PrintWriter outf;
+        private final JsonWriter out;
+
+        private final ArrayList<CldrItem> sortingItems = new ArrayList<>();
+        private final ArrayList<CldrItem> arrayItems = new ArrayList<>();
+        private final ArrayList<CldrNode> nodesForLastItem = new ArrayList<>();
+        // unit preferences are written at the end, from all of the items
+        private final List<CldrItem> unitPreferenceItems;
+        private String lastLeadingArrayItemPath = null;
+        private String previousIdentityPath = null;
+        private int valueCount = 0;
+
+        SectionWriter(JSONSection js, String filename, String outputDir, String outFilename) throws IOException {
+            this.js = js;
+            this.filename = filename;
+            this.outputDir = outputDir;
+            this.outFilename = outFilename;
+            outf = FileUtilities.openUTF8Writer(outputDir, outFilename);
+            out = new JsonWriter(outf);
+            out.setIndent("  ");
+            unitPreferenceItems = js.section.contains("unitPreferenceData") ? new ArrayList<>() : null;
+        }
+
+        void add(CldrItem item) throws IOException, ParseException {
+            if (item.getPath().isEmpty()) {
+                throw new IllegalArgumentException("empty xpath in " + filename + " section " + js.packageName + "/" + js.section);
+            }
+            if (type == RunType.rbnf) {
+                item.adjustRbnfPath();
+            }
+            if (unitPreferenceItems != null) {
+                unitPreferenceItems.add(item);
+            }
+
+            // items in the identity section of a file should only ever contain the lowest level, even if using
+            // resolving source, so if we have duplicates ( caused by attributes used as a value ) then suppress
+            // them here.
+            if (item.getPath().contains("/identity/")) {
+                String[] parts = item.getPath().split("\\[");
+                if (parts[0].equals(previousIdentityPath)) {
+                    return;
+                } else {
+                    XPathParts xpp = XPathParts.getFrozenInstance(item.getPath());
+                    String territory = xpp.findAttributeValue("territory", "type");
+                    LocaleIDParser lp = new LocaleIDParser().set(filename);
+                    if (territory != null && territory.length() > 0 && !territory.equals(lp.getRegion())) {
+                        return;
+                    }
+                    previousIdentityPath = parts[0];
+                }
+            }
+
+            // some items need to be split to multiple item before processing. None
+            // of those items need to be sorted.
+            // Applies to SPLITTABLE_ATTRS attributes.
+            CldrItem[] items = item.split();
+            if (items == null) {
+                // Nothing to split. Make it a 1-element array.
+                items = new CldrItem[1];
+                items[0] = item;
+            }
+            valueCount += items.length;
+
+            // Hard code this part.
+            if (item.getUntransformedPath().contains("unitPreference")) {
+                // Need to do more transforms on this one, so just output version/etc here.
+                return;
+            }
+
+            for (CldrItem newItem : items) {
+                // alias will be dropped in conversion, don't count it.
+                if (newItem.isAliasItem()) {
+                    valueCount--;
+                }
+
+                // Items like zone items need to be sorted first before write them out.
+                if (newItem.needsSort()) {
+                    resolveArrayItems(out, nodesForLastItem, arrayItems);
+                    sortingItems.add(newItem);
+                } else {
+                    Matcher matcher = LdmlConvertRules.ARRAY_ITEM_PATTERN.matcher(
+                        newItem.getPath());
+                    if (matcher.matches()) {
+                        resolveSortingItems(out, nodesForLastItem, sortingItems);
+                        String leadingArrayItemPath = matcher.group(1);
+                        if (lastLeadingArrayItemPath != null &&
+                            !lastLeadingArrayItemPath.equals(leadingArrayItemPath)) {
+                            resolveArrayItems(out, nodesForLastItem, arrayItems);
+                        }
+                        lastLeadingArrayItemPath = leadingArrayItemPath;
+                        arrayItems.add(newItem);
+                    } else {
+                        // output a single item
+                        resolveSortingItems(out, nodesForLastItem, sortingItems);
+                        resolveArrayItems(out, nodesForLastItem, arrayItems);
+                        outputCldrItem(out, nodesForLastItem, newItem);
+                        lastLeadingArrayItemPath = "";
+                    }
+                }
+            }
+        }
+
+        /**
+         * Write any pending items, and close the file.
+         * @return the number of values written
+         */
+        int close() throws IOException, ParseException {
+            resolveSortingItems(out, nodesForLastItem, sortingItems);
+            resolveArrayItems(out, nodesForLastItem, arrayItems);
+            if (unitPreferenceItems != null) {
+                outputUnitPreferenceData(js, unitPreferenceItems, out, nodesForLastItem);
+            }
+
+            closeNodes(out, nodesForLastItem.size() - 2, 0);
+
+            outf.println();
+            out.close();
+            return valueCount;
+        }
+
+        /**
+         * Close the file without completing it, after an error.
+         */
+        void abandon() {
+            outf.close();
+        }
+
+        String getOutPath() {
+            return new File(outputDir.substring(Ldml2JsonConverter.this.outputDir.length()), outFilename).getPath();
+        }
     }
 
     private boolean localeIsModernTier(String filename) {
@@ -1408,13 +1618,16 @@ public class Ldml2JsonConverter {
                 .collect(Collectors.toSet());
         final int total = files.size();
         AtomicInteger readCount = new AtomicInteger(0);
-        Map<String, Throwable> errs = new TreeMap<>();
+        Map<String, Throwable> errs = Collections.synchronizedMap(new TreeMap<>());
 
         // This takes a long time (minutes, in 2020), so run it in parallel forkJoinPool threads.
         // The result of this pipeline is an array of toString()-able filenames of XML files which
         // produced no JSON output, just as a warning.
-        System.out.println(progressPrefix(0, total) + " Beginning parallel process of " + total + " file(s)");
-        Object noOutputFiles[] = files
+        final boolean streaming = Boolean.parseBoolean(options.get("streaming").getValue());
+        final int threads = Integer.parseInt(options.get("threads").getValue());
+        System.out.println(progressPrefix(0, total) + " Beginning parallel process of " + total + " file(s)"
+            + (streaming ? ", streaming" : "") + (threads > 0 ? ", " + threads + " thread(s)" : ""));
+        Supplier<Object[]> process = () -> files
             .parallelStream()
             .unordered()
             .map(filename -> {
@@ -1432,8 +1645,12 @@ public class Ldml2JsonConverter {
                 }
                 int totalForThisFile = 0;
                 try {
-                    totalForThisFile = convertCldrItems(readCount, total, dirName, filename, pathPrefix,
-                        mapPathsToSections(readCount, total, file, pathPrefix, sdi));
+                    if (streaming) {
+                        totalForThisFile = streamCldrItems(readCount, total, dirName, filename, pathPrefix, file);
+                    } else {
+                        totalForThisFile = convertCldrItems(readCount, total, dirName, filename, pathPrefix,
+                            mapPathsToSections(readCount, total, file, pathPrefix, sdi));
+                    }
                 } catch (IOException | ParseException t) {
                     t.printStackTrace();
                     System.err.println("!" + progressPrefix(readCount, total) + filename + " - err - " + t);
@@ -1447,6 +1664,24 @@ public class Ldml2JsonConverter {
             .filter(p -> p.getSecond() == 0)
             .map(p -> p.getFirst())
             .toArray();
+        Object noOutputFiles[];
+        if (threads > 0) {
+            // A parallel stream started from within a ForkJoinPool runs in that pool.
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                noOutputFiles = pool.submit(process::get).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                Throwables.throwIfUnchecked(e.getCause());
+                throw new RuntimeException(e.getCause());
+            } finally {
+                pool.shutdown();
+            }
+        } else {
+            noOutputFiles = process.get();
+        }
         System.out.println(progressPrefix(total, total) + " Completed parallel process of " + total + " file(s)");
         if (noOutputFiles.length > 0) {
             System.err.println("WARNING: These " + noOutputFiles.length + " file(s) did not produce any output (check JSON config):");
@@ -1,8 +1,12 @@
 package org.unicode.cldr.test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -14,10 +18,20 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.unicode.cldr.draft.FileUtilities;
 import org.unicode.cldr.test.CheckCLDR.CheckStatus;
@@ -61,6 +75,8 @@ import org.unicode.cldr.util.VoteResolver.CandidateInfo;
 import org.unicode.cldr.util.VoteResolver.UnknownVoterException;
 import org.unicode.cldr.util.XMLSource;
 
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.ibm.icu.dev.tool.UOption;
 import com.ibm.icu.dev.util.ElapsedTimer;
 import com.ibm.icu.impl.Relation;
@@ -158,7 +174,9 @@ public class ConsoleCheckCLDR {
             "Partially qualified directories. Standard subdirectories added if not specified (/main, /annotations, /subdivisions). (Conflicts with -s.)")
             .setMatch(".*").setFlag('S').setDefault("common,seed,exemplars")), //, 'S', <changed>),
         bailey(new Params().setHelp("check bailey values (" + CldrUtility.INHERITANCE_MARKER + ")")), //, 'b', UOption.NO_ARG)
-        exemplarError(new Params().setFlag('E').setHelp("include to force strict Exemplar check"));
+        exemplarError(new Params().setFlag('E').setHelp("include to force strict Exemplar check")),
+        threads(new Params().setHelp("Check locales in parallel on this many threads (0 = one per processor). The output is the same as with 1; each locale's output is held in memory until it is written.")
+            .setDefault("1").setMatch("\\d+").setFlag('T'));
 
         // BOILERPLATE TO COPY
         final Option option;
@@ -202,7 +220,8 @@ public class ConsoleCheckCLDR {
         UOption.create("subtype_filter", 'y', UOption.REQUIRES_ARG),
         UOption.create("source_all", 'S', UOption.OPTIONAL_ARG).setDefault("common,seed,exemplars"),
         UOption.create("bailey", 'b', UOption.NO_ARG),
-        UOption.create("exemplarError", 'E', UOption.NO_ARG)
+        UOption.create("exemplarError", 'E', UOption.NO_ARG),
+        UOption.create("threads", 'T', UOption.REQUIRES_ARG).setDefault("1")
         // UOption.create("vote resolution2", 'w', UOption.OPTIONAL_ARG).setDefault(Utility.BASE_DIRECTORY +
         // "incoming/vetted/main/votes/"),
     };
@@ -274,9 +293,8 @@ public class ConsoleCheckCLDR {
         }
         String checkFilter = options[TEST_FILTER].value;
         String subtypeFilterString = options[SUBTYPE_FILTER].value;
-        EnumSet<Subtype> subtypeFilter = null;
+        final EnumSet<Subtype> subtypeFilter = subtypeFilterString == null ? null : EnumSet.noneOf(Subtype.class);
         if (subtypeFilterString != null) {
-            subtypeFilter = EnumSet.noneOf(Subtype.class);
             Matcher m = PatternCache.get(subtypeFilterString).matcher("");
             for (Subtype value : Subtype.values()) {
                 if (m.reset(value.toString()).find() || m.reset(value.name()).find()) {
@@ -298,10 +316,7 @@ public class ConsoleCheckCLDR {
         boolean showAll = options[SHOWALL].doesOccur;
         boolean checkFlexibleDates = options[DATE_FORMATS].doesOccur;
         String pathFilterString = options[PATH_FILTER].value;
-        Matcher pathFilter = null;
-        if (!pathFilterString.equals(".*")) {
-            pathFilter = PatternCache.get(pathFilterString).matcher("");
-        }
+        final Pattern pathFilterPattern = pathFilterString.equals(".*") ? null : PatternCache.get(pathFilterString);
         boolean checkOnSubmit = options[CHECK_ON_SUBMIT].doesOccur;
         boolean noaliases = options[NO_ALIASES].doesOccur;
 
@@ -364,6 +379,11 @@ public class ConsoleCheckCLDR {
 
         boolean baileyTest = options[BAILEY].doesOccur;
 
+        int threads = Integer.parseInt(MyOptions.threads.option.getValue());
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+
         File sourceDirectories[] = null;
 
         if (MyOptions.source_all.option.doesOccur()) {
@@ -448,62 +468,66 @@ public class ConsoleCheckCLDR {
         CheckCLDR.setDisplayInformation(english);
         checkCldr.setEnglishFile(english);
         setExampleGenerator(new ExampleGenerator(english, english, CLDRPaths.SUPPLEMENTAL_DIRECTORY));
-        PathShower pathShower = new PathShower();
 
         // call on the files
         Set<String> locales = new TreeSet<>(baseFirstCollator);
         locales.addAll(cldrFactory.getAvailable());
 
-        List<CheckStatus> result = new ArrayList<>();
-        Set<PathHeader> paths = new TreeSet<>(); // CLDRFile.ldmlComparator);
-        Map m = new TreeMap();
-        // double testNumber = 0;
-        Map<String, String> options = new HashMap<>();
-        FlexibleDateFromCLDR fset = new FlexibleDateFromCLDR();
-        Set<String> englishPaths = null;
-
         Set<String> fatalErrors = new TreeSet<>();
 
         showHeaderLine();
 
         supplementalDataInfo = SupplementalDataInfo.getInstance(CLDRPaths.SUPPLEMENTAL_DIRECTORY);
 
-        LocaleIDParser localeIDParser = new LocaleIDParser();
-        String lastBaseLanguage = "";
         PathHeader.Factory pathHeaderFactory = PathHeader.getFactory(english);
 
+        // also add the English paths
+        Set<String> englishPaths = new HashSet<>();
+        final CLDRFile displayFile = CheckCLDR.getDisplayInformation();
+        final Matcher englishPathFilter = pathFilterPattern == null ? null : pathFilterPattern.matcher("");
+        addPrettyPaths(displayFile, englishPathFilter, pathHeaderFactory, noaliases, true, englishPaths);
+        addPrettyPaths(displayFile, displayFile.getExtraPaths(), englishPathFilter, pathHeaderFactory, noaliases,
+            true, englishPaths);
+        englishPaths = Collections.unmodifiableSet(englishPaths); // for robustness
+
         final List<String> specialPurposeLocales = new ArrayList<>(Arrays.asList("en_US_POSIX", "en_ZZ"));
-        for (String localeID : locales) {
-            if (CLDRFile.isSupplementalName(localeID)) continue;
+        final Level requiredLevel = coverageLevel;
+
+        // Checks a single locale. Everything mutable is local to the call, except for the CompoundCheckCLDR;
+        // the updates to the shared counters and error files go through run.inOrder.
+        BiConsumer<LocaleRun, CompoundCheckCLDR> checkLocale = (run, localeCheckCldr) -> {
+            String localeID = run.localeID;
+            if (CLDRFile.isSupplementalName(localeID)) return;
             if (supplementalDataInfo.getDefaultContentLocales().contains(localeID)) {
                 System.out.println("# Skipping default content locale: " + localeID);
-                continue;
+                return;
             }
 
             // We don't really need to check the POSIX locale, as it is a special purpose locale
             if (specialPurposeLocales.contains(localeID)) {
                 System.out.println("# Skipping special purpose locale: " + localeID);
-                continue;
+                return;
             }
 
+            LocaleIDParser localeIDParser = new LocaleIDParser();
             boolean isLanguageLocale = localeID.equals(localeIDParser.set(localeID).getLanguageScript());
-            options.clear();
+            Map<String, String> options = new HashMap<>();
 
             if (MyOptions.exemplarError.option.doesOccur()) {
                 options.put(Options.Option.exemplarErrors.toString(), "true");
             }
 
             // if the organization is set, skip any locale that doesn't have a value in Locales.txt
-            Level level = coverageLevel;
+            Level level = requiredLevel;
             if (level == null) {
                 level = Level.BASIC;
             }
             if (organization != null) {
                 Map<String, Level> locale_status = StandardCodes.make().getLocaleToLevel(organization);
-                if (locale_status == null) continue;
+                if (locale_status == null) return;
                 level = locale_status.get(localeID);
-                if (level == null) continue;
-                if (level.compareTo(Level.BASIC) <= 0) continue;
+                if (level == null) return;
+                if (level.compareTo(Level.BASIC) <= 0) return;
             } else if (!isLanguageLocale) {
                 // otherwise, skip all language locales
                 options.put(Options.Option.CheckCoverage_skip.getKey(), "true");
@@ -523,6 +547,7 @@ public class ConsoleCheckCLDR {
             CLDRFile parent = null;
 
             ElapsedTimer timer = new ElapsedTimer();
+            long startNanos = System.nanoTime();
             try {
                 file = cldrFactory.make(localeID, true);
                 if (ErrorFile.voteFactory != null) {
@@ -534,20 +559,26 @@ public class ConsoleCheckCLDR {
                 }
                 //englishFile = cldrFactory.make("en", true);
             } catch (RuntimeException e) {
-                fatalErrors.add(localeID);
+                run.inOrder(() -> fatalErrors.add(localeID));
                 System.out.println("FATAL ERROR: " + localeID);
                 e.printStackTrace(System.out);
-                continue;
+                return;
             }
 
             // generate HTML if asked for
             if (ErrorFile.generated_html_directory != null) {
                 String baseLanguage = localeIDParser.set(localeID).getLanguageScript();
 
-                if (!baseLanguage.equals(lastBaseLanguage)) {
-                    lastBaseLanguage = baseLanguage;
-                    ErrorFile.openErrorFile(localeID, baseLanguage);
-                }
+                run.inOrder(() -> {
+                    if (!baseLanguage.equals(lastBaseLanguage)) {
+                        lastBaseLanguage = baseLanguage;
+                        try {
+                            ErrorFile.openErrorFile(localeID, baseLanguage);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
 
             }
 
@@ -557,9 +588,10 @@ public class ConsoleCheckCLDR {
                     parent = new CLDRFile.TestUser(parent, user, isLanguageLocale);
                 }
             }
-            checkCldr.setCldrFileToCheck(file, options, result);
+            List<CheckStatus> result = new ArrayList<>();
+            localeCheckCldr.setCldrFileToCheck(file, options, result);
 
-            subtotalCount.clear();
+            run.inOrder(subtotalCount::clear);
 
             for (Iterator<CheckStatus> it3 = result.iterator(); it3.hasNext();) {
                 CheckStatus status = it3.next();
@@ -579,18 +611,19 @@ public class ConsoleCheckCLDR {
                 if (checkOnSubmit) {
                     if (!status.isCheckOnSubmit() || !statusType.equals(CheckStatus.errorType)) continue;
                 }
-                showValue(file, null, localeID, null, null, null, null, statusString, status.getSubtype());
+                showValue(run, file, null, localeID, null, null, null, null, statusString, status.getSubtype());
             }
-            paths.clear();
+            Set<PathHeader> paths = new TreeSet<>(); // CLDRFile.ldmlComparator);
+            Matcher pathFilter = pathFilterPattern == null ? null : pathFilterPattern.matcher("");
 
             CoverageInfo covInfo = cldrConf.getCoverageInfo();
             for (String path : file.fullIterable()) {
                 if (pathFilter != null && !pathFilter.reset(path).find()) {
                     continue;
                 }
-                if (coverageLevel != null) {
+                if (requiredLevel != null) {
                     Level currentLevel = covInfo.getCoverageLevel(path, localeID);
-                    if (currentLevel.compareTo(coverageLevel) > 0) {
+                    if (currentLevel.compareTo(requiredLevel) > 0) {
                         continue;
                     }
                 }
@@ -599,23 +632,15 @@ public class ConsoleCheckCLDR {
             // addPrettyPaths(file, pathFilter, prettyPathMaker, noaliases, false, paths);
             // addPrettyPaths(file, file.getExtraPaths(), pathFilter, prettyPathMaker, noaliases, false, paths);
 
-            // also add the English paths
-            // initialize the first time in.
-            if (englishPaths == null) {
-                englishPaths = new HashSet<>();
-                final CLDRFile displayFile = CheckCLDR.getDisplayInformation();
-                addPrettyPaths(displayFile, pathFilter, pathHeaderFactory, noaliases, true, englishPaths);
-                addPrettyPaths(displayFile, displayFile.getExtraPaths(), pathFilter, pathHeaderFactory, noaliases,
-                    true, englishPaths);
-                englishPaths = Collections.unmodifiableSet(englishPaths); // for robustness
-            }
             // paths.addAll(englishPaths);
 
             UnicodeSet missingExemplars = new UnicodeSet();
             UnicodeSet missingCurrencyExemplars = new UnicodeSet();
+            FlexibleDateFromCLDR fset = checkFlexibleDates ? new FlexibleDateFromCLDR() : null;
             if (checkFlexibleDates) {
                 fset.set(file);
             }
+            PathShower pathShower = new PathShower();
             pathShower.set(localeID);
 
             // only create if we are going to use
@@ -625,6 +650,7 @@ public class ConsoleCheckCLDR {
             // Status pathStatus = new Status();
             int pathCount = 0;
             Status otherPath = new Status();
+            Map m = new TreeMap();
 
             for (PathHeader pathHeader : paths) {
                 pathCount++;
@@ -663,7 +689,7 @@ public class ConsoleCheckCLDR {
 
                 if (SHOW_EXAMPLES) {
                     example = ExampleGenerator.simplify(exampleGenerator.getExampleHtml(path, value));
-                    showExamples(checkCldr, prettyPath, localeID, path, value, fullPath, example);
+                    showExamples(run, localeCheckCldr, prettyPath, localeID, path, value, fullPath, example);
                 }
 
                 if (checkFlexibleDates) {
@@ -677,9 +703,9 @@ public class ConsoleCheckCLDR {
                 int limit = 1;
                 for (int jj = 0; jj < limit; ++jj) {
                     if (jj == 0) {
-                        checkCldr.check(path, fullPath, value, new Options(options), result);
+                        localeCheckCldr.check(path, fullPath, value, new Options(options), result);
                     } else {
-                        checkCldr.getExamples(path, fullPath, value, new Options(options), result);
+                        localeCheckCldr.getExamples(path, fullPath, value, new Options(options), result);
                     }
 
                     boolean showedOne = false;
@@ -737,7 +763,7 @@ public class ConsoleCheckCLDR {
                             }
                         }
 
-                        showValue(file, prettyPath, localeID, example, path, value, fullPath, statusString,
+                        showValue(run, file, prettyPath, localeID, example, path, value, fullPath, statusString,
                             status.getSubtype());
                         showedOne = true;
 
@@ -746,7 +772,7 @@ public class ConsoleCheckCLDR {
                     }
                     if (!showedOne && phase != Phase.FINAL_TESTING) {
                         if (!showedOne && showAll) {
-                            showValue(file, prettyPath, localeID, example, path, value, fullPath, "ok", Subtype.none);
+                            showValue(run, file, prettyPath, localeID, example, path, value, fullPath, "ok", Subtype.none);
                             showedOne = true;
                         }
                     }
@@ -755,7 +781,7 @@ public class ConsoleCheckCLDR {
             }
 
             if (resolveVotesDirectory != null) {
-                LocaleVotingData.resolveErrors(localeID);
+                run.inOrder(() -> LocaleVotingData.resolveErrors(localeID));
             }
 
             showSummary(localeID, level, "Items (including inherited):\t" + pathCount);
@@ -783,9 +809,12 @@ public class ConsoleCheckCLDR {
                     .setCompressRanges(true)
                     .format(missingCurrencyExemplars));
             }
-            for (ErrorType type : subtotalCount.keySet()) {
-                showSummary(localeID, level, "Subtotal " + type + ":\t" + subtotalCount.getCount(type));
-            }
+            final Level summaryLevel = level;
+            run.inOrder(() -> {
+                for (ErrorType type : subtotalCount.keySet()) {
+                    showSummary(localeID, summaryLevel, "Subtotal " + type + ":\t" + subtotalCount.getCount(type));
+                }
+            });
             if (checkFlexibleDates) {
                 fset.showFlexibles();
             }
@@ -807,12 +836,30 @@ public class ConsoleCheckCLDR {
                      * so what's this supposed to accomplish?
                      */
                     String example = ExampleGenerator.simplify(exampleGenerator.getExampleHtml(path, null /* value */));
-                    showExamples(checkCldr, prettyPath, localeID, path, null, fullPath, example);
+                    showExamples(run, localeCheckCldr, prettyPath, localeID, path, null, fullPath, example);
                 }
             }
             System.out.println("# Elapsed time: " + timer);
             System.out.flush();
-        }
+            run.setChecked(pathCount, System.nanoTime() - startNanos);
+        };
+
+        // The first checker is the one set up above; with --threads, each further pool thread needs its own.
+        List<CompoundCheckCLDR> checkers = Collections.synchronizedList(new ArrayList<>());
+        Supplier<CompoundCheckCLDR> makeChecker = () -> {
+            synchronized (checkers) {
+                if (checkers.isEmpty()) {
+                    checkers.add(checkCldr);
+                    return checkCldr;
+                }
+            }
+            CompoundCheckCLDR threadCheck = CheckCLDR.getCheckAll(cldrFactory, checkFilter);
+            threadCheck.setEnglishFile(english);
+            checkers.add(threadCheck);
+            return threadCheck;
+        };
+        long checkStartNanos = System.nanoTime();
+        List<LocaleRun> runs = LocaleRun.checkLocales(locales, threads, makeChecker, checkLocale);
 
         if (ErrorFile.errorFileWriter != null) {
             ErrorFile.closeErrorFile();
@@ -827,6 +874,8 @@ public class ConsoleCheckCLDR {
             System.out.println("# Total " + type + ":\t" + totalCount.getCount(type));
         }
 
+        showLocaleTimings(runs, threads, System.nanoTime() - checkStartNanos);
+
         System.out.println();
         System.out.println("# Total elapsed time: " + totalTimer);
         if (fatalErrors.size() != 0) {
@@ -847,7 +896,225 @@ public class ConsoleCheckCLDR {
                 System.out.println(s + "=" + LogicalGrouping.typeCount.get(s));
             }
         }
-        checkCldr.handleFinish();
+        for (CompoundCheckCLDR checker : checkers) {
+            checker.handleFinish();
+        }
+    }
+
+    /**
+     * The results of checking one locale. With --threads, each locale is checked start to finish on one thread of a
+     * fixed pool, and its console output and updates to the counters and error files are recorded here; the main
+     * thread then replays them in locale order, so the output and error files are the same as with a serial run.
+     * <p>
+     * A locale's output is held in memory until it is replayed, and locales that finish early wait for the ones
+     * before them, so a run that shows every path (-A) needs memory for the output of several locales at once.
+     */
+    public static class LocaleRun {
+        // The locale being recorded on a pool thread, only for routing System.out: a thread of the fixed pool
+        // runs one locale at a time, start to finish, and never picks up another locale's task in between.
+        private static final ThreadLocal<LocaleRun> OUTPUT = new ThreadLocal<>();
+        private static PrintStream console;
+
+        final String localeID;
+        private final boolean recording;
+        private boolean checked = false;
+        private int pathCount;
+        private long nanos;
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        private final List<Runnable> actions = new ArrayList<>();
+
+        private LocaleRun(String localeID, boolean recording) {
+            this.localeID = localeID;
+            this.recording = recording;
+        }
+
+        public String getLocaleID() {
+            return localeID;
+        }
+
+        void setChecked(int pathCount, long nanos) {
+            this.checked = true;
+            this.pathCount = pathCount;
+            this.nanos = nanos;
+        }
+
+        /**
+         * Run the action now, or if this locale is being recorded, when it is replayed.
+         */
+        public void inOrder(Runnable action) {
+            if (!recording) {
+                action.run();
+            } else {
+                flushOutput();
+                actions.add(action);
+            }
+        }
+
+        /**
+         * Check the locales, in order, or on a fixed pool of the given number of threads; the output and the
+         * actions passed to {@link #inOrder} are the same either way. Each locale is checked with a checker that
+         * no other locale is using at the same time; at most one checker per thread is made.
+         *
+         * @return the runs, in locale order
+         */
+        public static <C> List<LocaleRun> checkLocales(Collection<String> locales, int threads,
+            Supplier<C> makeChecker, BiConsumer<LocaleRun, C> check) {
+            List<LocaleRun> runs = new ArrayList<>();
+            if (threads == 1) {
+                C checker = makeChecker.get();
+                for (String localeID : locales) {
+                    LocaleRun run = new LocaleRun(localeID, false);
+                    check.accept(run, checker);
+                    runs.add(run);
+                }
+                return runs;
+            }
+            Queue<C> idleCheckers = new ConcurrentLinkedQueue<>();
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            startRecording();
+            try {
+                List<Future<LocaleRun>> tasks = new ArrayList<>();
+                for (String localeID : locales) {
+                    tasks.add(pool.submit(() -> {
+                        C checker = idleCheckers.poll();
+                        if (checker == null) {
+                            checker = makeChecker.get();
+                        }
+                        try {
+                            return record(localeID, check, checker);
+                        } finally {
+                            idleCheckers.add(checker);
+                        }
+                    }));
+                }
+                // replay each locale as soon as it and all the ones before it are done
+                for (Future<LocaleRun> task : tasks) {
+                    LocaleRun run = getResult(task);
+                    run.replay();
+                    runs.add(run);
+                }
+            } finally {
+                stopRecording();
+                pool.shutdownNow();
+            }
+            return runs;
+        }
+
+        private static LocaleRun getResult(Future<LocaleRun> task) {
+            try {
+                return Uninterruptibles.getUninterruptibly(task);
+            } catch (ExecutionException e) {
+                Throwables.throwIfUnchecked(e.getCause());
+                throw new RuntimeException(e.getCause());
+            }
+        }
+
+        /**
+         * Check a locale on the current pool thread, recording its output and actions.
+         */
+        private static <C> LocaleRun record(String localeID, BiConsumer<LocaleRun, C> check, C checker) {
+            LocaleRun run = new LocaleRun(localeID, true);
+            OUTPUT.set(run);
+            try {
+                check.accept(run, checker);
+            } finally {
+                System.out.flush();
+                OUTPUT.remove();
+            }
+            return run;
+        }
+
+        /**
+         * Replay the output and actions; must be called on the main thread, in locale order.
+         */
+        private void replay() {
+            flushOutput();
+            for (Runnable action : actions) {
+                action.run();
+            }
+            actions.clear();
+            console.flush();
+        }
+
+        private void flushOutput() {
+            if (output.size() != 0) {
+                byte[] bytes = output.toByteArray();
+                output.reset();
+                actions.add(() -> console.write(bytes, 0, bytes.length));
+            }
+        }
+
+        /**
+         * Route System.out to the locale being recorded on the current thread, if any.
+         */
+        private static void startRecording() {
+            console = System.out;
+            System.setOut(new PrintStream(new OutputStream() {
+                @Override
+                public void write(int b) {
+                    LocaleRun run = OUTPUT.get();
+                    if (run == null) {
+                        console.write(b);
+                    } else {
+                        run.output.write(b);
+                    }
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    LocaleRun run = OUTPUT.get();
+                    if (run == null) {
+                        console.write(b, off, len);
+                    } else {
+                        run.output.write(b, off, len);
+                    }
+                }
+
+                @Override
+                public void flush() {
+                    if (OUTPUT.get() == null) {
+                        console.flush();
+                    }
+                }
+            }, true));
+        }
+
+        private static void stopRecording() {
+            System.out.flush();
+            System.setOut(console);
+        }
+    }
+
+    private static void showLocaleTimings(List<LocaleRun> runs, int threads, long elapsedNanos) {
+        List<LocaleRun> checked = new ArrayList<>();
+        long totalNanos = 0;
+        long totalPaths = 0;
+        for (LocaleRun run : runs) {
+            if (run.checked) {
+                checked.add(run);
+                totalNanos += run.nanos;
+                totalPaths += run.pathCount;
+            }
+        }
+        if (checked.isEmpty()) {
+            return;
+        }
+        checked.sort((a, b) -> Long.compare(b.nanos, a.nanos));
+        System.out.println();
+        System.out.println("# Locale\tms\tPaths\tPaths/s");
+        for (LocaleRun run : checked) {
+            System.out.println("# " + run.localeID
+                + "\t" + TimeUnit.NANOSECONDS.toMillis(run.nanos)
+                + "\t" + run.pathCount
+                + "\t" + pathsPerSecond(run.pathCount, run.nanos));
+        }
+        System.out.println("# Checked " + checked.size() + " locales, " + totalPaths + " paths, on " + threads
+            + " thread(s): " + pathsPerSecond(totalPaths, elapsedNanos) + " paths/s ("
+            + pathsPerSecond(totalPaths, totalNanos) + " per thread)");
+    }
+
+    private static long pathsPerSecond(long paths, long nanos) {
+        return nanos == 0 ? 0 : paths * TimeUnit.SECONDS.toNanos(1) / nanos;
     }
 
     static class LocaleVotingData {
@@ -1420,10 +1687,10 @@ public class ConsoleCheckCLDR {
         System.out.println(line);
     }
 
-    private static void showExamples(CheckCLDR checkCldr, String prettyPath, String localeID,
+    private static void showExamples(LocaleRun run, CheckCLDR checkCldr, String prettyPath, String localeID,
         String path, String value, String fullPath, String example) {
         if (example != null) {
-            showValue(checkCldr.getCldrFileToCheck(), prettyPath, localeID, example, path, value, fullPath, "ok",
+            showValue(run, checkCldr.getCldrFileToCheck(), prettyPath, localeID, example, path, value, fullPath, "ok",
                 Subtype.none);
         }
     }
@@ -1515,7 +1782,13 @@ public class ConsoleCheckCLDR {
         return "\t" + StringId.getId(path) + "" + "\t" + description + "";
     }
 
-    private static void showValue(CLDRFile cldrFile, String prettyPath, String localeID, String example,
+    private static void showValue(LocaleRun run, CLDRFile cldrFile, String prettyPath, String localeID, String example,
+        String path, String value, String fullPath, String statusString, Subtype subType) {
+        run.inOrder(() -> showValueInOrder(cldrFile, prettyPath, localeID, example, path, value, fullPath,
+            statusString, subType));
+    }
+
+    private static void showValueInOrder(CLDRFile cldrFile, String prettyPath, String localeID, String example,
         String path, String value, String fullPath, String statusString, Subtype subType) {
         ErrorType shortStatus = ErrorType.fromStatusString(statusString);
         subtotalCount.add(shortStatus, 1);
@@ -1598,6 +1871,7 @@ public class ConsoleCheckCLDR {
     }
 
     static String lastHtmlLocaleID = "";
+    private static String lastBaseLanguage = "";
     private static VoteResolver<String> voteResolver;
     private static String resolveVotesDirectory;
     private static boolean idView;
@@ -34,7 +34,12 @@ public class CoverageLevel2 {
      */
     private static final boolean DEBUG_LOOKUP = false;
 
-    private RegexLookup<Level> lookup = null;
+    private final RegexLookup<Level> lookup;
+
+    /**
+     * Precomputed levels for the language, if there is an up-to-date snapshot; otherwise null.
+     */
+    private final CoverageSnapshot.LanguageLevels snapshotLevels;
 
     enum SetMatchType {
         Target_Language, Target_Scripts, Target_Territories, Target_TimeZones, Target_Currencies, Target_Plurals, Calendar_List
@@ -91,7 +96,7 @@ public class CoverageLevel2 {
             if (!lstOK) {
                 return false;
             }
-            boolean result = super.find(item, context, info); // also sets matcher in RegexFinder
+            boolean result = super.find(item, context, info); // also sets info.value
             if (!result) {
                 return false;
             }
@@ -130,10 +135,11 @@ public class CoverageLevel2 {
         }
     }
 
-    private CoverageLevel2(SupplementalDataInfo sdi, String locale) {
+    private CoverageLevel2(SupplementalDataInfo sdi, String locale, CoverageSnapshot snapshot) {
         myInfo.targetLanguage = new LanguageTagParser().set(locale).getLanguage();
         myInfo.cvi = sdi.getCoverageVariableInfo(myInfo.targetLanguage);
         lookup = sdi.getCoverageLookup();
+        snapshotLevels = snapshot == null ? null : snapshot.getLevels(sdi, myInfo.targetLanguage, myInfo.cvi);
     }
 
     /**
@@ -147,32 +153,45 @@ public class CoverageLevel2 {
      */
     @Deprecated
     public static CoverageLevel2 getInstance(String locale) {
-        return new CoverageLevel2(SupplementalDataInfo.getInstance(), locale);
+        return new CoverageLevel2(SupplementalDataInfo.getInstance(), locale, CoverageSnapshot.getConfigured());
     }
 
     public static CoverageLevel2 getInstance(SupplementalDataInfo sdi, String locale) {
-        return new CoverageLevel2(sdi, locale);
+        return new CoverageLevel2(sdi, locale, CoverageSnapshot.getConfigured());
     }
 
+    /**
+     * Get an instance that always evaluates the coverage rules, ignoring any snapshot. Used to build and check snapshots.
+     */
+    static CoverageLevel2 getLiveInstance(SupplementalDataInfo sdi, String locale) {
+        return new CoverageLevel2(sdi, locale, null);
+    }
+
+    /**
+     * Get the coverage level for a path. Thread-safe without locking: the lookup is reentrant,
+     * and the locale-specific information is not changed after construction, so a single
+     * instance can be shared across threads.
+     */
     public Level getLevel(String path) {
         if (path == null) {
             return Level.UNDETERMINED;
         }
-        synchronized (lookup) { // synchronize on the class, since the Matchers are changed during the matching process
-            Level result;
-            if (DEBUG_LOOKUP) { // for testing
-                Output<String[]> checkItems = new Output<>();
-                Output<Finder> matcherFound = new Output<>();
-                List<String> failures = new ArrayList<>();
-                result = lookup.get(path, myInfo, checkItems, matcherFound, failures);
-                for (String s : failures) {
-                    System.out.println(s);
-                }
-            } else {
-                result = lookup.get(path, myInfo, null);
+        Level result;
+        if (snapshotLevels != null && (result = snapshotLevels.get(path)) != null) {
+            return result;
+        }
+        if (DEBUG_LOOKUP) { // for testing
+            Output<String[]> checkItems = new Output<>();
+            Output<Finder> matcherFound = new Output<>();
+            List<String> failures = new ArrayList<>();
+            result = lookup.get(path, myInfo, checkItems, matcherFound, failures);
+            for (String s : failures) {
+                System.out.println(s);
             }
-            return result == null ? Level.COMPREHENSIVE : result;
+        } else {
+            result = lookup.get(path, myInfo, null);
         }
+        return result == null ? Level.COMPREHENSIVE : result;
     }
 
     public int getIntLevel(String path) {
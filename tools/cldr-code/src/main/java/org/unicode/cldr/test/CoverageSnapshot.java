@@ -0,0 +1,300 @@
+package org.unicode.cldr.test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.Level;
+import org.unicode.cldr.util.SupplementalDataInfo;
+import org.unicode.cldr.util.SupplementalDataInfo.CoverageLevelInfo;
+import org.unicode.cldr.util.SupplementalDataInfo.CoverageVariableInfo;
+
+import com.google.common.io.CountingInputStream;
+
+/**
+ * A precomputed table of coverage levels, so that {@link CoverageLevel2} doesn't have to evaluate
+ * the coverage regexes for every path. The levels only depend on the language of a locale, so
+ * they are stored per language.
+ * <p>
+ * The file has a header (format key, a hash of the coverage rules, the interned paths, and the languages
+ * with a hash of their coverage variables) followed by one byte per (language, path) holding the
+ * Level ordinal, or {@link #UNKNOWN} if the pair was not evaluated. The bytes are memory-mapped.
+ * <p>
+ * A snapshot is only used if the coverage rules are unchanged, and for a language only if its coverage
+ * variables are unchanged; otherwise, and for unknown paths, CoverageLevel2 falls back to the regex lookup.
+ * <p>
+ * To generate or validate the file, use GenerateCoverageSnapshot. To use it, set CLDR_COVERAGE_SNAPSHOT to its location.
+ */
+public class CoverageSnapshot {
+    public static final String FORMAT_KEY = "cov-1";
+    public static final String DEFAULT_FILE_NAME = "coverageSnapshot.data";
+
+    private static final byte UNKNOWN = -1;
+    private static final Level[] LEVELS = Level.values();
+
+    private final int rulesHash;
+    private final Map<String, Integer> pathToId;
+    private final Map<String, LanguageInfo> languageToInfo;
+    private final ByteBuffer levels;
+    private volatile SupplementalDataInfo checkedSdi = null;
+
+    private static class LanguageInfo {
+        final int variablesHash;
+        final int offset;
+
+        LanguageInfo(int variablesHash, int offset) {
+            this.variablesHash = variablesHash;
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * The levels for a single language. Thread-safe.
+     */
+    public class LanguageLevels {
+        private final int offset;
+
+        private LanguageLevels(int offset) {
+            this.offset = offset;
+        }
+
+        /**
+         * Return the level for the path, or null if the snapshot doesn't have it.
+         */
+        public Level get(String path) {
+            Integer id = pathToId.get(path);
+            if (id == null) {
+                return null;
+            }
+            byte level = levels.get(offset + id); // absolute get, so no shared position
+            return level == UNKNOWN ? null : LEVELS[level];
+        }
+    }
+
+    private CoverageSnapshot(int rulesHash, Map<String, Integer> pathToId, Map<String, LanguageInfo> languageToInfo,
+        ByteBuffer levels) {
+        this.rulesHash = rulesHash;
+        this.pathToId = pathToId;
+        this.languageToInfo = languageToInfo;
+        this.levels = levels;
+    }
+
+    private static final class SnapshotHelper {
+        static final CoverageSnapshot SINGLETON = loadConfigured();
+    }
+
+    /**
+     * Return the snapshot named by CLDR_COVERAGE_SNAPSHOT, or null if that isn't set or can't be read.
+     */
+    public static CoverageSnapshot getConfigured() {
+        return SnapshotHelper.SINGLETON;
+    }
+
+    private static CoverageSnapshot loadConfigured() {
+        String fileName = CLDRConfig.getInstance().getProperty("CLDR_COVERAGE_SNAPSHOT", null);
+        if (fileName == null) {
+            return null;
+        }
+        try {
+            return load(new File(fileName));
+        } catch (Exception e) {
+            System.err.println("CoverageSnapshot: ignoring " + fileName + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Return the levels for the language, or null if the snapshot has none or they are out of date.
+     */
+    public LanguageLevels getLevels(SupplementalDataInfo sdi, String language, CoverageVariableInfo cvi) {
+        if (checkedSdi != sdi) {
+            if (rulesHash != rulesHash(sdi)) {
+                return null;
+            }
+            checkedSdi = sdi;
+        }
+        LanguageInfo info = languageToInfo.get(language);
+        if (info == null || info.variablesHash != variablesHash(cvi)) {
+            return null;
+        }
+        return new LanguageLevels(info.offset);
+    }
+
+    public int getPathCount() {
+        return pathToId.size();
+    }
+
+    public int getLanguageCount() {
+        return languageToInfo.size();
+    }
+
+    /**
+     * Load a snapshot, memory-mapping the levels.
+     */
+    public static CoverageSnapshot load(File file) throws IOException {
+        try (CountingInputStream counter = new CountingInputStream(new BufferedInputStream(new FileInputStream(file)));
+            DataInputStream dataIn = new DataInputStream(counter)) {
+            String key = dataIn.readUTF();
+            if (!FORMAT_KEY.equals(key)) {
+                throw new IllegalArgumentException("Mismatch in FORMAT_KEY: expected=" + FORMAT_KEY + ", read=" + key);
+            }
+            int rulesHash = dataIn.readInt();
+            int pathCount = dataIn.readInt();
+            Map<String, Integer> pathToId = new HashMap<>(pathCount * 2);
+            for (int i = 0; i < pathCount; ++i) {
+                pathToId.put(dataIn.readUTF(), i);
+            }
+            int languageCount = dataIn.readInt();
+            Map<String, LanguageInfo> languageToInfo = new HashMap<>();
+            for (int i = 0; i < languageCount; ++i) {
+                String language = dataIn.readUTF();
+                int variablesHash = dataIn.readInt();
+                languageToInfo.put(language, new LanguageInfo(variablesHash, i * pathCount));
+            }
+            long start = counter.getCount();
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                ByteBuffer levels = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, start, (long) languageCount * pathCount);
+                return new CoverageSnapshot(rulesHash, Collections.unmodifiableMap(pathToId),
+                    Collections.unmodifiableMap(languageToInfo), levels);
+            }
+        }
+    }
+
+    /**
+     * Evaluate the coverage for the given paths of each language, and write a snapshot.
+     * Pairs that aren't in the map are recorded as unknown. The evaluation is done in parallel across languages.
+     *
+     * @param languageToPaths for each language, the paths to evaluate
+     */
+    public static void write(File file, SupplementalDataInfo sdi, Map<String, ? extends Iterable<String>> languageToPaths)
+        throws IOException {
+        Map<String, Integer> pathToId = new LinkedHashMap<>();
+        Map<String, BitSet> languageToIds = new TreeMap<>();
+        for (Entry<String, ? extends Iterable<String>> entry : languageToPaths.entrySet()) {
+            BitSet ids = new BitSet();
+            for (String path : entry.getValue()) {
+                Integer id = pathToId.get(path);
+                if (id == null) {
+                    pathToId.put(path, id = pathToId.size());
+                }
+                ids.set(id);
+            }
+            languageToIds.put(entry.getKey(), ids);
+        }
+        List<String> idToPath = new ArrayList<>(pathToId.keySet());
+
+        Map<String, byte[]> languageToLevels = languageToIds.entrySet().parallelStream()
+            .collect(Collectors.toMap(Entry::getKey,
+                entry -> evaluate(sdi, entry.getKey(), entry.getValue(), idToPath),
+                (a, b) -> a,
+                TreeMap::new));
+
+        file.getParentFile().mkdirs();
+        try (DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            dataOut.writeUTF(FORMAT_KEY);
+            dataOut.writeInt(rulesHash(sdi));
+            dataOut.writeInt(idToPath.size());
+            for (String path : idToPath) {
+                dataOut.writeUTF(path);
+            }
+            dataOut.writeInt(languageToLevels.size());
+            for (String language : languageToLevels.keySet()) {
+                dataOut.writeUTF(language);
+                dataOut.writeInt(variablesHash(sdi.getCoverageVariableInfo(language)));
+            }
+            for (byte[] levels : languageToLevels.values()) {
+                dataOut.write(levels);
+            }
+        }
+    }
+
+    private static byte[] evaluate(SupplementalDataInfo sdi, String language, BitSet ids, List<String> idToPath) {
+        CoverageLevel2 coverage = CoverageLevel2.getLiveInstance(sdi, language);
+        byte[] levels = new byte[idToPath.size()];
+        Arrays.fill(levels, UNKNOWN);
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            levels[id] = (byte) coverage.getLevel(idToPath.get(id)).ordinal();
+        }
+        return levels;
+    }
+
+    /**
+     * Compare every known level in the snapshot against live evaluation, and print the differences.
+     *
+     * @return the number of differences
+     */
+    public int validate(SupplementalDataInfo sdi, PrintWriter out) {
+        if (rulesHash != rulesHash(sdi)) {
+            out.println("Coverage rules have changed since the snapshot was made");
+        }
+        List<String> idToPath = new ArrayList<>(Collections.nCopies(pathToId.size(), (String) null));
+        for (Entry<String, Integer> entry : pathToId.entrySet()) {
+            idToPath.set(entry.getValue(), entry.getKey());
+        }
+        int differences = 0;
+        for (Entry<String, LanguageInfo> entry : new TreeMap<>(languageToInfo).entrySet()) {
+            String language = entry.getKey();
+            LanguageInfo info = entry.getValue();
+            if (info.variablesHash != variablesHash(sdi.getCoverageVariableInfo(language))) {
+                out.println(language + "\tCoverage variables have changed since the snapshot was made");
+            }
+            CoverageLevel2 coverage = CoverageLevel2.getLiveInstance(sdi, language);
+            for (int id = 0; id < idToPath.size(); ++id) {
+                byte level = levels.get(info.offset + id);
+                if (level == UNKNOWN) {
+                    continue;
+                }
+                String path = idToPath.get(id);
+                Level live = coverage.getLevel(path);
+                if (live != LEVELS[level]) {
+                    out.println(language + "\t" + LEVELS[level] + "\t" + live + "\t" + path);
+                    ++differences;
+                }
+            }
+        }
+        return differences;
+    }
+
+    /**
+     * A hash of the coverage rules, to detect when coverageLevels.xml has changed.
+     */
+    static int rulesHash(SupplementalDataInfo sdi) {
+        int result = FORMAT_KEY.hashCode();
+        for (CoverageLevelInfo ci : sdi.getCoverageLevelInfo()) {
+            result = 37 * result + Objects.hash(ci.match, ci.value.ordinal(),
+                ci.inLanguage == null ? null : ci.inLanguage.pattern(), ci.inScript, ci.inTerritory);
+        }
+        return result;
+    }
+
+    /**
+     * A hash of the locale-specific values used by the coverage rules. (Set and String hash codes
+     * don't depend on the JVM, so this can be stored.)
+     */
+    static int variablesHash(CoverageVariableInfo cvi) {
+        return Objects.hash(cvi.targetScripts, cvi.targetTerritories, cvi.calendars, cvi.targetCurrencies,
+            cvi.targetTimeZones, cvi.targetPlurals);
+    }
+}
@@ -29,6 +29,8 @@ import org.unicode.cldr.util.PathStarrer;
  *
  * Unlike TestCache.exampleGeneratorCache, this cache doesn't get cleared to conserve memory,
  * only to adapt to changed winning values.
+ *
+ * The ExampleGenerator may be shared across threads, so all the maps are concurrent.
  */
 class ExampleCache {
     /**
@@ -79,7 +81,7 @@ class ExampleCache {
                 return null;
             }
             String result = null;
-            starredPath = pathStarrer.set(xpath);
+            starredPath = PATH_STARRER.get().set(xpath);
             pathMap = cache.get(starredPath);
             if (pathMap != null) {
                 valueMap = pathMap.get(xpath);
@@ -95,13 +97,12 @@ class ExampleCache {
 
         void putExample(String result) {
             if (cachingIsEnabled) {
+                // computeIfAbsent, so that concurrent puts for the same path don't lose each other's maps
                 if (pathMap == null) {
-                    pathMap = new ConcurrentHashMap<>();
-                    cache.put(starredPath, pathMap);
+                    pathMap = cache.computeIfAbsent(starredPath, k -> new ConcurrentHashMap<>());
                 }
                 if (valueMap == null) {
-                    valueMap = new ConcurrentHashMap<>();
-                    pathMap.put(xpath, valueMap);
+                    valueMap = pathMap.computeIfAbsent(xpath, k -> new ConcurrentHashMap<>());
                 }
                 valueMap.put(value, (result == null) ? NONE : result);
             }
@@ -136,14 +137,16 @@ class ExampleCache {
     /**
      * The PathStarrer is for getting starredPath from an ordinary (starless) path.
      * Inclusion of starred paths enables performance improvement with AVOID_CLEARING_CACHE.
+     * PathStarrer is mutable, so there is one per thread.
      */
-    private final PathStarrer pathStarrer = new PathStarrer().setSubstitutionPattern("*");
+    private static final ThreadLocal<PathStarrer> PATH_STARRER = ThreadLocal.withInitial(
+        () -> new PathStarrer().setSubstitutionPattern("*"));
 
     /**
      * For testing, caching can be disabled for some ExampleCaches while still
      * enabled for others.
      */
-    private boolean cachingIsEnabled = true;
+    private volatile boolean cachingIsEnabled = true;
 
     void setCachingEnabled(boolean enabled) {
         cachingIsEnabled = enabled;
@@ -154,7 +157,7 @@ class ExampleCache {
      * mode, where they will throw an exception if queried for a path+value that isn't
      * already in the cache. See TestExampleGeneratorDependencies.
      */
-    private boolean cacheOnly = false;
+    private volatile boolean cacheOnly = false;
 
     void setCacheOnly(boolean only) {
         this.cacheOnly = only;
@@ -176,7 +179,7 @@ class ExampleCache {
      */
     void update(String xpath) {
         if (AVOID_CLEARING_CACHE) {
-            String starredA = pathStarrer.set(xpath);
+            String starredA = PATH_STARRER.get().set(xpath);
             for (String starredB : ExampleDependencies.dependencies.get(starredA)) {
                 cache.remove(starredB);
             }
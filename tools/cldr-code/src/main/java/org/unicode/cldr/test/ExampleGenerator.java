@@ -15,6 +15,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -91,7 +92,15 @@ public class ExampleGenerator {
     final static boolean DEBUG_SHOW_HELP = false;
 
     private static SupplementalDataInfo supplementalDataInfo;
-    private PathDescription pathDescription;
+    // PathDescription keeps state between calls, so each thread has its own, for each English file (normally just one)
+    private static final ThreadLocal<Map<CLDRFile, PathDescription>> PATH_DESCRIPTIONS = ThreadLocal.withInitial(
+        WeakHashMap::new);
+
+    private PathDescription getPathDescription() {
+        return PATH_DESCRIPTIONS.get().computeIfAbsent(englishFile,
+            english -> new PathDescription(supplementalDataInfo, english, new HashMap<>(), new HashMap<>(),
+                PathDescription.ErrorHandling.CONTINUE));
+    }
 
     public void setCachingEnabled(boolean enabled) {
         exCache.setCachingEnabled(enabled);
@@ -113,8 +122,8 @@ public class ExampleGenerator {
     private final static Date DATE_SAMPLE3;
     private final static Date DATE_SAMPLE4;
 
-    private String backgroundStart = "<span class='cldr_substituted'>";
-    private String backgroundEnd = "</span>";
+    private volatile String backgroundStart = "<span class='cldr_substituted'>";
+    private volatile String backgroundEnd = "</span>";
 
     private static final String exampleStart = "<div class='cldr_example'>";
     private static final String exampleEnd = "</div>";
@@ -138,9 +147,15 @@ public class ExampleGenerator {
      * can be used to modify it. It must be initialized here to false, otherwise
      * cldr-unittest TestAll.java fails. Reference: https://unicode.org/cldr/trac/ticket/12025
      */
-    private boolean verboseErrors = false;
+    private volatile boolean verboseErrors = false;
+
+    /**
+     * For building sample dates; per thread, since Calendar is mutable.
+     */
+    private static final ThreadLocal<Calendar> SAMPLE_CALENDAR = ThreadLocal.withInitial(
+        () -> Calendar.getInstance(ZONE_SAMPLE, ULocale.ENGLISH));
 
-    private Calendar calendar = Calendar.getInstance(ZONE_SAMPLE, ULocale.ENGLISH);
+    private static final Date MZ_TIME_SAMPLE;
 
     static {
         Calendar calendar = Calendar.getInstance(ZONE_SAMPLE, ULocale.ENGLISH);
@@ -153,18 +168,19 @@ public class ExampleGenerator {
         DATE_SAMPLE3 = calendar.getTime();
         calendar.set(1999, 8, 5, 23, 0, 0); // 1999-08-5 23:00:00
         DATE_SAMPLE4 = calendar.getTime();
+        calendar.set(1999, 9, 13, 13, 25, 59); // 1999-09-13 13:25:59
+        MZ_TIME_SAMPLE = calendar.getTime();
     }
 
-    private CLDRFile cldrFile;
+    private final CLDRFile cldrFile;
 
     public CLDRFile getCldrFile() {
         return cldrFile;
     }
 
-    private CLDRFile englishFile;
-    Matcher URLMatcher = URL_PATTERN.matcher("");
+    private final CLDRFile englishFile;
 
-    private ExampleCache exCache = new ExampleCache();
+    private final ExampleCache exCache = new ExampleCache();
 
     /**
      * For this (locale-specific) ExampleGenerator, clear the cached examples for
@@ -179,13 +195,16 @@ public class ExampleGenerator {
         exCache.update(xpath);
     }
 
-    private ICUServiceBuilder icuServiceBuilder = new ICUServiceBuilder();
+    /**
+     * Thread-safe: it only hands out clones of its cached formatters.
+     */
+    private final ICUServiceBuilder icuServiceBuilder;
 
-    private PluralInfo pluralInfo;
+    private final PluralInfo pluralInfo;
 
-    private PluralSamples patternExamples;
+    private volatile PluralSamples patternExamples;
 
-    private Map<String, String> subdivisionIdToName;
+    private final Map<String, String> subdivisionIdToName;
 
     /**
      * For getting the end of the "background" style. Default is "</span>". It is
@@ -247,10 +266,11 @@ public class ExampleGenerator {
      * True if this ExampleGenerator is especially for generating "English" examples,
      * false if it is for generating "native" examples.
      */
-    private boolean typeIsEnglish;
+    private final boolean typeIsEnglish;
 
     /**
-     * Create an Example Generator. If this is shared across threads, it must be synchronized.
+     * Create an Example Generator. It can be shared across threads: the per-locale data is immutable,
+     * the example cache is concurrent, and each use of an ICU formatter gets its own clone.
      *
      * @param resolvedCldrFile
      * @param englishFile
@@ -267,13 +287,12 @@ public class ExampleGenerator {
         this.subdivisionIdToName = EmojiSubdivisionNames.getSubdivisionIdToName(cldrFile.getLocaleID());
         this.englishFile = englishFile;
         this.typeIsEnglish = (resolvedCldrFile == englishFile);
+        this.icuServiceBuilder = new ICUServiceBuilder().setCldrFile(cldrFile);
         synchronized (ExampleGenerator.class) {
             if (supplementalDataInfo == null) {
                 supplementalDataInfo = SupplementalDataInfo.getInstance(supplementalDataDirectory);
             }
         }
-        icuServiceBuilder.setCldrFile(cldrFile);
-
         pluralInfo = supplementalDataInfo.getPlurals(PluralType.cardinal, cldrFile.getLocaleID());
 
         if (DEBUG_EXAMPLE_GENERATOR) {
@@ -782,16 +801,11 @@ public class ExampleGenerator {
         }
     }
 
-    private IntervalFormat intervalFormat = new IntervalFormat();
-
-    private static Calendar generatingCalendar = Calendar.getInstance(ULocale.US);
-
     private static Date getDate(int year, int month, int date, int hour, int minute, int second) {
-        synchronized (generatingCalendar) {
-            generatingCalendar.setTimeZone(GMT_ZONE_SAMPLE);
-            generatingCalendar.set(year, month, date, hour, minute, second);
-            return generatingCalendar.getTime();
-        }
+        Calendar generatingCalendar = Calendar.getInstance(ULocale.US);
+        generatingCalendar.setTimeZone(GMT_ZONE_SAMPLE);
+        generatingCalendar.set(year, month, date, hour, minute, second);
+        return generatingCalendar.getTime();
     }
 
     private static Date FIRST_INTERVAL = getDate(2008, 1, 13, 5, 7, 9);
@@ -830,6 +844,7 @@ public class ExampleGenerator {
         // intervalFormatFallback
         // //ldml/dates/calendars/calendar[@type="gregorian"]/dateTimeFormats/intervalFormats/intervalFormatItem[@id="yMd"]/greatestDifference[@id="y"]
         // find where to split the value
+        IntervalFormat intervalFormat = new IntervalFormat();
         intervalFormat.setPattern(parts, value);
         Date later = SECOND_INTERVAL.get(greatestDifference);
         if (later == null) {
@@ -1670,8 +1685,9 @@ public class ExampleGenerator {
      * @return
      */
     private Double getExampleForPattern(DecimalFormat format, Count count) {
+        PluralSamples patternExamples = this.patternExamples;
         if (patternExamples == null) {
-            patternExamples = PluralSamples.getInstance(cldrFile.getLocaleID());
+            this.patternExamples = patternExamples = PluralSamples.getInstance(cldrFile.getLocaleID());
         }
         int numDigits = format.getMinimumIntegerDigits();
         Map<Count, Double> samples = patternExamples.getSamples(numDigits);
@@ -2042,6 +2058,7 @@ public class ExampleGenerator {
 
         SimpleDateFormat dateFormat = icuServiceBuilder.getDateFormat("gregorian", plusMinus[hours >= 0 ? 0 : 1]);
         dateFormat.setTimeZone(ZONE_SAMPLE);
+        Calendar calendar = SAMPLE_CALENDAR.get();
         calendar.set(1999, 9, 27, Math.abs(hours), minutes, 0); // 1999-09-13 13:25:59
         Date sample = calendar.getTime();
         String hourString = dateFormat.format(sample);
@@ -2062,9 +2079,7 @@ public class ExampleGenerator {
         // the following is <= because the TZDB inverts the hours
         SimpleDateFormat dateFormat = icuServiceBuilder.getDateFormat("gregorian", timeFormat);
         dateFormat.setTimeZone(ZONE_SAMPLE);
-        calendar.set(1999, 9, 13, 13, 25, 59); // 1999-09-13 13:25:59
-        Date sample = calendar.getTime();
-        String result = dateFormat.format(sample);
+        String result = dateFormat.format(MZ_TIME_SAMPLE);
         return result;
     }
 
@@ -2082,21 +2097,9 @@ public class ExampleGenerator {
      *
      * @return null if none available.
      */
-    public synchronized String getHelpHtml(String xpath, String value, boolean listPlaceholders) {
-
-        // lazy initialization
+    public String getHelpHtml(String xpath, String value, boolean listPlaceholders) {
 
-        if (pathDescription == null) {
-            Map<String, List<Set<String>>> starredPaths = new HashMap<>();
-            Map<String, String> extras = new HashMap<>();
-
-            this.pathDescription = new PathDescription(supplementalDataInfo, englishFile, extras, starredPaths,
-                PathDescription.ErrorHandling.CONTINUE);
-
-            if (helpMessages == null) {
-                helpMessages = new HelpMessages("test_help_messages.html");
-            }
-        }
+        PathDescription pathDescription = getPathDescription();
 
         // now get the description
 
@@ -2108,6 +2111,7 @@ public class ExampleGenerator {
         // http://cldr.org/translation/timezones
         int start = 0;
         StringBuilder buffer = new StringBuilder();
+        Matcher URLMatcher = URL_PATTERN.matcher("");
         while (URLMatcher.reset(description).find(start)) {
             final String url = URLMatcher.group();
             buffer
@@ -2134,7 +2138,7 @@ public class ExampleGenerator {
         return buffer.toString();
     }
 
-    public synchronized String getHelpHtml(String xpath, String value) {
+    public String getHelpHtml(String xpath, String value) {
         return getHelpHtml(xpath, value, false);
     }
 
@@ -2153,6 +2157,4 @@ public class ExampleGenerator {
             .replace("<span class='cldr_substituted'>", "❬")
             .replace("</span>", "❭");
     }
-
-    HelpMessages helpMessages;
 }
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 import org.unicode.cldr.test.CheckCLDR.CheckStatus;
 import org.unicode.cldr.test.CheckCLDR.Options;
@@ -15,9 +16,11 @@ import org.unicode.cldr.util.Factory;
 import org.unicode.cldr.util.Pair;
 import org.unicode.cldr.util.XMLSource;
 
+import com.google.common.base.Throwables;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 /**
  * Caches tests and examples
@@ -271,20 +274,16 @@ public class TestCache implements XMLSource.Listener {
             return new ExampleGenerator(ourSrc, translationHintsFile, englishPath);
         }
         /*
-         * TODO: consider get(locString, Callable) instead of getIfPresent and put.
+         * The ExampleGenerator is thread-safe, so one is shared per locale. Loading with get(locString, Callable)
+         * only blocks other threads that want the same locale.
          */
-        String locString = locale.toString();
-        ExampleGenerator eg = exampleGeneratorCache.getIfPresent(locString);
-        if (eg == null) {
-            synchronized(exampleGeneratorCache) {
-                eg = exampleGeneratorCache.getIfPresent(locString);
-                if (eg == null) {
-                    eg = new ExampleGenerator(ourSrc, translationHintsFile, englishPath);
-                    exampleGeneratorCache.put(locString, eg);
-                }
-            }
+        try {
+            return exampleGeneratorCache.get(locale.toString(),
+                () -> new ExampleGenerator(ourSrc, translationHintsFile, englishPath));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new RuntimeException(e.getCause());
         }
-        return eg;
     }
 
     /**
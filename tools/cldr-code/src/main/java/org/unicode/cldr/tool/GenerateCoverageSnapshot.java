@@ -0,0 +1,96 @@
+package org.unicode.cldr.tool;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.unicode.cldr.test.CoverageSnapshot;
+import org.unicode.cldr.tool.Option.Options;
+import org.unicode.cldr.tool.Option.Params;
+import org.unicode.cldr.util.CLDRConfig;
+import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.CLDRPaths;
+import org.unicode.cldr.util.Factory;
+import org.unicode.cldr.util.LanguageTagParser;
+import org.unicode.cldr.util.SupplementalDataInfo;
+import org.unicode.cldr.util.Timer;
+
+/**
+ * Generate (or validate) the coverage snapshot used by CoverageLevel2. The coverage level is
+ * evaluated for every distinguishing path of every locale, and the results are written per language.
+ * To use the snapshot, point CLDR_COVERAGE_SNAPSHOT at the output file.
+ */
+public class GenerateCoverageSnapshot {
+    private static final CLDRConfig CLDR_CONFIG = CLDRConfig.getInstance();
+
+    private enum MyOptions {
+        file(new Params().setHelp("snapshot file").setMatch(".*")
+            .setDefault(CLDRPaths.GEN_DIRECTORY + "coverage/" + CoverageSnapshot.DEFAULT_FILE_NAME)),
+        localeFilter(new Params().setHelp("filter locales, eg: de.*").setMatch(".*").setDefault(".*")),
+        validate(new Params().setHelp("compare the existing snapshot against live evaluation, instead of writing it").setMatch("")),
+        ;
+
+        // BOILERPLATE TO COPY
+        final Option option;
+
+        private MyOptions(Params params) {
+            option = new Option(this, params);
+        }
+
+        private static Options myOptions = new Options();
+        static {
+            for (MyOptions option : MyOptions.values()) {
+                myOptions.add(option, option.option);
+            }
+        }
+
+        private static Set<String> parse(String[] args) {
+            return myOptions.parse(MyOptions.values()[0], args, true);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        MyOptions.parse(args);
+        File file = new File(MyOptions.file.option.getValue());
+        SupplementalDataInfo sdi = CLDR_CONFIG.getSupplementalDataInfo();
+        Timer timer = new Timer();
+
+        if (MyOptions.validate.option.doesOccur()) {
+            CoverageSnapshot snapshot = CoverageSnapshot.load(file);
+            PrintWriter out = new PrintWriter(System.out);
+            int differences = snapshot.validate(sdi, out);
+            out.flush();
+            System.out.println("Languages: " + snapshot.getLanguageCount()
+                + ", paths: " + snapshot.getPathCount()
+                + ", differences: " + differences
+                + ", time: " + timer);
+            if (differences != 0) {
+                System.exit(1);
+            }
+            return;
+        }
+
+        Matcher localeMatcher = Pattern.compile(MyOptions.localeFilter.option.getValue()).matcher("");
+        Factory factory = CLDR_CONFIG.getCommonAndSeedAndMainAndAnnotationsFactory();
+        LanguageTagParser ltp = new LanguageTagParser();
+        Map<String, Set<String>> languageToPaths = new TreeMap<>();
+        for (String locale : factory.getAvailable()) {
+            if (!localeMatcher.reset(locale).matches()) {
+                continue;
+            }
+            CLDRFile cldrFile = factory.make(locale, true);
+            Set<String> paths = languageToPaths.computeIfAbsent(ltp.set(locale).getLanguage(), k -> new HashSet<>());
+            cldrFile.fullIterable().forEach(paths::add);
+        }
+        System.out.println("Loaded " + languageToPaths.size() + " languages: " + timer);
+
+        CoverageSnapshot.write(file, sdi, languageToPaths);
+        System.out.println("Wrote " + file.getCanonicalPath() + " (" + file.length() + " bytes): " + timer);
+    }
+}
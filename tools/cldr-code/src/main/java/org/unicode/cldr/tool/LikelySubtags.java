@@ -1,15 +1,19 @@
 package org.unicode.cldr.tool;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Function;
 
 import org.unicode.cldr.util.Builder;
+import org.unicode.cldr.util.CLDRConfig;
 import org.unicode.cldr.util.LanguageTagParser;
 import org.unicode.cldr.util.LanguageTagParser.OutputOption;
 import org.unicode.cldr.util.SupplementalDataInfo;
@@ -18,19 +22,115 @@ import org.unicode.cldr.util.SupplementalDataInfo.BasicLanguageData.Type;
 import org.unicode.cldr.util.SupplementalDataInfo.CurrencyDateInfo;
 import org.unicode.cldr.util.SupplementalDataInfo.PopulationData;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableMap;
 import com.ibm.icu.impl.Row;
 import com.ibm.icu.impl.Row.R2;
 
 public class LikelySubtags {
     static final boolean DEBUG = true;
     static final String TAG_SEPARATOR = "_";
+    private static final int PARALLEL_THRESHOLD = 1000;
 
-    private Map<String, String> toMaximized;
-    private boolean favorRegion = false;
-    private static SupplementalDataInfo supplementalDataInfo;
-    private static Map<String, String> currencyToLikelyTerritory;
+    private volatile Map<String, String> toMaximized;
+    private volatile boolean favorRegion = false;
+    private volatile Table table = null;
+    private static volatile SupplementalDataInfo supplementalDataInfo;
+    private static volatile Map<String, String> currencyToLikelyTerritory;
     private static final Object SYNC = new Object();
 
+    /**
+     * The tables, shared by all the instances with the same map (by identity).
+     */
+    private static final Cache<Map<String, String>, Table> TABLES = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build();
+
+    /**
+     * The likely subtags as a trie from language to script to region (empty if absent), with caches of the
+     * maximized and minimized tags. Immutable apart from the caches, so it can be read without locking.
+     */
+    private static final class Table {
+        private final Map<String, Map<String, Map<String, LSR>>> trie;
+        private final Cache<String, String> maximized;
+        private final Cache<String, String> minimizedFavorScript;
+        private final Cache<String, String> minimizedFavorRegion;
+
+        Table(Map<String, String> toMaximized) {
+            Map<String, Map<String, Map<String, LSR>>> temp = new HashMap<>();
+            LanguageTagParser ltp = new LanguageTagParser();
+            for (Entry<String, String> entry : toMaximized.entrySet()) {
+                // the lookups use the canonical form, so other keys never match
+                try {
+                    if (!ltp.set(entry.getKey()).toString().equals(entry.getKey())) {
+                        continue;
+                    }
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                String language = ltp.getLanguage();
+                String script = ltp.getScript();
+                String region = ltp.getRegion();
+                ltp.set(entry.getValue());
+                temp.computeIfAbsent(language, k -> new HashMap<>())
+                    .computeIfAbsent(script, k -> new HashMap<>())
+                    .put(region, new LSR(ltp.getLanguage(), ltp.getScript(), ltp.getRegion()));
+            }
+            ImmutableMap.Builder<String, Map<String, Map<String, LSR>>> builder = ImmutableMap.builder();
+            for (Entry<String, Map<String, Map<String, LSR>>> entry : temp.entrySet()) {
+                ImmutableMap.Builder<String, Map<String, LSR>> scripts = ImmutableMap.builder();
+                for (Entry<String, Map<String, LSR>> entry2 : entry.getValue().entrySet()) {
+                    scripts.put(entry2.getKey(), ImmutableMap.copyOf(entry2.getValue()));
+                }
+                builder.put(entry.getKey(), scripts.build());
+            }
+            trie = builder.build();
+            int cacheSize = CLDRConfig.getInstance().getProperty("CLDR_LIKELY_SUBTAGS_CACHE_SIZE", 20000);
+            maximized = CacheBuilder.newBuilder().maximumSize(cacheSize).recordStats().build();
+            minimizedFavorScript = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+            minimizedFavorRegion = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+        }
+
+        LSR get(String language, String script, String region) {
+            Map<String, Map<String, LSR>> scripts = trie.get(language);
+            if (scripts == null) {
+                return null;
+            }
+            Map<String, LSR> regions = scripts.get(script);
+            return regions == null ? null : regions.get(region);
+        }
+    }
+
+    /**
+     * A maximized language, script and region, with the tag they form.
+     */
+    private static final class LSR {
+        private final String language;
+        private final String script;
+        private final String region;
+        private final String tag;
+
+        LSR(String language, String script, String region) {
+            this.language = language;
+            this.script = script;
+            this.region = region;
+            this.tag = join(language, script, region);
+        }
+    }
+
+    private static String join(String language, String script, String region) {
+        StringBuilder result = new StringBuilder(language);
+        if (!script.isEmpty()) {
+            result.append(TAG_SEPARATOR).append(script);
+        }
+        if (!region.isEmpty()) {
+            result.append(TAG_SEPARATOR).append(region);
+        }
+        return result.toString();
+    }
+
     /**
      * Create the likely subtags.
      *
@@ -46,33 +146,38 @@ public class LikelySubtags {
     }
 
     private static void loadStaticVariables() {
-        if (supplementalDataInfo != null && currencyToLikelyTerritory != null) {
+        if (currencyToLikelyTerritory != null) {
             return;
         }
         synchronized(SYNC) {
-            supplementalDataInfo = SupplementalDataInfo.getInstance();
-            currencyToLikelyTerritory = new HashMap<>();
+            if (currencyToLikelyTerritory != null) {
+                return;
+            }
+            SupplementalDataInfo sdi = SupplementalDataInfo.getInstance();
+            Map<String, String> currencyToTerritory = new HashMap<>();
             Date now = new Date();
             Set<Row.R2<Double, String>> sorted = new TreeSet<>();
-            for (String territory : supplementalDataInfo.getTerritoriesWithPopulationData()) {
-                PopulationData pop = supplementalDataInfo.getPopulationDataForTerritory(territory);
+            for (String territory : sdi.getTerritoriesWithPopulationData()) {
+                PopulationData pop = sdi.getPopulationDataForTerritory(territory);
                 double population = pop.getPopulation();
                 sorted.add(Row.of(-population, territory));
             }
             for (R2<Double, String> item : sorted) {
                 String territory = item.get1();
-                Set<CurrencyDateInfo> targetCurrencyInfo = supplementalDataInfo.getCurrencyDateInfo(territory);
+                Set<CurrencyDateInfo> targetCurrencyInfo = sdi.getCurrencyDateInfo(territory);
                 if (targetCurrencyInfo == null) {
                     continue;
                 }
                 for (CurrencyDateInfo cdi : targetCurrencyInfo) {
                     String currency = cdi.getCurrency();
-                    if (!currencyToLikelyTerritory.containsKey(currency) && cdi.getStart().before(now)
+                    if (!currencyToTerritory.containsKey(currency) && cdi.getStart().before(now)
                         && cdi.getEnd().after(now) && cdi.isLegalTender()) {
-                        currencyToLikelyTerritory.put(currency, territory);
+                        currencyToTerritory.put(currency, territory);
                     }
                 }
             }
+            supplementalDataInfo = sdi;
+            currencyToLikelyTerritory = ImmutableMap.copyOf(currencyToTerritory);
         }
     }
 
@@ -100,32 +205,105 @@ public class LikelySubtags {
 
     public LikelySubtags setToMaximized(Map<String, String> toMaximized) {
         this.toMaximized = toMaximized;
+        this.table = null;
         return this;
     }
 
+    private Table getTable() {
+        Table result = table;
+        if (result == null) {
+            Map<String, String> map = toMaximized;
+            result = TABLES.getIfPresent(map);
+            if (result == null) {
+                result = new Table(map);
+                TABLES.put(map, result);
+            }
+            table = result;
+        }
+        return result;
+    }
+
+    /**
+     * Get the statistics for the cache of maximized tags.
+     */
+    public CacheStats getCacheStats() {
+        return getTable().maximized.stats();
+    }
+
+    /**
+     * Shared instances for the static methods. The constructor always uses the supplemental data,
+     * so these give the same results as new instances.
+     */
+    private static final class Shared {
+        static final LikelySubtags FAVOR_SCRIPT = new LikelySubtags();
+        static final LikelySubtags FAVOR_REGION = new LikelySubtags().setFavorRegion(true);
+    }
+
     public static String maximize(String languageTag, Map<String, String> toMaximized) {
-        return new LikelySubtags(toMaximized).maximize(languageTag);
+        return Shared.FAVOR_SCRIPT.maximize(languageTag);
     }
 
     public static String minimize(String input, Map<String, String> toMaximized, boolean favorRegion) {
-        return new LikelySubtags(toMaximized).setFavorRegion(favorRegion).minimize(input);
+        return (favorRegion ? Shared.FAVOR_REGION : Shared.FAVOR_SCRIPT).minimize(input);
     }
 
-    // TODO Old, crufty code, needs reworking.
-    public synchronized String maximize(String languageTag) {
+    /**
+     * Maximize each of the tags, in order; large collections are done in parallel.
+     *
+     * @return the maximized tags, with null for those that can't be maximized
+     */
+    public List<String> maximizeAll(Collection<String> languageTags) {
+        return mapAll(languageTags, this::maximize);
+    }
+
+    /**
+     * Minimize each of the tags, in order; large collections are done in parallel.
+     *
+     * @return the minimized tags, with null for those that can't be maximized
+     */
+    public List<String> minimizeAll(Collection<String> languageTags) {
+        return mapAll(languageTags, this::minimize);
+    }
+
+    private static List<String> mapAll(Collection<String> languageTags, Function<String, String> function) {
+        List<String> list = languageTags instanceof List ? (List<String>) languageTags : new ArrayList<>(languageTags);
+        if (list.size() < PARALLEL_THRESHOLD) {
+            List<String> result = new ArrayList<>(list.size());
+            for (String languageTag : list) {
+                result.add(function.apply(languageTag));
+            }
+            return result;
+        }
+        // toList can't hold nulls in parallel, so go through an array
+        return Arrays.asList(list.parallelStream().map(function).toArray(String[]::new));
+    }
+
+    /**
+     * Maximize the tag. Thread-safe; tags that have been maximized before are returned from a cache.
+     */
+    public String maximize(String languageTag) {
         if (languageTag == null) {
             return null;
         }
+        Table t = getTable();
+        String result = t.maximized.getIfPresent(languageTag);
+        if (result != null) {
+            return result;
+        }
         LanguageTagParser ltp = new LanguageTagParser();
         if (DEBUG && languageTag.equals("es" + TAG_SEPARATOR + "Hans" + TAG_SEPARATOR + "CN")) {
             System.out.print(""); // debug
         }
         // clean up the input by removing Zzzz, ZZ, and changing "" into und.
         ltp.set(languageTag);
-        return maximize(ltp);
+        result = maximize(ltp, t);
+        if (result != null) {
+            t.maximized.put(languageTag, result);
+        }
+        return result;
     }
 
-    private String maximize(LanguageTagParser ltp) {
+    private String maximize(LanguageTagParser ltp, Table t) {
         String language = ltp.getLanguage();
         String region = ltp.getRegion();
         String script = ltp.getScript();
@@ -134,32 +312,19 @@ public class LikelySubtags {
         Map<String, String> localeExtensions = ltp.getLocaleExtensions();
 
         if (language.equals("")) {
-            ltp.setLanguage(language = "und");
+            language = "und";
         }
         if (script.equals("Zzzz")) {
-            ltp.setScript(script = "");
+            script = "";
         }
         if (region.equals("ZZ")) {
-            ltp.setRegion(region = "");
-        }
-        if (variants.size() != 0) {
-            ltp.setVariants(Collections.<String> emptySet());
-        }
-        if (extensions.size() != 0) {
-            ltp.setExtensions(Collections.<String, String> emptyMap());
-        }
-        if (localeExtensions.size() != 0) {
-            ltp.setExtensions(Collections.<String, String> emptyMap());
+            region = "";
         }
 
         // check whole
-        String result = toMaximized.get(ltp.toString());
+        LSR result = t.get(language, script, region);
         if (result != null) {
-            return ltp.set(result)
-                .setVariants(variants)
-                .setExtensions(extensions)
-                .setLocaleExtensions(localeExtensions)
-                .toString();
+            return withExtensions(ltp, result.tag, variants, extensions, localeExtensions);
         }
 
         boolean noLanguage = language.equals("und");
@@ -168,63 +333,81 @@ public class LikelySubtags {
 
         // not efficient, but simple to match spec.
         for (String region2 : noRegion ? Arrays.asList(region) : Arrays.asList(region, "")) {
-            ltp.setRegion(region2);
             for (String script2 : noScript ? Arrays.asList(script) : Arrays.asList(script, "")) {
-                ltp.setScript(script2);
-
-                result = toMaximized.get(ltp.toString());
+                result = t.get(language, script2, region2);
                 if (result != null) {
-                    ltp.set(result);
-                    if (!noLanguage) {
-                        ltp.setLanguage(language);
-                    }
-                    if (!noScript) {
-                        ltp.setScript(script);
-                    }
-                    if (!noRegion) {
-                        ltp.setRegion(region);
-                    }
-                    return ltp.setVariants(variants)
-                        .setExtensions(extensions)
-                        .setLocaleExtensions(localeExtensions)
-                        .toString();
+                    return withExtensions(ltp, noLanguage, noScript, noRegion, language, script, region, result,
+                        variants, extensions, localeExtensions);
                 }
             }
         }
 
         // now check und_script
         if (!noScript) {
-            ltp.setLanguage("und");
-            ltp.setScript(script);
-            result = toMaximized.get(ltp.toString());
+            result = t.get("und", script, "");
             if (result != null) {
-                ltp.set(result);
-                if (!noLanguage) {
-                    ltp.setLanguage(language);
-                }
-                if (!noScript) {
-                    ltp.setScript(script);
-                }
-                if (!noRegion) {
-                    ltp.setRegion(region);
-                }
-                return ltp.setVariants(variants)
-                    .setExtensions(extensions)
-                    .setLocaleExtensions(localeExtensions)
-                    .toString();
+                return withExtensions(ltp, noLanguage, noScript, noRegion, language, script, region, result,
+                    variants, extensions, localeExtensions);
             }
         }
 
         return null; // couldn't maximize
     }
 
+    /**
+     * Fill in the missing fields from the result, and add back the variants and extensions.
+     */
+    private static String withExtensions(LanguageTagParser ltp, boolean noLanguage, boolean noScript, boolean noRegion,
+        String language, String script, String region, LSR result,
+        List<String> variants, Map<String, String> extensions, Map<String, String> localeExtensions) {
+        if (noLanguage && noScript && noRegion) {
+            return withExtensions(ltp, result.tag, variants, extensions, localeExtensions);
+        }
+        String tag = join(noLanguage ? result.language : language,
+            noScript ? result.script : script,
+            noRegion ? result.region : region);
+        return withExtensions(ltp, tag, variants, extensions, localeExtensions);
+    }
+
+    private static String withExtensions(LanguageTagParser ltp, String tag,
+        List<String> variants, Map<String, String> extensions, Map<String, String> localeExtensions) {
+        if (variants.isEmpty() && extensions.isEmpty() && localeExtensions.isEmpty()) {
+            return tag;
+        }
+        return ltp.set(tag)
+            .setVariants(variants)
+            .setExtensions(extensions)
+            .setLocaleExtensions(localeExtensions)
+            .toString();
+    }
+
     // TODO, optimize if needed by adding private routine that maximizes a LanguageTagParser instead of multiple parsings
     // TODO Old, crufty code, needs reworking.
     public String minimize(String input) {
         return minimize(input, OutputOption.ICU_LCVARIANT);
     }
 
-    public synchronized String minimize(String input, OutputOption oo) {
+    /**
+     * Minimize the tag. Thread-safe; with the default output option, tags that have been minimized before
+     * are returned from a cache.
+     */
+    public String minimize(String input, OutputOption oo) {
+        if (oo != OutputOption.ICU_LCVARIANT || input == null) {
+            return minimizeUncached(input, oo);
+        }
+        Table t = getTable();
+        Cache<String, String> cache = favorRegion ? t.minimizedFavorRegion : t.minimizedFavorScript;
+        String result = cache.getIfPresent(input);
+        if (result == null) {
+            result = minimizeUncached(input, oo);
+            if (result != null) {
+                cache.put(input, result);
+            }
+        }
+        return result;
+    }
+
+    private String minimizeUncached(String input, OutputOption oo) {
         String maximized = maximize(input, toMaximized);
         if (maximized == null) {
             return null;
@@ -260,7 +443,7 @@ public class LikelySubtags {
                 return ltp.set(trial)
                     .setVariants(variants)
                     .setExtensions(extensions)
-                    .setLocaleExtensions(extensions)
+                    .setLocaleExtensions(localeExtensions)
                     .toString(oo);
             }
         }
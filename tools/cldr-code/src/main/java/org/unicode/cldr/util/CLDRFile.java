@@ -28,6 +28,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
@@ -55,9 +57,15 @@ import org.xml.sax.helpers.XMLReaderFactory;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.ibm.icu.impl.Relation;
 import com.ibm.icu.impl.Row;
@@ -129,7 +137,8 @@ public class CLDRFile implements Freezable<CLDRFile>, Iterable<String>, LocaleSt
         "languageGroup", "likelySubtags", "metaZones", "numberingSystems", "ordinals", "pluralRanges", "plurals", "postalCodeData", "rgScope",
         "supplementalData", "supplementalMetadata", "telephoneCodeData", "units", "windowsZones");
 
-    private Set<String> extraPaths = null;
+    // computed on demand; replaced as a whole, so readers in other threads never see a partial set
+    private volatile ExtraPaths extraPaths = null;
 
     private boolean locked;
     private DtdType dtdType;
@@ -3303,17 +3312,27 @@ public class CLDRFile implements Freezable<CLDRFile>, Iterable<String>, LocaleSt
 
     /**
      * Returns the extra paths, skipping those that are already represented in the locale.
+     * Only the extra paths starting with the prefix are looked at, since they are kept sorted.
      *
      * @return
      */
     public Collection<String> getExtraPaths(String prefix, Collection<String> toAddTo) {
-        for (String item : getRawExtraPaths()) {
-            if (item.startsWith(prefix) && dataSource.getValueAtPath(item) == null) { // don't use getStringValue, since
+        ExtraPaths extras = getExtraPathsHolder();
+        addExtraPaths(extras.fromFile, prefix, Collections.<String> emptySet(), toAddTo);
+        addExtraPaths(extras.shared, prefix, extras.fromFile, toAddTo);
+        return toAddTo;
+    }
+
+    private void addExtraPaths(NavigableSet<String> paths, String prefix, Set<String> skip, Collection<String> toAddTo) {
+        for (String item : paths.tailSet(prefix, true)) {
+            if (!item.startsWith(prefix)) {
+                break;
+            }
+            if (!skip.contains(item) && dataSource.getValueAtPath(item) == null) { // don't use getStringValue, since
                 // it recurses.
                 toAddTo.add(item);
             }
         }
-        return toAddTo;
     }
 
     // extraPaths contains the raw extra paths.
@@ -3324,61 +3343,135 @@ public class CLDRFile implements Freezable<CLDRFile>, Iterable<String>, LocaleSt
      * @return
      */
     public Set<String> getRawExtraPaths() {
-        if (extraPaths == null) {
-            extraPaths = ImmutableSet.copyOf(getRawExtraPathsPrivate(new LinkedHashSet<String>()));
+        return getExtraPathsHolder().all;
+    }
+
+    private ExtraPaths getExtraPathsHolder() {
+        ExtraPaths result = extraPaths;
+        if (result == null) {
+            // Racing threads compute equal sets; whichever is stored last wins.
+            SupplementalDataInfo supplementalData = CLDRConfig.getInstance().getSupplementalDataInfo();
+            ExtraPathProfile profile = new ExtraPathProfile(supplementalData, getLocaleID());
+            TreeSet<String> fromFile = new TreeSet<>();
+            if (profile.pluralCounts.size() > 1) {
+                // we get all the root paths with count
+                addPluralCounts(fromFile, profile.pluralCounts, this);
+            }
+            result = new ExtraPaths(ImmutableSortedSet.copyOfSorted(fromFile), profile.getExtraPaths());
+            extraPaths = result;
             if (DEBUG) {
-                System.out.println(getLocaleID() + "\textras: " + extraPaths.size());
+                System.out.println(getLocaleID() + "\textras: " + result.all.size());
             }
         }
-        return extraPaths;
+        return result;
     }
 
     /**
-     * Add (possibly over four thousand) extra paths to the given collection.
-     *
-     * @param toAddTo the (initially empty) collection to which the paths should be added
-     * @return toAddTo (the collection)
-     *
-     * Called only by getRawExtraPaths.
-     *
-     * "Raw" refers to the fact that some of the paths may duplicate paths that are
-     * already in this CLDRFile (in the xml and/or votes), in which case they will
-     * later get filtered by getExtraPaths (removed from toAddTo) rather than re-added.
-     *
+     * The raw extra paths of a file: those built from the file's own paths, those shared by all locales
+     * with the same profile, and both together.
+     */
+    private static final class ExtraPaths {
+        private final NavigableSet<String> fromFile;
+        private final NavigableSet<String> shared;
+        private final Set<String> all;
+
+        ExtraPaths(NavigableSet<String> fromFile, NavigableSet<String> shared) {
+            this.fromFile = fromFile;
+            this.shared = shared;
+            this.all = fromFile.isEmpty() ? shared : Collections.unmodifiableSet(Sets.union(fromFile, shared));
+        }
+    }
+
+    /**
+     * Get the statistics for the cache of extra paths shared between locales.
+     */
+    public static CacheStats getExtraPathCacheStats() {
+        return ExtraPathProfile.CACHE.stats();
+    }
+
+    /**
+     * The inputs that determine the extra paths of a locale, apart from the count paths that are
+     * constructed from the file's own paths. Locales with equal profiles share one sorted set of extra
+     * paths, kept in a cache bounded by CLDR_EXTRA_PATHS_CACHE_SIZE.
+     * <p>
+     * Adding (possibly over four thousand) extra paths: "raw" refers to the fact that some of the paths
+     * may duplicate paths that are already in a CLDRFile (in the xml and/or votes), in which case they
+     * will later get filtered by getExtraPaths rather than re-added.
+     * <p>
      * NOTE: values may be null for some "extra" paths in locales for which no explicit
      * values have been submitted. Both unit tests and Survey Tool client code generate
      * errors or warnings for null value, but allow null value for certain exceptional
      * extra paths. See the functions named extraPathAllowsNullValue in TestPaths.java
      * and in the JavaScript client code. Make sure that updates here are reflected there
      * and vice versa.
-     *
+     * <p>
      * Reference: https://unicode-org.atlassian.net/browse/CLDR-11238
      */
-    private Collection<String> getRawExtraPathsPrivate(Collection<String> toAddTo) {
-        SupplementalDataInfo supplementalData = CLDRConfig.getInstance().getSupplementalDataInfo();
-        // units
-        PluralInfo plurals = supplementalData.getPlurals(PluralType.cardinal, getLocaleID());
-        if (plurals == null && DEBUG) {
-            System.err.println("No " + PluralType.cardinal + "  plurals for " + getLocaleID() + " in " + supplementalData.getDirectory().getAbsolutePath());
-        }
-        Set<Count> pluralCounts = Collections.emptySet();
-        if (plurals != null) {
-            pluralCounts = plurals.getCounts();
-            if (pluralCounts.size() != 1) {
-                // we get all the root paths with count
-                addPluralCounts(toAddTo, pluralCounts, this);
+    private static final class ExtraPathProfile {
+        private static final Cache<ExtraPathProfile, ImmutableSortedSet<String>> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(CLDRConfig.getInstance().getProperty("CLDR_EXTRA_PATHS_CACHE_SIZE", 1000))
+            .recordStats()
+            .build();
+
+        // The paths that are the same for every locale, so that the shared sets also share the strings.
+        private static volatile List<String> commonPaths = null;
+
+        private final ImmutableList<Count> pluralCounts;
+        private final ImmutableList<DayPeriod> dayPeriods; // empty if there are none
+        private final ImmutableList<String> genders;
+        private final ImmutableList<String> cases;
+        private final ImmutableList<Count> adjustedPlurals;
+        private final boolean hasGrammar;
+        // only used for the default gender, which is determined by the genders
+        private final GrammarInfo grammarInfo;
+
+        ExtraPathProfile(SupplementalDataInfo supplementalData, String locale) {
+            PluralInfo plurals = supplementalData.getPlurals(PluralType.cardinal, locale);
+            if (plurals == null && DEBUG) {
+                System.err.println("No " + PluralType.cardinal + "  plurals for " + locale + " in " + supplementalData.getDirectory().getAbsolutePath());
+            }
+            pluralCounts = plurals == null ? ImmutableList.<Count> of() : ImmutableList.copyOf(plurals.getCounts());
+
+            DayPeriodInfo dayPeriodInfo = supplementalData.getDayPeriods(DayPeriodInfo.Type.format, locale);
+            if (dayPeriodInfo == null) {
+                dayPeriods = ImmutableList.of();
+            } else {
+                LinkedHashSet<DayPeriod> items = new LinkedHashSet<>(dayPeriodInfo.getPeriods());
+                items.add(DayPeriod.am);
+                items.add(DayPeriod.pm);
+                dayPeriods = ImmutableList.copyOf(items);
+            }
+
+            grammarInfo = supplementalData.getGrammarInfo(locale, true);
+            hasGrammar = grammarInfo != null && grammarInfo.hasInfo(GrammaticalTarget.nominal);
+            if (hasGrammar) {
+                genders = ImmutableList.copyOf(grammarInfo.get(GrammaticalTarget.nominal, GrammaticalFeature.grammaticalGender, GrammaticalScope.units));
+                cases = ImmutableList.copyOf(grammarInfo.get(GrammaticalTarget.nominal, GrammaticalFeature.grammaticalCase, GrammaticalScope.units));
+                Collection<Count> nonComputable = GrammarInfo.NON_COMPUTABLE_PLURALS.get(locale);
+                adjustedPlurals = nonComputable.isEmpty() ? pluralCounts : ImmutableList.copyOf(nonComputable);
+            } else {
+                genders = ImmutableList.of();
+                cases = ImmutableList.of();
+                adjustedPlurals = ImmutableList.of();
             }
         }
-        // dayPeriods
-        String locale = getLocaleID();
-        DayPeriodInfo dayPeriods = supplementalData.getDayPeriods(DayPeriodInfo.Type.format, locale);
-        if (dayPeriods != null) {
-            LinkedHashSet<DayPeriod> items = new LinkedHashSet<>(dayPeriods.getPeriods());
-            items.add(DayPeriod.am);
-            items.add(DayPeriod.pm);
+
+        ImmutableSortedSet<String> getExtraPaths() {
+            ImmutableSortedSet<String> result = CACHE.getIfPresent(this);
+            if (result == null) {
+                result = computeExtraPaths(CLDRConfig.getInstance().getSupplementalDataInfo());
+                CACHE.put(this, result);
+            }
+            return result;
+        }
+
+        private ImmutableSortedSet<String> computeExtraPaths(SupplementalDataInfo supplementalData) {
+            Collection<String> toAddTo = new TreeSet<>(getCommonPaths(supplementalData));
+
+            // dayPeriods
             for (String context : new String[] { "format", "stand-alone" }) {
                 for (String width : new String[] { "narrow", "abbreviated", "wide" }) {
-                    for (DayPeriod dayPeriod : items) {
+                    for (DayPeriod dayPeriod : dayPeriods) {
                         // ldml/dates/calendars/calendar[@type="gregorian"]/dayPeriods/dayPeriodContext[@type="format"]/dayPeriodWidth[@type="wide"]/dayPeriod[@type="am"]
                         toAddTo.add("//ldml/dates/calendars/calendar[@type=\"gregorian\"]/dayPeriods/" +
                             "dayPeriodContext[@type=\"" + context
@@ -3387,65 +3480,20 @@ public class CLDRFile implements Freezable<CLDRFile>, Iterable<String>, LocaleSt
                     }
                 }
             }
-        }
 
-        // metazones
-        Set<String> zones = supplementalData.getAllMetazones();
-
-        for (String zone : zones) {
-            for (String width : new String[] { "long", "short" }) {
-                for (String type : new String[] { "generic", "standard", "daylight" }) {
-                    toAddTo.add("//ldml/dates/timeZoneNames/metazone[@type=\"" + zone + "\"]/" + width + "/" + type);
-                }
-            }
-        }
-
-        // Individual zone overrides
-        final String[] overrides = {
-            "Pacific/Honolulu\"]/short/generic",
-            "Pacific/Honolulu\"]/short/standard",
-            "Pacific/Honolulu\"]/short/daylight",
-            "Europe/Dublin\"]/long/daylight",
-            "Europe/London\"]/long/daylight",
-            "Etc/UTC\"]/long/standard",
-            "Etc/UTC\"]/short/standard"
-        };
-        for (String override : overrides) {
-            toAddTo.add("//ldml/dates/timeZoneNames/zone[@type=\"" + override);
-        }
-
-        // Currencies
-        Set<String> codes = supplementalData.getBcp47Keys().getAll("cu");
-        for (String code : codes) {
-            String currencyCode = code.toUpperCase();
-            toAddTo.add("//ldml/numbers/currencies/currency[@type=\"" + currencyCode + "\"]/symbol");
-            toAddTo.add("//ldml/numbers/currencies/currency[@type=\"" + currencyCode + "\"]/displayName");
+            // Currencies with counts
             if (!pluralCounts.isEmpty()) {
-                for (Count count : pluralCounts) {
-                    toAddTo.add("//ldml/numbers/currencies/currency[@type=\"" + currencyCode + "\"]/displayName[@count=\"" + count.toString() + "\"]");
+                for (String code : supplementalData.getBcp47Keys().getAll("cu")) {
+                    String currencyCode = code.toUpperCase();
+                    for (Count count : pluralCounts) {
+                        toAddTo.add("//ldml/numbers/currencies/currency[@type=\"" + currencyCode + "\"]/displayName[@count=\"" + count.toString() + "\"]");
+                    }
                 }
             }
-        }
-
-        // grammatical info
 
-        GrammarInfo grammarInfo = supplementalData.getGrammarInfo(getLocaleID(), true);
-
-        if ("de".equals(getLocaleID())) {
-            int debug = 0;
-        }
-
-        if (grammarInfo != null) {
-            if (grammarInfo.hasInfo(GrammaticalTarget.nominal)) {
-                Collection<String> genders = grammarInfo.get(GrammaticalTarget.nominal, GrammaticalFeature.grammaticalGender, GrammaticalScope.units);
-                Collection<String> rawCases = grammarInfo.get(GrammaticalTarget.nominal, GrammaticalFeature.grammaticalCase, GrammaticalScope.units);
-                Collection<String> nomCases = rawCases.isEmpty() ? casesNominativeOnly : rawCases;
-                Collection<Count> adjustedPlurals = GrammarInfo.NON_COMPUTABLE_PLURALS.get(locale);
-                if (adjustedPlurals.isEmpty()) {
-                    adjustedPlurals = pluralCounts;
-                } else {
-                    int debug = 0;
-                }
+            // grammatical info
+            if (hasGrammar) {
+                Collection<String> nomCases = cases.isEmpty() ? casesNominativeOnly : cases;
 
                 // TODO use UnitPathType to get paths
                 if (!genders.isEmpty()) {
@@ -3469,26 +3517,88 @@ public class CLDRFile implements Freezable<CLDRFile>, Iterable<String>, LocaleSt
                         toAddTo.add("//ldml/numbers/minimalPairs/genderMinimalPairs[@gender=\"" + gender + "\"]");
                     }
                 }
-                if (!rawCases.isEmpty()) {
-                    for (String case1 : rawCases) {
-                        //          <caseMinimalPairs case="nominative">{0} kostet €3,50.</caseMinimalPairs>
-                        toAddTo.add("//ldml/numbers/minimalPairs/caseMinimalPairs[@case=\"" + case1 + "\"]");
-
-                        for (Count plural : adjustedPlurals) {
-                            for (String unit : GrammarInfo.SPECIAL_TRANSLATION_UNITS) {
-                                toAddTo.add("//ldml/units/unitLength[@type=\"long\"]/unit[@type=\"" + unit + "\"]/unitPattern"
-                                    + GrammarInfo.getGrammaticalInfoAttributes(grammarInfo, UnitPathType.unit, plural.toString(), null, case1));
-                            }
+                for (String case1 : cases) {
+                    //          <caseMinimalPairs case="nominative">{0} kostet €3,50.</caseMinimalPairs>
+                    toAddTo.add("//ldml/numbers/minimalPairs/caseMinimalPairs[@case=\"" + case1 + "\"]");
+
+                    for (Count plural : adjustedPlurals) {
+                        for (String unit : GrammarInfo.SPECIAL_TRANSLATION_UNITS) {
+                            toAddTo.add("//ldml/units/unitLength[@type=\"long\"]/unit[@type=\"" + unit + "\"]/unitPattern"
+                                + GrammarInfo.getGrammaticalInfoAttributes(grammarInfo, UnitPathType.unit, plural.toString(), null, case1));
                         }
                     }
                 }
             }
+            return ImmutableSortedSet.copyOf(toAddTo);
+        }
+
+        /**
+         * The metazone, zone override, and currency paths, which don't depend on the locale.
+         */
+        private static List<String> getCommonPaths(SupplementalDataInfo supplementalData) {
+            List<String> result = commonPaths;
+            if (result != null) {
+                return result;
+            }
+            List<String> toAddTo = new ArrayList<>();
+
+            // metazones
+            for (String zone : supplementalData.getAllMetazones()) {
+                for (String width : new String[] { "long", "short" }) {
+                    for (String type : new String[] { "generic", "standard", "daylight" }) {
+                        toAddTo.add("//ldml/dates/timeZoneNames/metazone[@type=\"" + zone + "\"]/" + width + "/" + type);
+                    }
+                }
+            }
+
+            // Individual zone overrides
+            final String[] overrides = {
+                "Pacific/Honolulu\"]/short/generic",
+                "Pacific/Honolulu\"]/short/standard",
+                "Pacific/Honolulu\"]/short/daylight",
+                "Europe/Dublin\"]/long/daylight",
+                "Europe/London\"]/long/daylight",
+                "Etc/UTC\"]/long/standard",
+                "Etc/UTC\"]/short/standard"
+            };
+            for (String override : overrides) {
+                toAddTo.add("//ldml/dates/timeZoneNames/zone[@type=\"" + override);
+            }
+
+            // Currencies
+            for (String code : supplementalData.getBcp47Keys().getAll("cu")) {
+                String currencyCode = code.toUpperCase();
+                toAddTo.add("//ldml/numbers/currencies/currency[@type=\"" + currencyCode + "\"]/symbol");
+                toAddTo.add("//ldml/numbers/currencies/currency[@type=\"" + currencyCode + "\"]/displayName");
+            }
+            return commonPaths = ImmutableList.copyOf(toAddTo);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ExtraPathProfile)) {
+                return false;
+            }
+            ExtraPathProfile other = (ExtraPathProfile) obj;
+            return hasGrammar == other.hasGrammar
+                && pluralCounts.equals(other.pluralCounts)
+                && dayPeriods.equals(other.dayPeriods)
+                && genders.equals(other.genders)
+                && cases.equals(other.cases)
+                && adjustedPlurals.equals(other.adjustedPlurals);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hasGrammar, pluralCounts, dayPeriods, genders, cases, adjustedPlurals);
         }
-        return toAddTo;
     }
 
     private void addPluralCounts(Collection<String> toAddTo,
-        final Set<Count> pluralCounts,
+        final Collection<Count> pluralCounts,
         Iterable<String> file) {
         for (String path : file) {
             String countAttr = "[@count=\"other\"]";
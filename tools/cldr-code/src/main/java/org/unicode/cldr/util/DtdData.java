@@ -25,11 +25,18 @@ import java.util.regex.Pattern;
 import com.google.common.base.CharMatcher;
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSet.Builder;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.TreeMultimap;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.ibm.icu.impl.Relation;
 import com.ibm.icu.text.Transform;
 
@@ -44,6 +51,7 @@ public class DtdData extends XMLFileReader.SimpleHandler {
 
     private static final boolean DEBUG = false;
     private static final Pattern FILLER = PatternCache.get("[^-a-zA-Z0-9#_:]");
+    private static final int SORT_KEY_CACHE_SIZE = CLDRConfig.getInstance().getProperty("CLDR_DTD_SORT_KEY_CACHE_SIZE", 200000);
 
     private final Relation<String, Attribute> nameToAttributes = Relation.of(new TreeMap<String, Set<Attribute>>(), LinkedHashSet.class);
     private Map<String, Element> nameToElement = new HashMap<>();
@@ -801,12 +809,158 @@ public class DtdData extends XMLFileReader.SimpleHandler {
         return dtdComparator;
     }
 
+    // Sort key codes. Element ordinals are >= 0; at an attribute position, absent sorts before present.
+    private static final int ABSENT = -3;
+    private static final int PRESENT = -2;
+    private static final int FALLBACK = Integer.MIN_VALUE;
+
+    private final LoadingCache<String, PathSortKey> sortKeys = CacheBuilder.newBuilder()
+        .maximumSize(SORT_KEY_CACHE_SIZE)
+        .recordStats()
+        .build(CacheLoader.from(this::makeSortKey));
+
+    /**
+     * A precomputed key for sorting a distinguishing path in DTD order, with the same ordering as
+     * {@link DtdComparator}. The key is a sequence of element ordinals and attribute presence codes,
+     * in the order the comparator visits them, plus the attribute values that need a value comparison.
+     * Paths that the key can't represent (fake elements used in diffing, _q attributes, or elements and
+     * attributes not in the DTD) have a fallback code, and are compared with {@link DtdComparator#xpathComparator}.
+     * Immutable, so it can be shared across threads.
+     */
+    public final class PathSortKey implements Comparable<PathSortKey> {
+        private final String path;
+        private final int size;
+        private final int[] codes;
+        private final String[] values;
+        private final Attribute[] valueAttributes;
+
+        private PathSortKey(String path, int size, int[] codes, String[] values, Attribute[] valueAttributes) {
+            this.path = path;
+            this.size = size;
+            this.codes = codes;
+            this.values = values;
+            this.valueAttributes = valueAttributes;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        @Override
+        public int compareTo(PathSortKey other) {
+            int min = Math.min(codes.length, other.codes.length);
+            int valueIndex = 0;
+            for (int i = 0; i < min; ++i) {
+                int codeA = codes[i];
+                int codeB = other.codes[i];
+                if (codeA == FALLBACK || codeB == FALLBACK) {
+                    return fallback(other);
+                }
+                if (codeA != codeB) {
+                    return codeA - codeB;
+                }
+                if (codeA == PRESENT) {
+                    String valueA = values[valueIndex];
+                    String valueB = other.values[valueIndex];
+                    if (!valueA.equals(valueB)) {
+                        return compareValues(valueAttributes[valueIndex], valueA, valueB);
+                    }
+                    ++valueIndex;
+                }
+            }
+            // the prefixes are the same, so the next code of a longer key is for the next element
+            if (codes.length > min && codes[min] == FALLBACK
+                || other.codes.length > min && other.codes[min] == FALLBACK) {
+                return fallback(other);
+            }
+            return size - other.size;
+        }
+
+        private int fallback(PathSortKey other) {
+            return dtdComparator.xpathComparator(XPathParts.getFrozenInstance(path),
+                XPathParts.getFrozenInstance(other.path));
+        }
+
+        @Override
+        public String toString() {
+            return path;
+        }
+    }
+
+    /**
+     * Return the sort key for a distinguishing path in this DTD. The keys are cached.
+     */
+    public PathSortKey getSortKey(String path) {
+        try {
+            return sortKeys.getUnchecked(path);
+        } catch (UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
+    public CacheStats getSortKeyCacheStats() {
+        return sortKeys.stats();
+    }
+
+    private PathSortKey makeSortKey(String path) {
+        XPathParts parts = XPathParts.getFrozenInstance(path);
+        List<Integer> codes = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        List<Attribute> valueAttributes = new ArrayList<>();
+        if (!ROOT.name.equals(parts.getElement(0))) {
+            codes.add(FALLBACK); // the comparator throws the exception
+        } else {
+            Element parent = ROOT;
+            for (int i = 1; i < parts.size(); ++i) {
+                String elementName = parts.getElement(i);
+                Element element = elementName.startsWith("_") ? null : nameToElement.get(elementName);
+                Integer ordinal = element == null ? null : parent.children.get(element);
+                if (ordinal == null || parts.getAttributeValue(i, "_q") != null) {
+                    codes.add(FALLBACK);
+                    break;
+                }
+                codes.add(ordinal);
+                int count = parts.getAttributeCount(i);
+                for (Attribute attribute : element.attributes.keySet()) {
+                    String value = parts.getAttributeValue(i, attribute.name);
+                    if (value == null) {
+                        codes.add(ABSENT);
+                    } else {
+                        codes.add(PRESENT);
+                        values.add(value);
+                        valueAttributes.add(attribute);
+                        --count;
+                    }
+                }
+                if (count != 0) { // attributes not in the DTD
+                    codes.add(FALLBACK);
+                    break;
+                }
+                parent = element;
+            }
+        }
+        return new PathSortKey(path, parts.size(), Ints.toArray(codes),
+            values.toArray(new String[values.size()]),
+            valueAttributes.toArray(new Attribute[valueAttributes.size()]));
+    }
+
+    private static int compareValues(Attribute main, String valueA, String valueB) {
+        if (main.attributeValueComparator != null) {
+            return main.attributeValueComparator.compare(valueA, valueB);
+        } else if (main.values.size() != 0) {
+            int aa = main.values.get(valueA);
+            int bb = main.values.get(valueB);
+            return aa - bb;
+        } else {
+            return valueA.compareTo(valueB);
+        }
+    }
+
     public class DtdComparator implements Comparator<String> {
         @Override
         public int compare(String path1, String path2) {
-            XPathParts a = XPathParts.getFrozenInstance(path1);
-            XPathParts b = XPathParts.getFrozenInstance(path2);
-            return xpathComparator(a, b);
+            return getSortKey(path1).compareTo(getSortKey(path2));
         }
 
         public int xpathComparator(XPathParts a, XPathParts b) {
@@ -877,14 +1031,8 @@ public class DtdData extends XMLFileReader.SimpleHandler {
                             break attributes;
                         }
                         continue; // TODO
-                    } else if (main.attributeValueComparator != null) {
-                        return main.attributeValueComparator.compare(valueA, valueB);
-                    } else if (main.values.size() != 0) {
-                        int aa = main.values.get(valueA);
-                        int bb = main.values.get(valueB);
-                        return aa - bb;
                     } else {
-                        return valueA.compareTo(valueB);
+                        return compareValues(main, valueA, valueB);
                     }
                 }
                 if (countA != 0 || countB != 0) {
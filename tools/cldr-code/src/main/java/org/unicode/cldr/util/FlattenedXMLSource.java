@@ -0,0 +1,412 @@
+package org.unicode.cldr.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.unicode.cldr.util.XPathParts.Comments;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.ibm.icu.util.Output;
+
+/**
+ * A fully resolved locale, materialized once into an immutable table from each path to its value, full path,
+ * source locale, path where found, and Bailey value (with its path and locale). Lookups of the paths in the
+ * table read it directly, with no locking, so a {@link CLDRFile} made from this source is suited to read-only
+ * work that reads many values, such as conversions and charts.
+ * <p>
+ * The table holds the paths of the resolved file and its extra paths. Other paths are passed on to the
+ * resolving source the table was built from; when the table has been read from disk there is none, and
+ * such paths are treated as not present, as for paths that are not in root.
+ * <p>
+ * The table can be written to a file and read back with {@link #writeTo} and {@link #readFrom}. The comments
+ * of the locale are not written, and nothing checks whether the file is older than the data: the caller
+ * must rebuild it when the data changes.
+ */
+public class FlattenedXMLSource extends XMLSource {
+    public static final String FORMAT_KEY = "flattened-1";
+
+    /**
+     * The resolution of one path.
+     */
+    private static final class Resolution {
+        private final String value;
+        private final String fullPath;
+        private final String sourceLocale;
+        private final String pathWhereFound;
+        private final String baileyValue;
+        private final String baileyPath;
+        private final String baileyLocale;
+
+        private Resolution(String value, String fullPath, String sourceLocale, String pathWhereFound,
+            String baileyValue, String baileyPath, String baileyLocale) {
+            this.value = value;
+            this.fullPath = fullPath;
+            this.sourceLocale = sourceLocale;
+            this.pathWhereFound = pathWhereFound;
+            this.baileyValue = baileyValue;
+            this.baileyPath = baileyPath;
+            this.baileyLocale = baileyLocale;
+        }
+
+        private String[] toArray() {
+            return new String[] { value, fullPath, sourceLocale, pathWhereFound, baileyValue, baileyPath, baileyLocale };
+        }
+    }
+
+    private static final int FIELD_COUNT = 7;
+
+    private final ImmutableList<String> paths;
+    private final ImmutableMap<String, Resolution> table;
+    private final XMLSource unresolved;
+    private final XMLSource fallback; // null if read from disk
+
+    private FlattenedXMLSource(String localeID, DtdType dtdType, List<String> paths, Map<String, Resolution> table,
+        XMLSource unresolved, XMLSource fallback) {
+        setLocaleID(localeID);
+        setXMLNormalizingDtdType(dtdType);
+        this.paths = ImmutableList.copyOf(paths);
+        this.table = ImmutableMap.copyOf(table);
+        this.unresolved = unresolved;
+        this.fallback = fallback;
+        locked = true;
+    }
+
+    /**
+     * Materialize the resolution of a resolved file.
+     */
+    public static FlattenedXMLSource flatten(CLDRFile resolved) {
+        XMLSource source = resolved.dataSource;
+        if (source instanceof FlattenedXMLSource) {
+            return (FlattenedXMLSource) source;
+        }
+        if (!source.isResolving()) {
+            throw new IllegalArgumentException("Only resolved files can be flattened: " + resolved.getLocaleID());
+        }
+        List<String> paths = new ArrayList<>();
+        Map<String, Resolution> table = new HashMap<>();
+        for (String path : source) {
+            paths.add(path);
+            table.put(path, resolve(source, path));
+        }
+        for (String path : resolved.getRawExtraPaths()) {
+            if (!table.containsKey(path)) {
+                table.put(path, resolve(source, path));
+            }
+        }
+        XMLSource unresolved = source.getUnresolving();
+        return new FlattenedXMLSource(source.getLocaleID(), unresolved.getXMLNormalizingDtdType(), paths, table,
+            unresolved, source);
+    }
+
+    private static Resolution resolve(XMLSource source, String path) {
+        CLDRFile.Status status = new CLDRFile.Status();
+        String sourceLocale = source.getSourceLocaleID(path, status);
+        Output<String> baileyPath = new Output<>();
+        Output<String> baileyLocale = new Output<>();
+        String baileyValue = source.getBaileyValue(path, baileyPath, baileyLocale);
+        // share the path itself where the other paths are the same, which is most of the time
+        return new Resolution(source.getValueAtDPath(path),
+            same(path, source.getFullPathAtDPath(path)),
+            sourceLocale,
+            same(path, status.pathWhereFound),
+            baileyValue,
+            same(path, baileyPath.value),
+            baileyLocale.value);
+    }
+
+    private static String same(String path, String other) {
+        return path.equals(other) ? path : other;
+    }
+
+    /**
+     * Make a flattened, frozen CLDRFile for the locale.
+     */
+    public static CLDRFile make(Factory factory, String localeID) {
+        return new CLDRFile(flatten(factory.make(localeID, true))).freeze();
+    }
+
+    /**
+     * Make flattened, frozen CLDRFiles for the locales, in parallel.
+     *
+     * @return a map from locale to file, sorted by locale
+     */
+    public static Map<String, CLDRFile> makeAll(Factory factory, Collection<String> localeIDs) {
+        Map<String, CLDRFile> result = new ConcurrentHashMap<>();
+        localeIDs.parallelStream().forEach(localeID -> result.put(localeID, make(factory, localeID)));
+        return new TreeMap<>(result);
+    }
+
+    /**
+     * The number of paths with a stored resolution, including the extra paths.
+     */
+    public int getTableSize() {
+        return table.size();
+    }
+
+    @Override
+    public boolean isResolving() {
+        return true;
+    }
+
+    @Override
+    public XMLSource getUnresolving() {
+        return unresolved;
+    }
+
+    @Override
+    public String getValueAtDPath(String path) {
+        Resolution resolution = table.get(path);
+        if (resolution != null) {
+            return resolution.value;
+        }
+        return fallback == null ? null : fallback.getValueAtDPath(path);
+    }
+
+    @Override
+    public String getFullPathAtDPath(String path) {
+        Resolution resolution = table.get(path);
+        if (resolution != null) {
+            return resolution.fullPath;
+        }
+        return fallback == null ? null : fallback.getFullPathAtDPath(path);
+    }
+
+    @Override
+    public String getSourceLocaleID(String path, CLDRFile.Status status) {
+        Resolution resolution = table.get(path);
+        if (resolution == null) {
+            if (fallback != null) {
+                return fallback.getSourceLocaleID(path, status);
+            }
+            resolution = missing(path);
+        }
+        if (status != null) {
+            status.pathWhereFound = resolution.pathWhereFound;
+        }
+        return resolution.sourceLocale;
+    }
+
+    /**
+     * The table is built skipping inheritance markers; the other case is passed on to the resolving source.
+     * A table read from disk has none, so it gives the answer that skips inheritance markers either way.
+     */
+    @Override
+    public String getSourceLocaleIdExtended(String path, CLDRFile.Status status, boolean skipInheritanceMarker) {
+        if (!skipInheritanceMarker && fallback != null) {
+            return fallback.getSourceLocaleIdExtended(path, status, skipInheritanceMarker);
+        }
+        return getSourceLocaleID(path, status);
+    }
+
+    /**
+     * Only tests the locale's own level, as for a resolving source.
+     */
+    @Override
+    public boolean isHere(String path) {
+        return unresolved.isHere(path);
+    }
+
+    /**
+     * Change dates aren't stored in the table; they come from the resolving source, if there is one.
+     */
+    @Override
+    public Date getChangeDateAtDPath(String path) {
+        return fallback == null ? null : fallback.getChangeDateAtDPath(path);
+    }
+
+    @Override
+    public String getBaileyValue(String path, Output<String> pathWhereFound, Output<String> localeWhereFound) {
+        Resolution resolution = table.get(path);
+        if (resolution == null) {
+            if (fallback != null) {
+                return fallback.getBaileyValue(path, pathWhereFound, localeWhereFound);
+            }
+            resolution = missing(path);
+        }
+        if (pathWhereFound != null) {
+            pathWhereFound.value = resolution.baileyPath;
+        }
+        if (localeWhereFound != null) {
+            localeWhereFound.value = resolution.baileyLocale;
+        }
+        return resolution.baileyValue;
+    }
+
+    private static Resolution missing(String path) {
+        return new Resolution(null, null, CODE_FALLBACK_ID, path, null, path, CODE_FALLBACK_ID);
+    }
+
+    @Override
+    public String getWinningPath(String path) {
+        return unresolved.getWinningPath(path);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return paths.iterator();
+    }
+
+    @Override
+    public void getPathsWithValue(String valueToMatch, String pathPrefix, Set<String> result) {
+        String norm = SimpleXMLSource.normalize(valueToMatch);
+        for (String path : paths) {
+            if (pathPrefix == null || path.startsWith(pathPrefix)) {
+                String value = table.get(path).value;
+                if (value != null && !CldrUtility.INHERITANCE_MARKER.equals(value)
+                    && SimpleXMLSource.normalize(value).equals(norm)) {
+                    result.add(path);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Comments getXpathComments() {
+        return unresolved.getXpathComments();
+    }
+
+    @Override
+    public void setXpathComments(Comments comments) {
+        throw new UnsupportedOperationException("Resolved CLDRFiles are read-only");
+    }
+
+    @Override
+    public void putFullPathAtDPath(String distinguishingXPath, String fullxpath) {
+        throw new UnsupportedOperationException("Resolved CLDRFiles are read-only");
+    }
+
+    @Override
+    public void putValueAtDPath(String distinguishingXPath, String value) {
+        throw new UnsupportedOperationException("Resolved CLDRFiles are read-only");
+    }
+
+    @Override
+    public void removeValueAtDPath(String distinguishingXPath) {
+        throw new UnsupportedOperationException("Resolved CLDRFiles are read-only");
+    }
+
+    @Override
+    public XMLSource freeze() {
+        return this; // already read-only
+    }
+
+    @Override
+    public XMLSource cloneAsThawed() {
+        throw new UnsupportedOperationException("Resolved CLDRFiles are read-only");
+    }
+
+    /**
+     * Write the table to a file. All the strings are written once, and the table refers to them by index.
+     */
+    public void writeTo(File file) throws IOException {
+        Map<String, Integer> stringToId = new LinkedHashMap<>();
+        // the paths of the file come first, then the extra paths
+        Set<String> pathList = new LinkedHashSet<>(paths);
+        pathList.addAll(table.keySet());
+        for (String path : pathList) {
+            addString(path, stringToId);
+            for (String s : table.get(path).toArray()) {
+                addString(s, stringToId);
+            }
+        }
+        DtdType dtdType = getXMLNormalizingDtdType();
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            XMLSourceBinaryCache.writeString(out, FORMAT_KEY);
+            XMLSourceBinaryCache.writeString(out, getLocaleID());
+            XMLSourceBinaryCache.writeString(out, dtdType == null ? null : dtdType.name());
+            out.writeInt(stringToId.size());
+            for (String s : stringToId.keySet()) {
+                XMLSourceBinaryCache.writeString(out, s);
+            }
+            out.writeInt(paths.size());
+            out.writeInt(pathList.size());
+            for (String path : pathList) {
+                out.writeInt(stringToId.get(path));
+                for (String s : table.get(path).toArray()) {
+                    out.writeInt(s == null ? -1 : stringToId.get(s));
+                }
+            }
+        }
+    }
+
+    private static void addString(String s, Map<String, Integer> stringToId) {
+        if (s != null && !stringToId.containsKey(s)) {
+            stringToId.put(s, stringToId.size());
+        }
+    }
+
+    /**
+     * Read a table written by {@link #writeTo}. The unresolved source is rebuilt from the paths found in the locale itself.
+     */
+    public static FlattenedXMLSource readFrom(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return readFrom(in, file);
+        }
+    }
+
+    private static FlattenedXMLSource readFrom(DataInputStream in, File file) throws IOException {
+        String formatKey = XMLSourceBinaryCache.readString(in);
+        if (!FORMAT_KEY.equals(formatKey)) {
+            throw new IOException("Not a flattened source: " + file + ", format " + formatKey);
+        }
+        String localeID = XMLSourceBinaryCache.readString(in);
+        String dtdTypeName = XMLSourceBinaryCache.readString(in);
+        DtdType dtdType = dtdTypeName == null ? null : DtdType.valueOf(dtdTypeName);
+
+        String[] strings = new String[in.readInt()];
+        for (int i = 0; i < strings.length; ++i) {
+            strings[i] = XMLSourceBinaryCache.readString(in);
+        }
+        int pathCount = in.readInt();
+        int tableSize = in.readInt();
+        List<String> paths = new ArrayList<>(pathCount);
+        Map<String, Resolution> table = new HashMap<>(tableSize * 2);
+        String[] fields = new String[FIELD_COUNT];
+        for (int i = 0; i < tableSize; ++i) {
+            String path = strings[in.readInt()];
+            for (int j = 0; j < FIELD_COUNT; ++j) {
+                int id = in.readInt();
+                fields[j] = id < 0 ? null : strings[id];
+            }
+            if (i < pathCount) {
+                paths.add(path);
+            }
+            table.put(path, new Resolution(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6]));
+        }
+
+        SimpleXMLSource unresolved = new SimpleXMLSource(localeID);
+        unresolved.setXMLNormalizingDtdType(dtdType);
+        for (String path : paths) {
+            Resolution resolution = table.get(path);
+            if (localeID.equals(resolution.sourceLocale) && path.equals(resolution.pathWhereFound)
+                && resolution.value != null) {
+                unresolved.putValueAtDPath(path, resolution.value);
+                if (resolution.fullPath != null && !path.equals(resolution.fullPath)) {
+                    unresolved.putFullPathAtDPath(path, resolution.fullPath);
+                }
+            }
+        }
+        unresolved.freeze();
+        return new FlattenedXMLSource(localeID, dtdType, paths, table, unresolved, null);
+    }
+}
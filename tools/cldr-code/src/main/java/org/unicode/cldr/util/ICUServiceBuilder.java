@@ -4,15 +4,27 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.regex.Matcher;
 
 import org.unicode.cldr.util.CLDRFile.Status;
 import org.unicode.cldr.util.DayPeriodInfo.DayPeriod;
 import org.unicode.cldr.util.SupplementalDataInfo.CurrencyNumberInfo;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.ibm.icu.text.DateFormat;
 import com.ibm.icu.text.DateFormatSymbols;
 import com.ibm.icu.text.DecimalFormat;
@@ -33,7 +45,7 @@ public class ICUServiceBuilder {
     public static Currency NO_CURRENCY = Currency.getInstance("XXX");
     private CLDRFile cldrFile;
     private CLDRFile collationFile;
-    private static Map<CLDRLocale, ICUServiceBuilder> ISBMap = new HashMap<>();
+    private static final Map<CLDRLocale, ICUServiceBuilder> ISBMap = new HashMap<>();
 
     private static TimeZone utc = TimeZone.getTimeZone("GMT");
     private static DateFormat iso = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", ULocale.ENGLISH);
@@ -54,11 +66,73 @@ public class ICUServiceBuilder {
         return iso.parse(date);
     }
 
-    private Map<String, SimpleDateFormat> cacheDateFormats = new HashMap<>();
-    private Map<String, DateFormatSymbols> cacheDateFormatSymbols = new HashMap<>();
-    private Map<String, NumberFormat> cacheNumberFormats = new HashMap<>();
-    private Map<String, DecimalFormatSymbols> cacheDecimalFormatSymbols = new HashMap<>();
-    private Map<String, RuleBasedCollator> cacheRuleBasedCollators = new HashMap<>();
+    private static final int CACHE_SIZE = CLDRConfig.getInstance().getProperty("CLDR_ICU_FORMATTER_CACHE_SIZE", 1000);
+
+    /**
+     * The formatters, symbols and collators built for one CLDRFile. Thread-safe. The cached objects
+     * are never handed out, only clones of them, so they are never modified after they are built.
+     */
+    private static final class FormatterCache {
+        private final Cache<String, SimpleDateFormat> dateFormats = newCache();
+        private final Cache<String, DateFormatSymbols> dateFormatSymbols = newCache();
+        private final Cache<String, NumberFormat> numberFormats = newCache();
+        private final Cache<String, DecimalFormatSymbols> decimalFormatSymbols = newCache();
+        private final Cache<String, RuleBasedCollator> ruleBasedCollators = newCache();
+        private volatile CurrencySpacing currencySpacing;
+
+        private static <V> Cache<String, V> newCache() {
+            return CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).recordStats().build();
+        }
+
+        private Map<String, CacheStats> getStats() {
+            Map<String, CacheStats> result = new LinkedHashMap<>();
+            result.put("dateFormats", dateFormats.stats());
+            result.put("dateFormatSymbols", dateFormatSymbols.stats());
+            result.put("numberFormats", numberFormats.stats());
+            result.put("decimalFormatSymbols", decimalFormatSymbols.stats());
+            result.put("ruleBasedCollators", ruleBasedCollators.stats());
+            return result;
+        }
+    }
+
+    /**
+     * The formatters for frozen CLDRFiles are shared by all the builders (in all threads) for the same file.
+     * A file that isn't frozen may change, so each builder for it has its own formatters, as before.
+     */
+    private static final LoadingCache<CLDRFile, FormatterCache> SHARED_FORMATTERS = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build(CacheLoader.from(file -> new FormatterCache()));
+
+    private FormatterCache formatters = new FormatterCache();
+
+    private static <V> V getCached(Cache<String, V> cache, String key, Callable<V> loader) {
+        try {
+            return cache.get(key, loader);
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalArgumentException(e.getCause());
+        }
+    }
+
+    /**
+     * Get the statistics for the formatters used by this builder.
+     */
+    public Map<String, CacheStats> getCacheStats() {
+        return formatters.getStats();
+    }
+
+    /**
+     * Get the statistics for the formatters shared across builders, summed over all files.
+     */
+    public static Map<String, CacheStats> getSharedCacheStats() {
+        Map<String, CacheStats> result = new LinkedHashMap<>();
+        for (FormatterCache cache : SHARED_FORMATTERS.asMap().values()) {
+            for (Entry<String, CacheStats> entry : cache.getStats().entrySet()) {
+                result.merge(entry.getKey(), entry.getValue(), CacheStats::plus);
+            }
+        }
+        return result;
+    }
 
     private SupplementalDataInfo supplementalData;
 
@@ -98,42 +172,41 @@ public class ICUServiceBuilder {
         this.cldrFile = cldrFile;
         supplementalData = CLDRConfig.getInstance().getSupplementalDataInfo();
         // SupplementalDataInfo.getInstance(this.cldrFile.getSupplementalDirectory());
-        cacheDateFormats.clear();
-        cacheNumberFormats.clear();
-        cacheDateFormatSymbols.clear();
-        cacheDecimalFormatSymbols.clear();
-        cacheRuleBasedCollators.clear();
+        formatters = getFormatters(cldrFile);
         return this;
     }
 
+    private static FormatterCache getFormatters(CLDRFile cldrFile) {
+        return cldrFile != null && cldrFile.isFrozen() ? SHARED_FORMATTERS.getUnchecked(cldrFile) : new FormatterCache();
+    }
+
     public static ICUServiceBuilder forLocale(CLDRLocale locale) {
+        synchronized (ISBMap) {
+            ICUServiceBuilder result = ISBMap.get(locale);
 
-        ICUServiceBuilder result = ISBMap.get(locale);
+            if (result == null) {
+                result = new ICUServiceBuilder();
 
-        if (result == null) {
-            result = new ICUServiceBuilder();
+                if (locale != null) {
+                    result.cldrFile = Factory.make(CLDRPaths.MAIN_DIRECTORY, ".*").make(locale.getBaseName(), true);
+                    result.collationFile = Factory.make(CLDRPaths.COLLATION_DIRECTORY, ".*").makeWithFallback(locale.getBaseName());
+                }
+                result.supplementalData = SupplementalDataInfo.getInstance(CLDRPaths.DEFAULT_SUPPLEMENTAL_DIRECTORY);
+                result.formatters = getFormatters(result.cldrFile);
 
-            if (locale != null) {
-                result.cldrFile = Factory.make(CLDRPaths.MAIN_DIRECTORY, ".*").make(locale.getBaseName(), true);
-                result.collationFile = Factory.make(CLDRPaths.COLLATION_DIRECTORY, ".*").makeWithFallback(locale.getBaseName());
+                ISBMap.put(locale, result);
             }
-            result.supplementalData = SupplementalDataInfo.getInstance(CLDRPaths.DEFAULT_SUPPLEMENTAL_DIRECTORY);
-            result.cacheDateFormats.clear();
-            result.cacheNumberFormats.clear();
-            result.cacheDateFormatSymbols.clear();
-            result.cacheDecimalFormatSymbols.clear();
-            result.cacheRuleBasedCollators.clear();
-
-            ISBMap.put(locale, result);
+            return result;
         }
-        return result;
     }
 
     public RuleBasedCollator getRuleBasedCollator(String type) throws Exception {
-        RuleBasedCollator col = cacheRuleBasedCollators.get(type);
-        if (col == null) {
-            col = _getRuleBasedCollator(type);
-            cacheRuleBasedCollators.put(type, col);
+        RuleBasedCollator col;
+        try {
+            col = formatters.ruleBasedCollators.get(type, () -> _getRuleBasedCollator(type));
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            Throwables.propagateIfPossible(e.getCause(), Exception.class);
+            throw e;
         }
         return (RuleBasedCollator) col.clone();
     }
@@ -182,24 +255,15 @@ public class ICUServiceBuilder {
 
     public SimpleDateFormat getDateFormat(String calendar, int dateIndex, int timeIndex, String numbersOverride) {
         String key = cldrFile.getLocaleID() + "," + calendar + "," + dateIndex + "," + timeIndex;
-        SimpleDateFormat result = cacheDateFormats.get(key);
-        if (result != null) return (SimpleDateFormat) result.clone();
-
-        String pattern = getPattern(calendar, dateIndex, timeIndex);
-
-        result = getFullFormat(calendar, pattern, numbersOverride);
-        cacheDateFormats.put(key, result);
-        // System.out.println("created " + key);
+        SimpleDateFormat result = getCached(formatters.dateFormats, key,
+            () -> getFullFormat(calendar, getPattern(calendar, dateIndex, timeIndex), numbersOverride));
         return (SimpleDateFormat) result.clone();
     }
 
     public SimpleDateFormat getDateFormat(String calendar, String pattern, String numbersOverride) {
         String key = cldrFile.getLocaleID() + "," + calendar + ",," + pattern + ",,," + numbersOverride;
-        SimpleDateFormat result = cacheDateFormats.get(key);
-        if (result != null) return (SimpleDateFormat) result.clone();
-        result = getFullFormat(calendar, pattern, numbersOverride);
-        cacheDateFormats.put(key, result);
-        // System.out.println("created " + key);
+        SimpleDateFormat result = getCached(formatters.dateFormats, key,
+            () -> getFullFormat(calendar, pattern, numbersOverride));
         return (SimpleDateFormat) result.clone();
     }
 
@@ -257,9 +321,11 @@ public class ICUServiceBuilder {
 
     private DateFormatSymbols _getDateFormatSymbols(String calendar) {
         String key = cldrFile.getLocaleID() + "," + calendar;
-        DateFormatSymbols result = cacheDateFormatSymbols.get(key);
-        if (result != null) return (DateFormatSymbols) result.clone();
+        DateFormatSymbols result = getCached(formatters.dateFormatSymbols, key, () -> makeDateFormatSymbols(calendar));
+        return (DateFormatSymbols) result.clone();
+    }
 
+    private DateFormatSymbols makeDateFormatSymbols(String calendar) {
         String[] last;
         // TODO We would also like to be able to set the new symbols leapMonthPatterns & shortYearNames
         // (related to Chinese calendar) to their currently-winning values. Until we have the necessary
@@ -347,8 +413,7 @@ public class ICUServiceBuilder {
         formatData.setQuarters(getArray(prefix, "quarter", "stand-alone", "narrow"), DateFormatSymbols.STANDALONE,
             DateFormatSymbols.NARROW);
 
-        cacheDateFormatSymbols.put(key, formatData);
-        return (DateFormatSymbols) formatData.clone();
+        return formatData;
     }
 
     /**
@@ -591,12 +656,8 @@ public class ICUServiceBuilder {
 
     public NumberFormat getGenericNumberFormat(String ns) {
         // CLDRFile cldrFile = cldrFactory.make(localeID, true);
-        NumberFormat result = cacheNumberFormats.get(cldrFile.getLocaleID() + "@numbers=" + ns);
-        if (result == null) {
-            ULocale ulocale = new ULocale(cldrFile.getLocaleID() + "@numbers=" + ns);
-            result = NumberFormat.getInstance(ulocale);
-            cacheNumberFormats.put(cldrFile.getLocaleID() + "@numbers=" + ns, result);
-        }
+        String key = cldrFile.getLocaleID() + "@numbers=" + ns;
+        NumberFormat result = getCached(formatters.numberFormats, key, () -> NumberFormat.getInstance(new ULocale(key)));
         return (NumberFormat) result.clone();
     }
 
@@ -616,11 +677,13 @@ public class ICUServiceBuilder {
         ULocale ulocale = new ULocale(localeIDString);
         String key = (currencySymbol == null) ? ulocale + "/" + key1 + "/" + kind : ulocale + "/" + key1 + "/" + kind
             + "/" + currencySymbol;
-        DecimalFormat result = (DecimalFormat) cacheNumberFormats.get(key);
-        if (result != null) {
-            return (DecimalFormat) result.clone();
-        }
+        DecimalFormat result = (DecimalFormat) getCached(formatters.numberFormats, key,
+            () -> makeNumberFormat(ulocale, key, key1, kind, currencySymbol, numberSystem));
+        return (DecimalFormat) result.clone();
+    }
 
+    private DecimalFormat makeNumberFormat(ULocale ulocale, String key, String key1, int kind, String currencySymbol,
+        String numberSystem) {
         String pattern = kind == PATTERN ? key1 : getPattern(key1, kind);
 
         DecimalFormatSymbols symbols = _getDecimalFormatSymbols(numberSystem);
@@ -686,7 +749,7 @@ public class ICUServiceBuilder {
             // symbols.setGroupingSeparator(possible.charAt(0));
             // ;
         }
-        result = new DecimalFormat(pattern, symbols);
+        DecimalFormat result = new DecimalFormat(pattern, symbols);
         if (mc != null) {
             result.setCurrency(mc);
             result.setMaximumFractionDigits(mc.getDefaultFractionDigits());
@@ -706,27 +769,58 @@ public class ICUServiceBuilder {
             result.setDecimalSeparatorAlwaysShown(false);
             result.setParseIntegerOnly(true);
         }
-        cacheNumberFormats.put(key, result);
-        return (DecimalFormat) result.clone();
+        return result;
+    }
+
+    /**
+     * The currencySpacing data for a file.
+     */
+    private static final class CurrencySpacing {
+        final UnicodeSet beforeCurrencyMatch;
+        final UnicodeSet beforeSurroundingMatch;
+        final String beforeInsertBetween;
+        final UnicodeSet afterCurrencyMatch;
+        final UnicodeSet afterSurroundingMatch;
+        final String afterInsertBetween;
+
+        CurrencySpacing(CLDRFile cldrFile) {
+            String prefix = "//ldml/numbers/currencyFormats/currencySpacing/beforeCurrency/";
+            beforeCurrencyMatch = new UnicodeSet(cldrFile.getWinningValueWithBailey(prefix + "currencyMatch")).freeze();
+            beforeSurroundingMatch = new UnicodeSet(cldrFile.getWinningValueWithBailey(prefix + "surroundingMatch")).freeze();
+            beforeInsertBetween = cldrFile.getWinningValueWithBailey(prefix + "insertBetween");
+            prefix = "//ldml/numbers/currencyFormats/currencySpacing/afterCurrency/";
+            afterCurrencyMatch = new UnicodeSet(cldrFile.getWinningValueWithBailey(prefix + "currencyMatch")).freeze();
+            afterSurroundingMatch = new UnicodeSet(cldrFile.getWinningValueWithBailey(prefix + "surroundingMatch")).freeze();
+            afterInsertBetween = cldrFile.getWinningValueWithBailey(prefix + "insertBetween");
+        }
+    }
+
+    private CurrencySpacing getCurrencySpacing() {
+        CurrencySpacing result = formatters.currencySpacing;
+        if (result == null) {
+            formatters.currencySpacing = result = new CurrencySpacing(cldrFile);
+        }
+        return result;
     }
 
     private String fixCurrencySpacing(String pattern, String symbol) {
+        CurrencySpacing spacing = getCurrencySpacing();
         int startPos = pattern.indexOf('\u00a4');
         if (startPos > 0
-            && beforeCurrencyMatch.contains(UTF16.charAt(symbol, 0))) {
+            && spacing.beforeCurrencyMatch.contains(UTF16.charAt(symbol, 0))) {
             int ch = UTF16.charAt(pattern, startPos - 1);
             if (ch == '#') ch = '0';// fix pattern
-            if (beforeSurroundingMatch.contains(ch)) {
-                pattern = pattern.substring(0, startPos) + beforeInsertBetween + pattern.substring(startPos);
+            if (spacing.beforeSurroundingMatch.contains(ch)) {
+                pattern = pattern.substring(0, startPos) + spacing.beforeInsertBetween + pattern.substring(startPos);
             }
         }
         int endPos = pattern.lastIndexOf('\u00a4') + 1;
         if (endPos < pattern.length()
-            && afterCurrencyMatch.contains(UTF16.charAt(symbol, symbol.length() - 1))) {
+            && spacing.afterCurrencyMatch.contains(UTF16.charAt(symbol, symbol.length() - 1))) {
             int ch = UTF16.charAt(pattern, endPos);
             if (ch == '#') ch = '0';// fix pattern
-            if (afterSurroundingMatch.contains(ch)) {
-                pattern = pattern.substring(0, endPos) + afterInsertBetween + pattern.substring(endPos);
+            if (spacing.afterSurroundingMatch.contains(ch)) {
+                pattern = pattern.substring(0, endPos) + spacing.afterInsertBetween + pattern.substring(endPos);
             }
         }
         return pattern;
@@ -746,12 +840,13 @@ public class ICUServiceBuilder {
     private DecimalFormatSymbols _getDecimalFormatSymbols(String numberSystem) {
         String key = (numberSystem == null) ? cldrFile.getLocaleID() : cldrFile.getLocaleID() + "@numbers="
             + numberSystem;
-        DecimalFormatSymbols symbols = cacheDecimalFormatSymbols.get(key);
-        if (symbols != null) {
-            return (DecimalFormatSymbols) symbols.clone();
-        }
+        DecimalFormatSymbols symbols = getCached(formatters.decimalFormatSymbols, key,
+            () -> makeDecimalFormatSymbols(numberSystem));
+        return (DecimalFormatSymbols) symbols.clone();
+    }
 
-        symbols = new DecimalFormatSymbols();
+    private DecimalFormatSymbols makeDecimalFormatSymbols(String numberSystem) {
+        DecimalFormatSymbols symbols = new DecimalFormatSymbols();
         if (numberSystem == null) {
             numberSystem = cldrFile.getWinningValueWithBailey("//ldml/numbers/defaultNumberingSystem");
         }
@@ -788,19 +883,7 @@ public class ICUServiceBuilder {
         } catch (IllegalArgumentException e) {
             symbols.setMonetaryGroupingSeparator(symbols.getGroupingSeparator());
         }
-
-        String prefix = "//ldml/numbers/currencyFormats/currencySpacing/beforeCurrency/";
-        beforeCurrencyMatch = new UnicodeSet(cldrFile.getWinningValueWithBailey(prefix + "currencyMatch")).freeze();
-        beforeSurroundingMatch = new UnicodeSet(cldrFile.getWinningValueWithBailey(prefix + "surroundingMatch")).freeze();
-        beforeInsertBetween = cldrFile.getWinningValueWithBailey(prefix + "insertBetween");
-        prefix = "//ldml/numbers/currencyFormats/currencySpacing/afterCurrency/";
-        afterCurrencyMatch = new UnicodeSet(cldrFile.getWinningValueWithBailey(prefix + "currencyMatch")).freeze();
-        afterSurroundingMatch = new UnicodeSet(cldrFile.getWinningValueWithBailey(prefix + "surroundingMatch")).freeze();
-        afterInsertBetween = cldrFile.getWinningValueWithBailey(prefix + "insertBetween");
-
-        cacheDecimalFormatSymbols.put(key, symbols);
-
-        return (DecimalFormatSymbols) symbols.clone();
+        return symbols;
     }
 
     private char getSymbolCharacter(String key, String numsys) {
@@ -834,12 +917,6 @@ public class ICUServiceBuilder {
         }
     }
 
-    UnicodeSet beforeCurrencyMatch;
-    UnicodeSet beforeSurroundingMatch;
-    String beforeInsertBetween;
-    UnicodeSet afterCurrencyMatch;
-    UnicodeSet afterSurroundingMatch;
-    String afterInsertBetween;
 
     private String getPattern(String key1, int isCurrency) {
         String prefix = "//ldml/numbers/";
@@ -25,8 +25,9 @@ import com.ibm.icu.util.ICUException;
 import com.ibm.icu.util.Output;
 
 /**
- * Very basic class for rational numbers. No attempt to optimize, since it will just
- * be used for testing within CLDR.
+ * Very basic class for rational numbers. The values are always available as BigIntegers,
+ * but when the numerator and denominator both fit in a long, the arithmetic is done
+ * with longs, only falling back to BigInteger if a result overflows.
  *
  * @author markdavis
  *
@@ -36,6 +37,11 @@ public final class Rational implements Comparable<Rational> {
     public final BigInteger numerator;
     public final BigInteger denominator;
 
+    // Copies of numerator and denominator, valid if isLong. Limited to 62 bits, so that they can be negated.
+    private final long longNumerator;
+    private final long longDenominator;
+    private final boolean isLong;
+
     // Constraints:
     //   always stored in normalized form.
     //   no common factor > 1 (reduced)
@@ -170,11 +176,14 @@ public final class Rational implements Comparable<Rational> {
     }
 
     public static Rational of(long numerator, long denominator) {
+        if (fitsLong(numerator) && fitsLong(denominator)) {
+            return new Rational(numerator, denominator);
+        }
         return new Rational(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
     }
 
     public static Rational of(long numerator) {
-        return new Rational(BigInteger.valueOf(numerator), BigInteger.ONE);
+        return of(numerator, 1);
     }
 
     public static Rational of(BigInteger numerator, BigInteger denominator) {
@@ -201,9 +210,74 @@ public final class Rational implements Comparable<Rational> {
         }
         this.numerator = numerator;
         this.denominator = denominator;
+        isLong = numerator.bitLength() < 63 && denominator.bitLength() < 63;
+        longNumerator = isLong ? numerator.longValue() : 0;
+        longDenominator = isLong ? denominator.longValue() : 0;
+    }
+
+    /**
+     * Same normalization as the BigInteger constructor. The arguments must satisfy fitsLong.
+     */
+    private Rational(long numerator, long denominator) {
+        if (denominator < 0) {
+            numerator = -numerator;
+            denominator = -denominator;
+        }
+        long gcd = gcd(numerator, denominator);
+        if (gcd > 1) {
+            numerator /= gcd;
+            denominator /= gcd;
+        }
+        this.numerator = BigInteger.valueOf(numerator);
+        this.denominator = BigInteger.valueOf(denominator);
+        isLong = true;
+        longNumerator = numerator;
+        longDenominator = denominator;
+    }
+
+    private static boolean fitsLong(long value) {
+        return value >= -(1L << 62) && value < (1L << 62);
+    }
+
+    /**
+     * Make a rational from the result of long arithmetic, which may not satisfy fitsLong.
+     */
+    private static Rational ofLongs(long numerator, long denominator) {
+        if (fitsLong(numerator) && fitsLong(denominator)) {
+            return new Rational(numerator, denominator);
+        }
+        return new Rational(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    }
+
+    /**
+     * The non-negative gcd, as for BigInteger.gcd: gcd(a, 0) = |a|, and gcd(0, 0) = 0.
+     * The arguments must satisfy fitsLong.
+     */
+    private static long gcd(long a, long b) {
+        a = Math.abs(a);
+        b = Math.abs(b);
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
     }
 
     public Rational add(Rational other) {
+        if (isLong && other.isLong) {
+            try {
+                long gcd_den = gcd(longDenominator, other.longDenominator);
+                if (gcd_den != 0) {
+                    return ofLongs(
+                        Math.addExact(Math.multiplyExact(longNumerator, other.longDenominator / gcd_den),
+                            Math.multiplyExact(other.longNumerator, longDenominator / gcd_den)),
+                        Math.multiplyExact(longDenominator, other.longDenominator / gcd_den));
+                }
+            } catch (ArithmeticException e) {
+                // overflow, so use BigInteger
+            }
+        }
         BigInteger gcd_den = denominator.gcd(other.denominator);
         return new Rational(
             numerator.multiply(other.denominator).divide(gcd_den)
@@ -213,6 +287,19 @@ public final class Rational implements Comparable<Rational> {
     }
 
     public Rational subtract(Rational other) {
+        if (isLong && other.isLong) {
+            try {
+                long gcd_den = gcd(longDenominator, other.longDenominator);
+                if (gcd_den != 0) {
+                    return ofLongs(
+                        Math.subtractExact(Math.multiplyExact(longNumerator, other.longDenominator / gcd_den),
+                            Math.multiplyExact(other.longNumerator, longDenominator / gcd_den)),
+                        Math.multiplyExact(longDenominator, other.longDenominator / gcd_den));
+                }
+            } catch (ArithmeticException e) {
+                // overflow, so use BigInteger
+            }
+        }
         BigInteger gcd_den = denominator.gcd(other.denominator);
         return new Rational(
             numerator.multiply(other.denominator).divide(gcd_den)
@@ -222,6 +309,19 @@ public final class Rational implements Comparable<Rational> {
     }
 
     public Rational multiply(Rational other) {
+        if (isLong && other.isLong) {
+            long gcd_num_oden = gcd(longNumerator, other.longDenominator);
+            long smallNum = gcd_num_oden == 0 ? longNumerator : longNumerator / gcd_num_oden;
+            long smallODen = gcd_num_oden == 0 ? other.longDenominator : other.longDenominator / gcd_num_oden;
+            long gcd_den_onum = gcd(longDenominator, other.longNumerator);
+            long smallONum = gcd_den_onum == 0 ? other.longNumerator : other.longNumerator / gcd_den_onum;
+            long smallDen = gcd_den_onum == 0 ? longDenominator : longDenominator / gcd_den_onum;
+            try {
+                return ofLongs(Math.multiplyExact(smallNum, smallONum), Math.multiplyExact(smallDen, smallODen));
+            } catch (ArithmeticException e) {
+                // overflow, so use BigInteger
+            }
+        }
         BigInteger gcd_num_oden = numerator.gcd(other.denominator);
         boolean isZero = gcd_num_oden.equals(BigInteger.ZERO);
         BigInteger smallNum = isZero ? numerator : numerator.divide(gcd_num_oden);
@@ -248,10 +348,16 @@ public final class Rational implements Comparable<Rational> {
     }
 
     public Rational reciprocal() {
+        if (isLong) {
+            return new Rational(longDenominator, longNumerator);
+        }
         return new Rational(denominator, numerator);
     }
 
     public Rational negate() {
+        if (isLong) {
+            return new Rational(-longNumerator, longDenominator);
+        }
         return new Rational(numerator.negate(), denominator);
     }
 
@@ -351,6 +457,14 @@ public final class Rational implements Comparable<Rational> {
 
     @Override
     public int compareTo(Rational other) {
+        if (isLong && other.isLong) {
+            try {
+                return Long.compare(Math.multiplyExact(longNumerator, other.longDenominator),
+                    Math.multiplyExact(other.longNumerator, longDenominator));
+            } catch (ArithmeticException e) {
+                // overflow, so use BigInteger
+            }
+        }
         return numerator.multiply(other.denominator).compareTo(other.numerator.multiply(denominator));
     }
 
@@ -360,6 +474,9 @@ public final class Rational implements Comparable<Rational> {
     }
 
     public boolean equals(Rational that) {
+        if (isLong && that.isLong) {
+            return longNumerator == that.longNumerator && longDenominator == that.longDenominator;
+        }
         return numerator.equals(that.numerator)
             && denominator.equals(that.denominator);
     }
@@ -2,7 +2,6 @@ package org.unicode.cldr.util;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -10,7 +9,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -25,8 +23,8 @@ import com.ibm.icu.text.Transform;
 import com.ibm.icu.util.Output;
 
 /**
- * Lookup items according to a set of regex patterns. Returns the value according to the first pattern that matches. Not
- * thread-safe.
+ * Lookup items according to a set of regex patterns. Returns the value according to the first pattern that matches.
+ * Lookups (get, getAll) are thread-safe once the RegexLookup has been loaded; adding patterns is not.
  *
  * @param <T>
  */
@@ -40,7 +38,6 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
     private Transform<String, ? extends T> valueTransform;
     private Merger<T> valueMerger;
     private final boolean allowNull = false;
-    private static PathStarrer pathStarrer = new PathStarrer().setSubstitutionPattern("*");
 
     public enum LookupType {
         STAR_PATTERN_LOOKUP, OPTIMIZED_DIRECTORY_PATTERN_LOOKUP, STANDARD
@@ -76,8 +73,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
             storage = new StarPatternMap<>();
             break;
         case OPTIMIZED_DIRECTORY_PATTERN_LOOKUP:
-            //   RTEntries = new RegexTree<T>();
-            storage = new RegexTree<>();
+            storage = new ElementTrie<>();
             break;
         default:
             MEntries = new LinkedHashMap<>();
@@ -112,18 +108,13 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
 
     public static class RegexFinder extends Finder {
         /**
-         * The matcher used by this RegexFinder
-         */
-        private final Matcher matcher;
-
-        /**
-         * The Pattern used by this RegexFinder
+         * The Pattern used by this RegexFinder. Each call gets its own Matcher, so a RegexFinder
+         * can be used from multiple threads without locking.
          */
         protected final Pattern pattern;
 
         public RegexFinder(String pattern) {
             this.pattern = Pattern.compile(pattern, Pattern.COMMENTS);
-            matcher = this.pattern.matcher("");
         }
 
         /**
@@ -132,27 +123,27 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
          */
         @Override
         public boolean matches(String item, Object context, Info info) {
-            synchronized (matcher) {
-                try {
-                    boolean result = matcher.reset(item).matches();
-                    extractInfo(info, result);
-                    return result;
-                } catch (StringIndexOutOfBoundsException e) {
-                    // We don't know what causes this error (cldrbug 5051) so
-                    // make the exception message more detailed.
-                    throw new IllegalArgumentException("Matching error caused by pattern: ["
-                        + matcher.toString() + "] on text: [" + item + "]", e);
-                }
+            Matcher matcher = pattern.matcher(item);
+            try {
+                boolean result = matcher.matches();
+                extractInfo(matcher, info, result);
+                return result;
+            } catch (StringIndexOutOfBoundsException e) {
+                // We don't know what causes this error (cldrbug 5051) so
+                // make the exception message more detailed.
+                throw new IllegalArgumentException("Matching error caused by pattern: ["
+                    + matcher.toString() + "] on text: [" + item + "]", e);
             }
         }
 
         /**
          * Extract match related information into  the info field, if result is true, and info
          * is not null.
+         * @param matcher
          * @param info
          * @param result
          */
-        private void extractInfo(Info info, boolean result) {
+        private static void extractInfo(Matcher matcher, Info info, boolean result) {
             if (result && info != null) {
                 int limit = matcher.groupCount() + 1;
                 String[] value = new String[limit];
@@ -169,23 +160,21 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
          */
         @Override
         public boolean find(String item, Object context, Info info) {
-            synchronized (matcher) {
-                try {
-                    boolean result = matcher.reset(item).find();
-                    extractInfo(info, result);
-                    return result;
-                } catch (StringIndexOutOfBoundsException e) {
-                    // We don't know what causes this error (cldrbug 5051) so
-                    // make the exception message more detailed.
-                    throw new IllegalArgumentException("Matching error caused by pattern: ["
-                        + matcher.toString() + "] on text: [" + item + "]", e);
-                }
+            Matcher matcher = pattern.matcher(item);
+            try {
+                boolean result = matcher.find();
+                extractInfo(matcher, info, result);
+                return result;
+            } catch (StringIndexOutOfBoundsException e) {
+                // We don't know what causes this error (cldrbug 5051) so
+                // make the exception message more detailed.
+                throw new IllegalArgumentException("Matching error caused by pattern: ["
+                    + matcher.toString() + "] on text: [" + item + "]", e);
             }
         }
 
         @Override
         public String toString() {
-            // Use pattern here, to avoid having to synchronize on matcher
             return pattern.pattern();
         }
 
@@ -205,9 +194,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
 
         @Override
         public int getFailPoint(String source) {
-            synchronized (matcher) {
-                return RegexUtilities.findMismatch(matcher, source);
-            }
+            return RegexUtilities.findMismatch(pattern, source);
         }
     }
 
@@ -233,330 +220,313 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
 //            _finder=finder;
 //        }
 //    }
-    private static class RegexTree<T> implements StorageInterfaceBase<T> {
-        private RTNode root;
-        private int _size;
-        private RTNodeRankComparator rankComparator = new RTNodeRankComparator();
-
-        public RegexTree() {
-            root = new RTNode("", null);
-            _size = 0;
+    /**
+     * Storage for OPTIMIZED_DIRECTORY_PATTERN_LOOKUP. Each RegexFinder whose pattern starts with ^// and a run of
+     * literal element names (eg ^//ldml/dates/calendars/calendar\[...) is stored in a trie under those names; other
+     * finders are stored at the root. A lookup splits the leading element names off the path once, walks down the
+     * trie collecting the candidates at each node, and tries them in the order they were added, so only a few
+     * patterns are tried for each path. Read-only once loaded, so lookups need no locking.
+     */
+    private static class ElementTrie<T> implements StorageInterfaceBase<T> {
+        private final TrieNode<T> root = new TrieNode<>();
+        private final Map<Finder, TrieEntry<T>> entries = new LinkedHashMap<>();
+
+        private static final class TrieEntry<T> {
+            final Finder finder;
+            final T value;
+            final int rank;
+
+            TrieEntry(Finder finder, T value, int rank) {
+                this.finder = finder;
+                this.value = value;
+                this.rank = rank;
+            }
+        }
+
+        private static final class TrieNode<T> {
+            final Map<String, TrieNode<T>> children = new HashMap<>();
+            // in rank order, since entries are only appended
+            final List<TrieEntry<T>> entries = new ArrayList<>();
         }
 
         @Override
         public int size() {
-            return _size;
+            return entries.size();
         }
 
+        /**
+         * Add the finder, or replace the value of an equal finder already there, keeping its place in the
+         * order (as a LinkedHashMap does for the other storage).
+         */
         @Override
-        public void put(Finder pattern, T value) {
-            root.put(new RTNode(pattern, value, _size));
-            _size++;
+        public void put(Finder finder, T value) {
+            TrieEntry<T> old = entries.get(finder);
+            TrieEntry<T> entry = new TrieEntry<>(finder, value, old == null ? entries.size() : old.rank);
+            entries.put(finder, entry);
+            TrieNode<T> node = root;
+            for (String element : getLiteralElements(finder)) {
+                node = node.children.computeIfAbsent(element, k -> new TrieNode<>());
+            }
+            if (old == null) {
+                node.entries.add(entry);
+            } else {
+                // equal finders have the same pattern, so the old entry is in this node
+                node.entries.set(node.entries.indexOf(old), entry);
+            }
         }
 
         @Override
         public T get(Finder finder) {
-            return root.get(finder);
+            TrieEntry<T> entry = entries.get(finder);
+            return entry == null ? null : entry.value;
         }
 
         @Override
-        public List<T> getAll(String pattern, Object context, List<Finder> matcherList, Output<String[]> firstInfo) {
-            List<RTNode> list = new ArrayList<>();
-            List<T> retList = new ArrayList<>();
-
-            root.addToList(pattern, context, list);
-            Collections.sort(list, rankComparator);
-
-            boolean isFirst = true;
-            if (firstInfo != null && !list.isEmpty()) {
-                RTNode firstNode = list.get(0);
-                if (firstNode._info != null) {
-                    firstInfo.value = firstNode._info.value;
+        public T get(String path, Object context, Output<String[]> arguments, Output<Finder> matcherFound) {
+            List<List<TrieEntry<T>>> candidates = getCandidates(path);
+            int[] positions = new int[candidates.size()];
+            Info info = new Info();
+            TrieEntry<T> entry;
+            while ((entry = next(candidates, positions)) != null) {
+                if (entry.finder.find(path, context, info)) {
+                    if (arguments != null) {
+                        arguments.value = info.value;
+                    }
+                    if (matcherFound != null) {
+                        matcherFound.value = entry.finder;
+                    }
+                    return entry.value;
                 }
             }
+            if (arguments != null) {
+                arguments.value = null;
+            }
+            if (matcherFound != null) {
+                matcherFound.value = null;
+            }
+            return null;
+        }
 
-            for (RTNode n : list) {
-                if (isFirst) {
-                    firstInfo.value = n._info.value;
-                    isFirst = false;
+        @Override
+        public List<T> getAll(String path, Object context, List<Finder> matcherList, Output<String[]> firstInfo) {
+            List<List<TrieEntry<T>>> candidates = getCandidates(path);
+            int[] positions = new int[candidates.size()];
+            List<T> result = new ArrayList<>();
+            Info info = new Info();
+            TrieEntry<T> entry;
+            while ((entry = next(candidates, positions)) != null) {
+                if (entry.finder.find(path, context, info)) {
+                    if (firstInfo != null && result.isEmpty()) {
+                        firstInfo.value = info.value;
+                    }
+                    result.add(entry.value);
+                    if (matcherList != null) {
+                        matcherList.add(entry.finder);
+                    }
                 }
             }
+            return result;
+        }
 
-            for (RTNode n : list) {
-                retList.add(n._val);
-                if (matcherList != null) {
-                    matcherList.add(n._finder);
+        /**
+         * The lists of entries at the root and at each node along the leading elements of the path.
+         */
+        private List<List<TrieEntry<T>>> getCandidates(String path) {
+            List<List<TrieEntry<T>>> result = new ArrayList<>();
+            TrieNode<T> node = root;
+            addCandidates(node, result);
+            if (!path.startsWith("//")) {
+                return result;
+            }
+            // the element names before the first attribute can't contain / or [
+            int limit = path.indexOf('[');
+            if (limit < 0) {
+                limit = path.length();
+            }
+            for (int start = 2; start <= limit && !node.children.isEmpty();) {
+                int end = path.indexOf('/', start);
+                if (end < 0 || end > limit) {
+                    end = limit;
+                }
+                node = node.children.get(path.substring(start, end));
+                if (node == null) {
+                    break;
                 }
+                addCandidates(node, result);
+                start = end + 1;
             }
+            return result;
+        }
 
-            return retList;
+        private static <T> void addCandidates(TrieNode<T> node, List<List<TrieEntry<T>>> result) {
+            if (!node.entries.isEmpty()) {
+                result.add(node.entries);
+            }
         }
 
-        @Override
-        public T get(String pattern, Object context, Output<String[]> arguments, Output<Finder> matcherFound) {
-            List<Finder> matcherList = new ArrayList<>();
-            Output<String[]> firstInfo = new Output<>();
-            List<T> matches = getAll(pattern, context, matcherList, firstInfo); //need to get whole list because we want value that was entered first
-            if (arguments != null) {
-//               arguments.value = (matcherList.size() > 0) ? matcherList.get(0).getInfo() : null;
-                arguments.value = firstInfo.value;
-//               arguments.value = (matcherList.size() > 0) ? matcherList.get(0).getInfo() : null;
-                arguments.value = firstInfo.value;
+        /**
+         * Merge the candidate lists (each in rank order) by rank, returning the next candidate or null.
+         */
+        private static <T> TrieEntry<T> next(List<List<TrieEntry<T>>> candidates, int[] positions) {
+            int best = -1;
+            TrieEntry<T> bestEntry = null;
+            for (int i = 0; i < positions.length; ++i) {
+                List<TrieEntry<T>> list = candidates.get(i);
+                if (positions[i] < list.size()) {
+                    TrieEntry<T> entry = list.get(positions[i]);
+                    if (bestEntry == null || entry.rank < bestEntry.rank) {
+                        best = i;
+                        bestEntry = entry;
+                    }
+                }
             }
-            if (matcherFound != null) {
-                matcherFound.value = (matcherList.size() > 0) ? matcherList.get(0) : null;
+            if (bestEntry != null) {
+                ++positions[best];
             }
-            return (matches.size() > 0) ? matches.get(0) : null;
+            return bestEntry;
         }
 
         @Override
         public Set<Entry<Finder, T>> entrySet() {
             LinkedHashMap<Finder, T> ret = new LinkedHashMap<>();
-            TreeSet<RTNode> s = new TreeSet<>(rankComparator);
-            root.addToEntrySet(s);
-
-            for (RTNode n : s) {
-                ret.put(n._finder, n._val);
+            for (TrieEntry<T> entry : entries.values()) {
+                ret.put(entry.finder, entry.value);
             }
-
             return ret.entrySet();
         }
 
-        public class RTNode extends NodeBase<T> {
-//            Finder _finder;
-//            T _val;
-            List<RTNode> _children = new ArrayList<>();
-            int _rank = -1; //rank -1 means the node was not inserted, but only used for structural purposes
-
-            //constructor for regular nodes with a Finder
-            public RTNode(Finder finder, T val, int rank) {
-                super(finder, val);
-//                _finder = finder;
-//                _val = val;
-                _rank = rank;
-            }
-
-            //constructors for nodes without a Finder
-            public RTNode(String key, T val) {
-                super(new RegexFinder(key), val);
-//                _finder = new RegexFinder(key);
-//                _val = val;
-//                _rank = -1;
-                _info = new Info();
-            }
-
-            public void put(RTNode node) {
-                if (_children.size() == 0) {
-                    _children.add(node);
-                } else {
-                    String maxSimilarChars = ""; //most similar characters up to the last similar directory
-                    int insertIndex = 0;
-                    for (int i = 0; i < _children.size(); i++) {
-                        RTNode child = _children.get(i);
-                        String childFinderPattern = child._finder.toString();
-                        if (childFinderPattern.length() > 0 && childFinderPattern.charAt(childFinderPattern.length() - 1) == '$') {
-                            childFinderPattern = childFinderPattern.substring(0, childFinderPattern.length() - 1); //takes into account the added "$"
-                        } else if (child._rank == -1) {
-                            childFinderPattern = childFinderPattern.substring(0, childFinderPattern.length() - 2); //takes into account the added ".*"
-                        }
-
-                        //check if child has the same Finder as node to insert, then replace it
-                        if (node._finder.equals(child._finder)) {
-                            child._finder = node._finder;
-                            child._val = node._val;
-                            if (child._rank == -1) {
-                                child._rank = node._rank;
-                            } else {
-                                _size--;
-                            }
-                            return;
-                        }
-
-                        //check if child is the parent of node
-                        if (child._rank == -1 && node._finder.toString().startsWith(childFinderPattern)) {
-                            child.put(node);
-                            return;
-                        }
-
-                        //if not parent then check if candidate for most similar RTNode
-                        String gcp = greatestCommonPrefix(childFinderPattern, node._finder.toString());
-                        gcp = removeExtraChars(gcp);
-                        if (gcp.length() > maxSimilarChars.length()) {
-                            maxSimilarChars = gcp;
-                            insertIndex = i;
-                        }
-                    }
-
-                    String finderPattern = this._finder.toString();
-                    if (finderPattern.length() > 0 && finderPattern.charAt(finderPattern.length() - 1) == '$') {
-                        finderPattern = finderPattern.substring(0, finderPattern.length() - 1); //takes into account the added "$"
-                    } else if (!(finderPattern.equals("")) && this._rank == -1) {
-                        finderPattern = finderPattern.substring(0, finderPattern.length() - 2); //takes into account the added ".*"
-                    }
+        @Override
+        public String toString() {
+            return toString(root, "", new StringBuilder()).toString();
+        }
 
-                    if ((maxSimilarChars).equals(finderPattern)) { //add under this if no similar children
-                        _children.add(node);
-                    } else {
-                        //create the common parent of the chosen candidate above and node, then add to the insert index
-                        RTNode newParent = new RTNode(maxSimilarChars + ".*", null);
-                        newParent._children.add(this._children.get(insertIndex));
-                        newParent._children.add(node);
-                        this._children.remove(insertIndex);
-                        this._children.add(insertIndex, newParent);
-                    }
-                }
+        private static <T> StringBuilder toString(TrieNode<T> node, String prefix, StringBuilder result) {
+            for (TrieEntry<T> entry : node.entries) {
+                result.append(prefix).append(entry.finder).append("\n");
             }
-
-            //takes a string in a directory regex form and removes all characters up to the last full directory
-            private String removeExtraChars(String input) {
-                String ret = input.substring(0, Math.max(0, input.lastIndexOf('/')));
-                while ((ret.lastIndexOf('(') != -1 && ret.lastIndexOf('(') > ret.lastIndexOf(')')) ||
-                    (ret.lastIndexOf('[') != -1 && ret.lastIndexOf('[') > ret.lastIndexOf(']')) ||
-                    (ret.lastIndexOf('{') != -1 && ret.lastIndexOf('{') > ret.lastIndexOf('}'))) {
-                    ret = ret.substring(0, Math.max(0, ret.lastIndexOf('/')));
-                }
-                return ret;
+            for (Entry<String, TrieNode<T>> child : node.children.entrySet()) {
+                result.append(prefix).append(child.getKey()).append("/\n");
+                toString(child.getValue(), prefix + "\t", result);
             }
+            return result;
+        }
+    }
 
-            //traverse tree to get value
-            public T get(Finder finder) {
-                T ret = null; //return value
-
-                if (_children.size() == 0) {
-                    return null;
-                } else {
-                    for (RTNode child : _children) {
-
-                        //check if child is the node
-                        if (child._rank != -1 && finder.equals(child._finder)) {
-                            return child._val;
-                        }
-
-                        String childFinderPattern = child._finder.toString();
-
-                        if (childFinderPattern.length() > 0 && childFinderPattern.charAt(childFinderPattern.length() - 1) == '$') {
-                            childFinderPattern = childFinderPattern.substring(0, childFinderPattern.length() - 1); //takes into account the added "$"
-                        } else if (child._rank == -1) {
-                            childFinderPattern = childFinderPattern.substring(0, childFinderPattern.length() - 2); //takes into account the added ".*"
-                        }
-
-                        //check if child is the parent of node
-                        if (finder.toString().startsWith(childFinderPattern)) {
-                            ret = child.get(finder);
-                            if (ret != null) {
-                                break;
-                            }
-                        }
-                    }
-
-                    return ret;
-                }
+    /**
+     * Get the element names that any path matched by the finder must start with, as in
+     * //ldml/dates/calendars/... for ^//ldml/dates/calendars/. An element only counts if the pattern has
+     * a / or \[ (or $) right after it, and no quantifier after that. Returns an empty list for finders that
+     * aren't RegexFinders, or whose patterns have top-level alternatives.
+     */
+    static List<String> getLiteralElements(Finder finder) {
+        if (!(finder instanceof RegexFinder)) {
+            return Collections.emptyList();
+        }
+        String regex = ((RegexFinder) finder).pattern.pattern();
+        if (!regex.startsWith("^//") || hasTopLevelAlternative(regex)) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>();
+        int i = 3;
+        while (true) {
+            int j = i;
+            while (j < regex.length() && isElementNameChar(regex.charAt(j))) {
+                ++j;
             }
-
-            //traverse tree to get an entry set
-            public void addToEntrySet(TreeSet<RTNode> s) {
-                if (_children.size() == 0) {
-                    return;
-                } else {
-                    for (RTNode child : _children) {
-                        if (child._rank != -1) {
-                            s.add(child);
-                        }
-                        child.addToEntrySet(s);
-                    }
-                }
+            if (j == i || j == regex.length()) {
+                break; // at the end, the name may be just the start of an element name
             }
-
-            //traverse tree to get list of all values who's key matcher matches pattern
-            public void addToList(String pattern, Object context, List<RTNode> list) {
-                if (_children.size() == 0) {
-                    return;
-                } else {
-                    Info firstInfo = new Info();
-                    for (RTNode child : _children) {
-                        boolean found;
-                        synchronized (child._finder) {
-                            found = child._finder.find(pattern, context, firstInfo);
-                        }
-
-                        //check if child matches pattern
-                        if (found) {
-                            if (child._rank != -1) {
-                                list.add(child);
-                            }
-                            // if this node's info value is unset, set it to the result of the
-                            // lookup
-//                            if (child._info!=null && child._info.value==null) {
-                            if (child._info != null) {
-                                // set the value to the result of the last find
-                                child._info.value = firstInfo.value;
-                            } else {
-                                // for some reason, child._info is null, so simply initialize it.
-                                child._info = new Info();
-                                // set the value to the result of the last find
-                                child._info.value = firstInfo.value;
-                            }
-                            //check if child is the parent of node then enter that node
-                            child.addToList(pattern, context, list);
-                        }
-                    }
-                }
+            String name = regex.substring(i, j);
+            char c = regex.charAt(j);
+            if (c == '/' && !isQuantifier(regex, j + 1)) {
+                result.add(name);
+                i = j + 1;
+                continue;
             }
-
-            @Override
-            public String toString() {
-                return toString("", new StringBuilder()).toString();
+            if (c == '\\' && j + 1 < regex.length() && regex.charAt(j + 1) == '[' && !isQuantifier(regex, j + 2)
+                || c == '$') {
+                result.add(name);
             }
+            break;
+        }
+        return result;
+    }
 
-            private StringBuilder toString(String prefix, StringBuilder result) {
-                result.append(prefix).append(this._finder.toString()).append("\n");
-                for (RegexTree<T>.RTNode child : _children) {
-                    child.toString(prefix + "\t", result);
-                }
-                return result;
-            }
+    private static boolean isElementNameChar(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '-' || c == '_';
+    }
 
-            //greatest common prefix between two strings
-            public String greatestCommonPrefix(String a, String b) {
-                int minLength = Math.min(a.length(), b.length());
-                for (int i = 0; i < minLength; i++) {
-                    if (a.charAt(i) != b.charAt(i)) {
-                        return a.substring(0, i);
-                    }
-                }
-                return a.substring(0, minLength);
-            }
+    private static boolean isQuantifier(String regex, int i) {
+        if (i >= regex.length()) {
+            return false;
         }
+        char c = regex.charAt(i);
+        return c == '?' || c == '*' || c == '+' || c == '{';
+    }
 
-        class RTNodeRankComparator implements Comparator<RTNode> {
-            @Override
-            public int compare(RTNode a, RTNode b) {
-                if (a == b) {
-                    return 0;
-                } else if (a == null) {
-                    return -1;
-                } else if (b == null) {
-                    return 1;
-                } else if (a._rank == b._rank) {
-                    return 0;
-                } else if (a._rank > b._rank) {
-                    return 1;
-                } else {
-                    return -1;
+    private static boolean hasTopLevelAlternative(String regex) {
+        int depth = 0;
+        int classDepth = 0;
+        for (int i = 0; i < regex.length(); ++i) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                ++i;
+            } else if (c == '[') {
+                ++classDepth;
+            } else if (classDepth > 0) {
+                if (c == ']') {
+                    --classDepth;
                 }
+            } else if (c == '(') {
+                ++depth;
+            } else if (c == ')') {
+                --depth;
+            } else if (c == '|' && depth == 0) {
+                return true;
             }
         }
-
-        @Override
-        public String toString() {
-            return root.toString();
-        }
+        return false;
     }
 
     private static class StarPatternMap<T> implements StorageInterfaceBase<T> {
         private Map<String, List<SPNode>> _spmap;
         private int _size = 0;
 
+        /**
+         * PathStarrer keeps state between calls, so use a fresh one for each pattern.
+         */
+        private static String toStarPattern(String source) {
+            return new PathStarrer().setSubstitutionPattern("*").transform2(source);
+        }
+
+        /**
+         * The same as toStarPattern, for a path rather than a pattern, without the regex and the PathStarrer:
+         * each attribute value (="...") is replaced by *.
+         */
+        static String toStarPath(String path) {
+            if (path.isEmpty() || path.charAt(0) == '^' || path.indexOf('\\') >= 0) {
+                return toStarPattern(path); // not a plain path; let PathStarrer handle the unescaping
+            }
+            int valueStart = path.indexOf("=\"");
+            if (valueStart < 0) {
+                return path;
+            }
+            StringBuilder result = new StringBuilder(path.length());
+            int last = 0;
+            while (valueStart >= 0) {
+                valueStart += 2;
+                int valueEnd = path.indexOf('"', valueStart);
+                if (valueEnd < 0) {
+                    break;
+                }
+                result.append(path, last, valueStart).append('*');
+                last = valueEnd;
+                valueStart = path.indexOf("=\"", valueEnd + 1);
+            }
+            result.append(path, last, path.length());
+            return result.toString();
+        }
+
         public StarPatternMap() {
             _spmap = new HashMap<>();
 //            _size = 0;
@@ -570,7 +540,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
         @Override
         public void put(Finder pattern, T value) {
             //System.out.println("pattern.toString() is => "+pattern.toString());
-            String starPattern = pathStarrer.transform2(pattern.toString().replaceAll("\\(\\[\\^\"\\]\\*\\)", "*"));
+            String starPattern = toStarPattern(pattern.toString().replaceAll("\\(\\[\\^\"\\]\\*\\)", "*"));
             //System.out.println("Putting => "+starPattern);
             List<SPNode> candidates = _spmap.get(starPattern);
             if (candidates == null) {
@@ -584,7 +554,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
 
         @Override
         public T get(Finder finder) {
-            String starPattern = pathStarrer.transform2(finder.toString());
+            String starPattern = toStarPattern(finder.toString());
             List<SPNode> candidates = _spmap.get(starPattern);
             if (candidates == null) {
                 return null;
@@ -602,7 +572,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
             List<SPNode> list = new ArrayList<>();
             List<T> retList = new ArrayList<>();
 
-            String starPattern = pathStarrer.transform2(pattern);
+            String starPattern = toStarPath(pattern);
             List<SPNode> candidates = _spmap.get(starPattern);
             if (candidates == null) {
                 return retList;
@@ -610,10 +580,10 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
             for (SPNode cand : candidates) {
                 Info info = new Info();
                 if (cand._finder.find(pattern, context, info)) {
-                    list.add(cand);
-                    if (firstInfo != null) {
+                    if (firstInfo != null && list.isEmpty()) {
                         firstInfo.value = info.value;
                     }
+                    list.add(cand);
                 }
             }
 
@@ -678,7 +648,7 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
     }
 
     /**
-     * The basic class of an information node, featuring a Finder, a value and an Info
+     * The basic class of an information node, featuring a Finder and a value
      *
      * @author ribnitz
      *
@@ -687,7 +657,6 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
     private static class NodeBase<T> {
         Finder _finder;
         T _val;
-        Info _info = new Info();
 
         public NodeBase(Finder finder, T value) {
             this._finder = finder;
@@ -783,12 +752,10 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
                 for (Map.Entry<Finder, T> entry : storage.entrySet()) {
 //                for (Map.Entry<Finder, T> entry : SPEntries.entrySet()) {
                     Finder matcher = entry.getKey();
-                    synchronized (matcher) {
-                        int failPoint = matcher.getFailPoint(source);
-                        String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
-                            + matcher.toString();
-                        failures.add(show);
-                    }
+                    int failPoint = matcher.getFailPoint(source);
+                    String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
+                        + matcher.toString();
+                    failures.add(show);
                 }
             }
         } else if (_lookupType == RegexLookup.LookupType.OPTIMIZED_DIRECTORY_PATTERN_LOOKUP) {
@@ -802,35 +769,31 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
                 for (Map.Entry<Finder, T> entry : storage.entrySet()) {
 //                for (Map.Entry<Finder, T> entry : RTEntries.entrySet()) {
                     Finder matcher = entry.getKey();
-                    synchronized (matcher) {
-                        int failPoint = matcher.getFailPoint(source);
-                        String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
-                            + matcher.toString();
-                        failures.add(show);
-                    }
+                    int failPoint = matcher.getFailPoint(source);
+                    String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
+                        + matcher.toString();
+                    failures.add(show);
                 }
             }
         } else {
             //slow but versatile implementation
             for (Map.Entry<Finder, T> entry : MEntries.entrySet()) {
                 Finder matcher = entry.getKey();
-                synchronized (matcher) {
-                    Info firstInfo = new Info();
-                    if (matcher.find(source, context, firstInfo)) {
-                        if (arguments != null) {
-//                            arguments.value = matcher.getInfo();
-                            arguments.value = firstInfo.value;
-                        }
-                        if (matcherFound != null) {
-                            matcherFound.value = matcher;
-                        }
-                        return entry.getValue();
-                    } else if (failures != null) {
-                        int failPoint = matcher.getFailPoint(source);
-                        String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
-                            + matcher.toString();
-                        failures.add(show);
+                Info firstInfo = new Info();
+                if (matcher.find(source, context, firstInfo)) {
+                    if (arguments != null) {
+//                        arguments.value = matcher.getInfo();
+                        arguments.value = firstInfo.value;
+                    }
+                    if (matcherFound != null) {
+                        matcherFound.value = matcher;
                     }
+                    return entry.getValue();
+                } else if (failures != null) {
+                    int failPoint = matcher.getFailPoint(source);
+                    String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
+                        + matcher.toString();
+                    failures.add(show);
                 }
             }
         }
@@ -867,12 +830,10 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
                 for (Map.Entry<Finder, T> entry : storage.entrySet()) {
 //                for (Map.Entry<Finder, T> entry : SPEntries.entrySet()) {
                     Finder matcher = entry.getKey();
-                    synchronized (matcher) {
-                        int failPoint = matcher.getFailPoint(source);
-                        String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
-                            + matcher.toString();
-                        failures.add(show);
-                    }
+                    int failPoint = matcher.getFailPoint(source);
+                    String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
+                        + matcher.toString();
+                    failures.add(show);
                 }
             }
             return null;
@@ -888,12 +849,10 @@ public class RegexLookup<T> implements Iterable<Map.Entry<Finder, T>> {
                 for (Map.Entry<Finder, T> entry : storage.entrySet()) {
 //                for (Map.Entry<Finder, T> entry : RTEntries.entrySet()) {
                     Finder matcher = entry.getKey();
-                    synchronized (matcher) {
-                        int failPoint = matcher.getFailPoint(source);
-                        String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
-                            + matcher.toString();
-                        failures.add(show);
-                    }
+                    int failPoint = matcher.getFailPoint(source);
+                    String show = source.substring(0, failPoint) + "☹" + source.substring(failPoint) + "\t"
+                        + matcher.toString();
+                    failures.add(show);
                 }
             }
             return null;
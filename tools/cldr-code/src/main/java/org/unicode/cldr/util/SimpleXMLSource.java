@@ -97,12 +97,45 @@ public class SimpleXMLSource extends XMLSource {
         return this;
     }
 
+    // Rough per-object sizes, for estimateSize
+    private static final int MAP_ENTRY_BYTES = 40;
+    private static final int STRING_BYTES = 40;
+    private volatile long sizeEstimate = -1;
+
+    /**
+     * Return an approximate number of bytes held by the values and full paths (not counting comments).
+     * Strings shared with other objects, such as interned paths, are counted anyway, so this errs on the high side.
+     * The result is cached once the source is frozen.
+     */
+    public long estimateSize() {
+        long result = sizeEstimate;
+        if (result >= 0) {
+            return result;
+        }
+        result = estimateSize(xpath_value) + estimateSize(xpath_fullXPath);
+        if (locked) {
+            sizeEstimate = result;
+        }
+        return result;
+    }
+
+    private static long estimateSize(Map<String, String> map) {
+        long result = 0;
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            result += MAP_ENTRY_BYTES
+                + STRING_BYTES + 2L * entry.getKey().length()
+                + STRING_BYTES + 2L * entry.getValue().length();
+        }
+        return result;
+    }
+
     @Override
     public XMLSource cloneAsThawed() {
         SimpleXMLSource result = (SimpleXMLSource) super.cloneAsThawed();
         result.xpath_comments = (Comments) result.xpath_comments.clone();
         result.xpath_fullXPath = CldrUtility.newConcurrentHashMap(result.xpath_fullXPath);
         result.xpath_value = CldrUtility.newConcurrentHashMap(result.xpath_value);
+        result.sizeEstimate = -1;
         return result;
     }
 
@@ -2,29 +2,53 @@ package org.unicode.cldr.util;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableMap;
 
 /**
  * Produce an ID for a string based on a long hash. When used properly, the odds
  * of collision are so low that the ID can be used as a proxy for the
  * original string. The ID is non-negative. The algorithm uses SHA-1 over the
  * UTF-8 bytes in the string. Also provides lookup for long previously generated for string.
+ * <p>
+ * Thread-safe without locking: each thread has its own digest. Strings passed to {@link #preload}
+ * (such as all the known paths) are kept permanently; other strings are kept in a cache bounded by
+ * CLDR_STRING_ID_CACHE_SIZE. The string for an id can always be looked up right after {@link #getId} returns it,
+ * but not once it has been evicted.
  *
  * @author markdavis
  */
 public final class StringId {
-    private static final Map<String, Long> STRING_TO_ID = new ConcurrentHashMap<>();
-    private static final Map<Long, String> ID_TO_STRING = new ConcurrentHashMap<>();
-    private static final MessageDigest digest;
-    private static final int RETRY_LIMIT = 9;
-    static {
+    private static final int CACHE_SIZE = CLDRConfig.getInstance().getProperty("CLDR_STRING_ID_CACHE_SIZE", 1000000);
+    private static final int PARALLEL_THRESHOLD = 1000;
+
+    private static final Cache<String, Long> STRING_TO_ID = CacheBuilder.newBuilder()
+        .maximumSize(CACHE_SIZE)
+        .recordStats()
+        .build();
+    private static final Cache<Long, String> ID_TO_STRING = CacheBuilder.newBuilder()
+        .maximumSize(CACHE_SIZE)
+        .build();
+
+    // The preloaded table. Replaced as a whole by preload(), so reads don't need a lock.
+    private static volatile Map<String, Long> knownStringToId = ImmutableMap.of();
+    private static volatile Map<Long, String> knownIdToString = ImmutableMap.of();
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
         try {
-            digest = MessageDigest.getInstance("SHA-1");
+            return MessageDigest.getInstance("SHA-1");
         } catch (Exception e) {
             throw new IllegalArgumentException(e); // darn'd checked exceptions
         }
-    }
+    });
 
     /**
      * Get the ID for a string.
@@ -35,32 +59,93 @@ public final class StringId {
      */
     public static long getId(CharSequence charSequence) {
         String string = charSequence.toString();
-        Long resultLong = STRING_TO_ID.get(string);
+        Long resultLong = knownStringToId.get(string);
         if (resultLong != null) {
             return resultLong;
         }
-        int retryCount = RETRY_LIMIT;
-        while (true) {
-            try {
-                synchronized (digest) {
-                    byte[] hash = digest.digest(string.getBytes(StandardCharsets.UTF_8));
-                    long result = 0;
-                    for (int i = 0; i < 8; ++i) {
-                        result <<= 8;
-                        result ^= hash[i];
-                    }
-                    // mash the top bit to make things easier
-                    result &= 0x7FFFFFFFFFFFFFFFL;
-                    STRING_TO_ID.put(string, result);
-                    ID_TO_STRING.put(result, string);
-                    return result;
-                }
-            } catch (RuntimeException e) {
-                if (--retryCount < 0) {
-                    throw e;
-                }
+        resultLong = STRING_TO_ID.getIfPresent(string);
+        if (resultLong != null) {
+            // the two caches evict independently, so make sure the id just served can be looked up again
+            if (ID_TO_STRING.getIfPresent(resultLong) == null) {
+                ID_TO_STRING.put(resultLong, string);
+            }
+            return resultLong;
+        }
+        long result = computeId(string);
+        STRING_TO_ID.put(string, result);
+        ID_TO_STRING.put(result, string);
+        return result;
+    }
+
+    private static long computeId(String string) {
+        byte[] hash = DIGEST.get().digest(string.getBytes(StandardCharsets.UTF_8));
+        long result = 0;
+        for (int i = 0; i < 8; ++i) {
+            result <<= 8;
+            result ^= hash[i];
+        }
+        // mash the top bit to make things easier
+        return result & 0x7FFFFFFFFFFFFFFFL;
+    }
+
+    /**
+     * Get the IDs for a collection of strings, in iteration order. Large collections are done in parallel.
+     *
+     * @param strings
+     *            input strings.
+     * @return the IDs, as from {@link #getId(CharSequence)}
+     */
+    public static long[] getIds(Collection<? extends CharSequence> strings) {
+        List<? extends CharSequence> list = strings instanceof List ? (List<? extends CharSequence>) strings
+            : new ArrayList<>(strings);
+        if (list.size() < PARALLEL_THRESHOLD) {
+            long[] result = new long[list.size()];
+            int i = 0;
+            for (CharSequence string : list) {
+                result[i++] = getId(string);
             }
+            return result;
         }
+        return list.parallelStream().mapToLong(StringId::getId).toArray();
+    }
+
+    /**
+     * Compute the IDs for a collection of strings (such as all the known paths) and keep them permanently,
+     * so that later lookups in either direction never have to compute or evict them.
+     *
+     * @param strings
+     *            input strings.
+     */
+    public static void preload(Collection<? extends CharSequence> strings) {
+        List<String> list = new ArrayList<>(strings.size());
+        for (CharSequence string : strings) {
+            list.add(string.toString());
+        }
+        long[] ids = list.parallelStream().mapToLong(StringId::computeId).toArray();
+        synchronized (StringId.class) {
+            Map<String, Long> stringToId = new HashMap<>(knownStringToId);
+            Map<Long, String> idToString = new HashMap<>(knownIdToString);
+            for (int i = 0; i < ids.length; ++i) {
+                stringToId.put(list.get(i), ids[i]);
+                idToString.put(ids[i], list.get(i));
+            }
+            knownStringToId = stringToId;
+            knownIdToString = idToString;
+        }
+    }
+
+    /**
+     * Get the number of preloaded strings.
+     */
+    public static int getPreloadedCount() {
+        return knownStringToId.size();
+    }
+
+    /**
+     * Get the statistics for the cache of strings that weren't preloaded.
+     */
+    public static CacheStats getCacheStats() {
+        return STRING_TO_ID.stats();
     }
 
     /**
@@ -88,9 +173,10 @@ public final class StringId {
     /**
      * Returns string previously used to generate the longValue with getId.
      * @param longValue
-     * @return String previously used to generate the longValue with getId.
+     * @return String previously used to generate the longValue with getId, or null if unknown or evicted.
      */
     public static String getStringFromId(long longValue) {
-        return ID_TO_STRING.get(longValue);
+        String result = knownIdToString.get(longValue);
+        return result != null ? result : ID_TO_STRING.getIfPresent(longValue);
     }
-}
\ No newline at end of file
+}
@@ -10,7 +10,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
-import java.util.Deque;
 import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -29,6 +28,7 @@ import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -47,6 +47,10 @@ import org.unicode.cldr.util.Validity.Status;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalNotification;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
@@ -2135,7 +2139,7 @@ public class SupplementalDataInfo {
     private SortedSet<CoverageLevelInfo> coverageLevels = new TreeSet<>();
     private Map<String, String> parentLocales = new HashMap<>();
     private Map<String, List<String>> calendarPreferences = new HashMap<>();
-    private Map<String, CoverageVariableInfo> localeSpecificVariables = new TreeMap<>();
+    private Map<String, CoverageVariableInfo> localeSpecificVariables = new ConcurrentHashMap<>();
     private VariableReplacer coverageVariables = new VariableReplacer();
     private Map<String, NumberingSystemInfo> numberingSystems = new HashMap<>();
     private Set<String> numericSystems = new TreeSet<>();
@@ -2449,15 +2453,10 @@ public class SupplementalDataInfo {
      * @return
      */
     public Level getCoverageLevel(String xpath, String loc) {
-        Level result = null;
-        result = coverageCache.get(xpath, loc);
+        Level result = coverageCache.get(xpath, loc);
         if (result == null) {
-            CoverageLevel2 cov = localeToCoverageLevelInfo.get(loc);
-            if (cov == null) {
-                cov = CoverageLevel2.getInstance(this, loc);
-                localeToCoverageLevelInfo.put(loc, cov);
-            }
-
+            CoverageLevel2 cov = localeToCoverageLevelInfo.computeIfAbsent(loc,
+                locale -> CoverageLevel2.getInstance(this, locale));
             result = cov.getLevel(xpath);
             coverageCache.put(xpath, loc, result);
         }
@@ -2465,23 +2464,46 @@ public class SupplementalDataInfo {
     }
 
     /**
-     * Cache Data structure with object expiry,
-     * List that can hold up to MAX_LOCALES caches of locales, when one locale hasn't been used for a while it will removed and GC'd
+     * Fill the coverage cache for a locale, typically from a full path enumeration such as
+     * {@link CLDRFile#fullIterable()}, so that later calls to {@link #getCoverageLevel(String, String)} are hits.
+     *
+     * @param loc
+     * @param xpaths
      */
-    private class CoverageCache {
-        private final Deque<Node> localeList = new LinkedList<>();
-        private final int MAX_LOCALES = 10;
+    public void prewarmCoverageLevels(String loc, Iterable<String> xpaths) {
+        for (String xpath : xpaths) {
+            getCoverageLevel(xpath, loc);
+        }
+    }
 
-        /**
-         * Object to sync on for modifying the locale list
-         */
-        private final Object LOCALE_LIST_ITER_SYNC = new Object();
+    /**
+     * Return the hit, miss, and eviction counts of the cache used by {@link #getCoverageLevel(String, String)}.
+     * Evictions count both locales and paths within a locale.
+     */
+    public CacheStats getCoverageCacheStats() {
+        return coverageCache.stats();
+    }
+
+    /**
+     * Two-level cache of coverage levels: by locale, then by xpath. Lookups take no lock.
+     * <p>
+     * At most CLDR_COVERAGE_CACHE_LOCALES locales are kept (the least recently used are dropped),
+     * and at most CLDR_COVERAGE_CACHE_PATHS paths per locale.
+     */
+    private static class CoverageCache {
+        private final Cache<String, Cache<String, Level>> localeToPathToLevel;
+        private final int maxPaths;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
 
-        /*
-         * constructor
-         */
         public CoverageCache() {
-//            localeList = new LinkedList<Node>();
+            CLDRConfig config = CLDRConfig.getInstance();
+            maxPaths = config.getProperty("CLDR_COVERAGE_CACHE_PATHS", 50000);
+            localeToPathToLevel = CacheBuilder.newBuilder()
+                .maximumSize(config.getProperty("CLDR_COVERAGE_CACHE_LOCALES", 50))
+                .removalListener(this::onRemoval)
+                .build();
         }
 
         /*
@@ -2491,25 +2513,10 @@ public class SupplementalDataInfo {
          * @return the coverage level of the above two keys
          */
         public Level get(String xpath, String loc) {
-            synchronized (LOCALE_LIST_ITER_SYNC) {
-                Iterator<Node> it = localeList.iterator();
-                Node reAddNode = null;
-                while (it.hasNext()) {
-//            for (Iterator<Node> it = localeList.iterator(); it.hasNext();) {
-                    Node node = it.next();
-                    if (node.loc.equals(loc)) {
-                        reAddNode = node;
-                        it.remove();
-                        break;
-
-                    }
-                }
-                if (reAddNode != null) {
-                    localeList.addFirst(reAddNode);
-                    return reAddNode.map.get(xpath);
-                }
-                return null;
-            }
+            Cache<String, Level> pathToLevel = localeToPathToLevel.getIfPresent(loc);
+            Level result = pathToLevel == null ? null : pathToLevel.getIfPresent(xpath);
+            (result == null ? misses : hits).increment();
+            return result;
         }
 
         /*
@@ -2519,39 +2526,21 @@ public class SupplementalDataInfo {
          * @param covLevel    the coverage level of the above two keys
          */
         public void put(String xpath, String loc, Level covLevel) {
-            synchronized (LOCALE_LIST_ITER_SYNC) {
-                //if locale's map is already in the cache add to it
-//            for (Iterator<Node> it = localeList.iterator(); it.hasNext();) {
-                for (Node node : localeList) {
-//                Node node = it.next();
-                    if (node.loc.equals(loc)) {
-                        node.map.put(xpath, covLevel);
-                        return;
-                    }
-                }
-
-                //if it is not, add a new map with the coverage level, and remove the last map in the list (used most seldom) if the list is too large
-                Map<String, Level> newMap = new ConcurrentHashMap<>();
-                newMap.put(xpath, covLevel);
-                localeList.addFirst(new Node(loc, newMap));
-
-                if (localeList.size() > MAX_LOCALES) {
-                    localeList.removeLast();
-                }
-            }
+            localeToPathToLevel.asMap()
+                .computeIfAbsent(loc, k -> CacheBuilder.newBuilder()
+                    .maximumSize(maxPaths)
+                    .removalListener(this::onRemoval)
+                    .build())
+                .put(xpath, covLevel);
         }
 
-        /*
-         * node to hold a location and a Map
-         */
-        private class Node {
-            //public fields to emulate a C/C++ struct
-            public String loc;
-            public Map<String, Level> map;
+        public CacheStats stats() {
+            return new CacheStats(hits.sum(), misses.sum(), 0, 0, 0, evictions.sum());
+        }
 
-            public Node(String _loc, Map<String, Level> _map) {
-                loc = _loc;
-                map = _map;
+        private void onRemoval(RemovalNotification<String, ?> notification) {
+            if (notification.wasEvicted()) {
+                evictions.increment();
             }
         }
     }
@@ -2671,20 +2660,17 @@ public class SupplementalDataInfo {
     }
 
     public CoverageVariableInfo getCoverageVariableInfo(String targetLanguage) {
-        CoverageVariableInfo cvi;
-        if (localeSpecificVariables.containsKey(targetLanguage)) {
-            cvi = localeSpecificVariables.get(targetLanguage);
-        } else {
-            cvi = new CoverageVariableInfo();
-            cvi.targetScripts = getTargetScripts(targetLanguage);
-            cvi.targetTerritories = getTargetTerritories(targetLanguage);
+        // CoverageLevel2 instances may be created on several threads at once
+        return localeSpecificVariables.computeIfAbsent(targetLanguage, language -> {
+            CoverageVariableInfo cvi = new CoverageVariableInfo();
+            cvi.targetScripts = getTargetScripts(language);
+            cvi.targetTerritories = getTargetTerritories(language);
             cvi.calendars = getCalendars(cvi.targetTerritories);
             cvi.targetCurrencies = getCurrentCurrencies(cvi.targetTerritories);
             cvi.targetTimeZones = getCurrentTimeZones(cvi.targetTerritories);
-            cvi.targetPlurals = getTargetPlurals(targetLanguage);
-            localeSpecificVariables.put(targetLanguage, cvi);
-        }
-        return cvi;
+            cvi.targetPlurals = getTargetPlurals(language);
+            return cvi;
+        });
     }
 
     private Set<String> getTargetScripts(String language) {
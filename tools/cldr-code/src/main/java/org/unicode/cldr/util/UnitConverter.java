@@ -29,6 +29,9 @@ import org.unicode.cldr.util.Rational.RationalParser;
 import org.unicode.cldr.util.SupplementalDataInfo.PluralInfo;
 
 import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableList;
@@ -75,6 +78,17 @@ public class UnitConverter implements Freezable<UnitConverter> {
 
     private boolean frozen = false;
 
+    private static final int CONVERSION_CACHE_SIZE = CLDRConfig.getInstance().getProperty("CLDR_UNIT_CONVERSION_CACHE_SIZE", 10000);
+
+    // Only used once frozen, since the results depend on the data.
+    private final Cache<String, ParsedUnit> parsedUnitCache = CacheBuilder.newBuilder()
+        .maximumSize(CONVERSION_CACHE_SIZE)
+        .build();
+    private final Cache<String, ConversionPlan> conversionPlanCache = CacheBuilder.newBuilder()
+        .maximumSize(CONVERSION_CACHE_SIZE)
+        .recordStats()
+        .build();
+
     public TargetInfoComparator targetInfoComparator;
 
     /** Warning: ordering is important; determines the normalized output */
@@ -273,6 +287,137 @@ public class UnitConverter implements Freezable<UnitConverter> {
         }
     }
 
+    /**
+     * The result of parseUnitId, for the cache. The info is null if the unit can't be converted.
+     */
+    private static final class ParsedUnit {
+        final ConversionInfo info;
+        final String metricUnit;
+
+        ParsedUnit(ConversionInfo info, String metricUnit) {
+            this.info = info;
+            this.metricUnit = metricUnit;
+        }
+    }
+
+    /**
+     * A compiled conversion from one unit to another, as computed by {@link UnitConverter#convert(Rational, String, String, boolean)}.
+     * Unless the target is the reciprocal of the source (eg liter-per-kilometer to mile-per-gallon), the steps are
+     * folded into a single factor and offset, and those are also kept as doubles for conversions of doubles.
+     * Immutable, so plans can be shared across threads.
+     */
+    public static final class ConversionPlan {
+        /** The plan for incomparable or unknown units: every value converts to NaN. */
+        public static final ConversionPlan NONE = new ConversionPlan(null, null, false, null, null);
+
+        private final ConversionInfo sourceInfo;
+        private final String sourceBase;
+        private final boolean reciprocal;
+        private final ConversionInfo targetInfo;
+        private final String targetBase;
+        // if not reciprocal, the combined conversion
+        private final ConversionInfo linear;
+        private final double sourceFactor;
+        private final double sourceOffset;
+        private final double targetFactor;
+        private final double targetOffset;
+
+        private ConversionPlan(ConversionInfo sourceInfo, String sourceBase, boolean reciprocal,
+            ConversionInfo targetInfo, String targetBase) {
+            this.sourceInfo = sourceInfo;
+            this.sourceBase = sourceBase;
+            this.reciprocal = reciprocal;
+            this.targetInfo = targetInfo;
+            this.targetBase = targetBase;
+            if (sourceInfo == null) {
+                linear = null;
+                sourceFactor = sourceOffset = targetFactor = targetOffset = Double.NaN;
+                return;
+            }
+            if (reciprocal) {
+                linear = null;
+                sourceFactor = sourceInfo.factor.doubleValue();
+                sourceOffset = sourceInfo.offset.doubleValue();
+                targetFactor = targetInfo.factor.doubleValue();
+                targetOffset = targetInfo.offset.doubleValue();
+            } else {
+                // (x * f1 + o1 - o2) / f2 = x * (f1 / f2) + (o1 - o2) / f2
+                linear = new ConversionInfo(sourceInfo.factor.divide(targetInfo.factor),
+                    sourceInfo.offset.subtract(targetInfo.offset).divide(targetInfo.factor));
+                sourceFactor = linear.factor.doubleValue();
+                sourceOffset = linear.offset.doubleValue();
+                targetFactor = 1;
+                targetOffset = 0;
+            }
+        }
+
+        /**
+         * Can the units be converted?
+         */
+        public boolean isValid() {
+            return sourceInfo != null;
+        }
+
+        /**
+         * The single conversion, or null if the plan isn't valid or goes through a reciprocal.
+         */
+        public ConversionInfo getLinear() {
+            return linear;
+        }
+
+        public Rational convert(Rational sourceValue) {
+            if (sourceInfo == null) {
+                return Rational.NaN;
+            }
+            if (linear != null && sourceValue.denominator.signum() != 0) {
+                return linear.convert(sourceValue);
+            }
+            // the separate steps, also used for infinities and NaN
+            Rational intermediateResult = sourceInfo.convert(sourceValue);
+            if (reciprocal) {
+                intermediateResult = intermediateResult.reciprocal();
+            }
+            return targetInfo.convertBackwards(intermediateResult);
+        }
+
+        /**
+         * Convert a double. The result may differ from the exact conversion by the usual rounding of doubles.
+         */
+        public double convert(double sourceValue) {
+            double result = sourceValue * sourceFactor + sourceOffset;
+            if (reciprocal) {
+                result = (1 / result - targetOffset) / targetFactor;
+            }
+            return result;
+        }
+
+        /**
+         * Convert each of the source values into the corresponding element of the result, which may be the same array.
+         */
+        public double[] convert(double[] sourceValues, double[] result) {
+            if (result.length < sourceValues.length) {
+                throw new IllegalArgumentException("Result array is too short: " + result.length + " < " + sourceValues.length);
+            }
+            if (reciprocal) {
+                for (int i = 0; i < sourceValues.length; ++i) {
+                    result[i] = (1 / (sourceValues[i] * sourceFactor + sourceOffset) - targetOffset) / targetFactor;
+                }
+            } else {
+                for (int i = 0; i < sourceValues.length; ++i) {
+                    result[i] = sourceValues[i] * sourceFactor + sourceOffset;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return sourceInfo == null ? "NONE"
+                : linear != null ? linear.toString()
+                    : "1/(" + sourceInfo + ") ⟹ " + targetInfo;
+        }
+    }
+
     public static class Continuation implements Comparable<Continuation> {
         public final List<String> remainder;
         public final String result;
@@ -580,6 +725,20 @@ public class UnitConverter implements Freezable<UnitConverter> {
      *
      */
     public ConversionInfo parseUnitId (String derivedUnit, Output<String> metricUnit, boolean showYourWork) {
+        if (!frozen || showYourWork) {
+            return parseUnitIdUncached(derivedUnit, metricUnit, showYourWork);
+        }
+        ParsedUnit parsed = parsedUnitCache.getIfPresent(derivedUnit);
+        if (parsed == null) {
+            ConversionInfo info = parseUnitIdUncached(derivedUnit, metricUnit, false);
+            parsed = new ParsedUnit(info, metricUnit.value);
+            parsedUnitCache.put(derivedUnit, parsed);
+        }
+        metricUnit.value = parsed.metricUnit;
+        return parsed.info;
+    }
+
+    private ConversionInfo parseUnitIdUncached (String derivedUnit, Output<String> metricUnit, boolean showYourWork) {
         metricUnit.value = null;
 
         UnitId outputUnit = new UnitId(UNIT_COMPARATOR);
@@ -1419,25 +1578,84 @@ public class UnitConverter implements Freezable<UnitConverter> {
     }
 
     public Rational convert(Rational sourceValue, String sourceUnit, final String targetUnit, boolean showYourWork) {
-        if (showYourWork) {
-            System.out.println(showRational("\nconvert:\t", sourceValue, sourceUnit) + " ⟹ " + targetUnit);
+        if (!showYourWork) {
+            return getConversionPlan(sourceUnit, targetUnit).convert(sourceValue);
+        }
+        System.out.println(showRational("\nconvert:\t", sourceValue, sourceUnit) + " ⟹ " + targetUnit);
+        ConversionPlan plan = computeConversionPlan(sourceUnit, targetUnit, true);
+        if (!plan.isValid()) {
+            return Rational.NaN;
+        }
+        // show the separate steps of the plan
+        Rational intermediateResult = plan.sourceInfo.convert(sourceValue);
+        System.out.println(showRational("intermediate:\t", intermediateResult, plan.sourceBase));
+        if (plan.reciprocal) {
+            intermediateResult = intermediateResult.reciprocal();
+            System.out.println(showRational(" ⟹ 1/intermediate:\t", intermediateResult, plan.targetBase));
+        }
+        Rational result = plan.targetInfo.convertBackwards(intermediateResult);
+        System.out.println(showRational("target:\t", result, targetUnit));
+        return result;
+    }
+
+    /**
+     * Convert a double; see {@link ConversionPlan#convert(double)}. Returns NaN if the units can't be converted.
+     */
+    public double convert(double sourceValue, String sourceUnit, String targetUnit) {
+        return getConversionPlan(sourceUnit, targetUnit).convert(sourceValue);
+    }
+
+    /**
+     * Convert an array of doubles, returning a new array. The units are only looked up once.
+     */
+    public double[] convert(double[] sourceValues, String sourceUnit, String targetUnit) {
+        return getConversionPlan(sourceUnit, targetUnit).convert(sourceValues, new double[sourceValues.length]);
+    }
+
+    /**
+     * Get the compiled conversion between two units, which gives the same results as
+     * {@link #convert(Rational, String, String, boolean)} without parsing the units each time.
+     * Once the converter is frozen, the plans are cached (up to CLDR_UNIT_CONVERSION_CACHE_SIZE).
+     */
+    public ConversionPlan getConversionPlan(String sourceUnit, String targetUnit) {
+        if (!frozen) {
+            return computeConversionPlan(sourceUnit, targetUnit, false);
+        }
+        String key = sourceUnit + " " + targetUnit;
+        ConversionPlan result = conversionPlanCache.getIfPresent(key);
+        if (result == null) {
+            result = computeConversionPlan(sourceUnit, targetUnit, false);
+            conversionPlanCache.put(key, result);
         }
+        return result;
+    }
+
+    /**
+     * Get the statistics for the cache of conversion plans.
+     */
+    public CacheStats getConversionCacheStats() {
+        return conversionPlanCache.stats();
+    }
+
+    /**
+     * Work out how to convert between the units, printing the steps if showYourWork is true.
+     */
+    private ConversionPlan computeConversionPlan(String sourceUnit, String targetUnit, boolean showYourWork) {
         sourceUnit = fixDenormalized(sourceUnit);
         Output<String> sourceBase = new Output<>();
         Output<String> targetBase = new Output<>();
         ConversionInfo sourceConversionInfo = parseUnitId(sourceUnit, sourceBase, showYourWork);
         if (sourceConversionInfo == null) {
             if (showYourWork) System.out.println("! unknown unit: " + sourceUnit);
-            return Rational.NaN;
+            return ConversionPlan.NONE;
         }
-        Rational intermediateResult = sourceConversionInfo.convert(sourceValue);
-        if (showYourWork) System.out.println(showRational("intermediate:\t", intermediateResult, sourceBase.value));
         if (showYourWork) System.out.println("invert:\t" + targetUnit);
         ConversionInfo targetConversionInfo = parseUnitId(targetUnit, targetBase, showYourWork);
         if (targetConversionInfo == null) {
             if (showYourWork) System.out.println("! unknown unit: " + targetUnit);
-            return Rational.NaN;
+            return ConversionPlan.NONE;
         }
+        boolean reciprocal = false;
         if (!sourceBase.value.equals(targetBase.value)) {
             // try resolving
             String sourceBaseFixed = createUnitId(sourceBase.value).resolve().toString();
@@ -1447,15 +1665,12 @@ public class UnitConverter implements Freezable<UnitConverter> {
                 String reciprocalUnit = reciprocalOf(sourceBase.value);
                 if (reciprocalUnit == null || !targetBase.value.equals(reciprocalUnit)) {
                     if (showYourWork) System.out.println("! incomparable units: " + sourceUnit + " and " + targetUnit);
-                    return Rational.NaN;
+                    return ConversionPlan.NONE;
                 }
-                intermediateResult = intermediateResult.reciprocal();
-                if (showYourWork) System.out.println(showRational(" ⟹ 1/intermediate:\t", intermediateResult, reciprocalUnit));
+                reciprocal = true;
             }
         }
-        Rational result = targetConversionInfo.convertBackwards(intermediateResult);
-        if (showYourWork) System.out.println(showRational("target:\t", result, targetUnit));
-        return result;
+        return new ConversionPlan(sourceConversionInfo, sourceBase.value, reciprocal, targetConversionInfo, targetBase.value);
     }
 
     public String fixDenormalized(String unit) {
@@ -0,0 +1,256 @@
+package org.unicode.cldr.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * An index over the values of a CLDRFile, for substring and prefix searches. Values are normalized as in
+ * {@link SimpleXMLSource#normalize(String)}, and each distinct trigram of a normalized value maps to the paths
+ * that contain it. A query is answered from the smallest posting set of its trigrams, then checked against the
+ * values, so it only touches a small fraction of the paths.
+ * <p>
+ * The index can be registered as a {@link XMLSource.Listener} on the source of the file (the caller must hold on
+ * to it, since listeners are weakly referenced); it is then updated path by path as values change. For a resolved
+ * file, that is the resolving source, which passes on the changes anywhere in the chain. Searches are
+ * thread-safe and may run while it is being updated.
+ */
+public class ValueSearchIndex implements XMLSource.Listener {
+    private static final int GRAM = 3;
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[\\s\\p{Punct}]+");
+
+    /**
+     * How well a value matched a query, best first.
+     */
+    public enum MatchType {
+        exact, prefix, wordStart, substring
+    }
+
+    /**
+     * A search result.
+     */
+    public static final class Match {
+        private final String path;
+        private final String value;
+        private final MatchType type;
+
+        private Match(String path, String value, MatchType type) {
+            this.path = path;
+            this.value = value;
+            this.type = type;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * The normalized value that matched.
+         */
+        public String getValue() {
+            return value;
+        }
+
+        public MatchType getType() {
+            return type;
+        }
+
+        @Override
+        public String toString() {
+            return type + "\t" + value + "\t" + path;
+        }
+    }
+
+    /**
+     * The order of the results of {@link #search}, best first; also for merging the results of several indexes.
+     */
+    public static final Comparator<Match> RANKING = Comparator.comparing(Match::getType)
+        .thenComparingInt(m -> m.value.length())
+        .thenComparing(Match::getPath);
+
+    /**
+     * A normalized value, with the start and end offsets in it of the (normalized) words of the raw value,
+     * since the normalized value drops the spaces and punctuation that separate them.
+     */
+    private static final class IndexedValue {
+        private final String value;
+        private final int[] wordBounds;
+
+        IndexedValue(String value, String rawValue) {
+            this.value = value;
+            String[] words = WORD_SEPARATORS.split(rawValue);
+            int[] bounds = new int[words.length * 2];
+            int count = 0;
+            int pos = 0;
+            for (String word : words) {
+                String normalized = SimpleXMLSource.normalize(word);
+                int start = normalized.isEmpty() ? -1 : value.indexOf(normalized, pos);
+                if (start >= 0) {
+                    bounds[count++] = start;
+                    bounds[count++] = pos = start + normalized.length();
+                }
+            }
+            wordBounds = count == bounds.length ? bounds : Arrays.copyOf(bounds, count);
+        }
+
+        /**
+         * Does the query start one of the words (and fit inside it)?
+         */
+        boolean isWordStart(String q) {
+            for (int i = 0; i < wordBounds.length; i += 2) {
+                if (wordBounds[i + 1] - wordBounds[i] >= q.length() && value.startsWith(q, wordBounds[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final CLDRFile file;
+    private final Map<String, IndexedValue> pathToValue = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> gramToPaths = new ConcurrentHashMap<>();
+
+    /**
+     * Index all the paths of the file that have values.
+     */
+    public ValueSearchIndex(CLDRFile file) {
+        this.file = file;
+        for (String path : file) {
+            update(path, file.getStringValue(path));
+        }
+    }
+
+    /**
+     * Update the index when a value changes in the source of the file.
+     */
+    @Override
+    public void valueChanged(String xpath, XMLSource source) {
+        String value = source.getValueAtDPath(xpath);
+        update(xpath, value != null ? value : file.getStringValue(xpath));
+    }
+
+    /**
+     * Set the value for the path, or remove it from the index if the value is null.
+     */
+    public synchronized void update(String path, String rawValue) {
+        String value = rawValue == null ? null : SimpleXMLSource.normalize(rawValue);
+        if (value != null && value.isEmpty()) {
+            value = null;
+        }
+        IndexedValue old = value == null ? pathToValue.remove(path)
+            : pathToValue.put(path, new IndexedValue(value, rawValue));
+        String oldValue = old == null ? null : old.value;
+        if (oldValue != null && !oldValue.equals(value)) {
+            for (String gram : getGrams(oldValue)) {
+                Set<String> paths = gramToPaths.get(gram);
+                if (paths != null) {
+                    paths.remove(path);
+                    if (paths.isEmpty()) {
+                        gramToPaths.remove(gram);
+                    }
+                }
+            }
+        }
+        if (value != null && !value.equals(oldValue)) {
+            for (String gram : getGrams(value)) {
+                gramToPaths.computeIfAbsent(gram, k -> ConcurrentHashMap.newKeySet()).add(path);
+            }
+        }
+    }
+
+    /**
+     * Find the paths whose values contain the query, best matches first: exact matches, then prefixes,
+     * then matches at the start of a word (in the unnormalized value), then other substrings; within each,
+     * shorter values first.
+     *
+     * @param limit the maximum number of results
+     */
+    public List<Match> search(String query, int limit) {
+        String q = SimpleXMLSource.normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<Match> result = new ArrayList<>();
+        if (q.length() < GRAM) {
+            // too short for the grams; the values are few enough to scan
+            for (Map.Entry<String, IndexedValue> entry : pathToValue.entrySet()) {
+                addIfMatches(entry.getKey(), entry.getValue(), q, result);
+            }
+        } else {
+            for (String path : getCandidates(q)) {
+                addIfMatches(path, pathToValue.get(path), q, result);
+            }
+        }
+        result.sort(RANKING);
+        return result.size() <= limit ? result : new ArrayList<>(result.subList(0, limit));
+    }
+
+    /**
+     * Add the paths whose values contain the query to the result.
+     */
+    public <T extends Collection<String>> T getPathsContaining(String query, T result) {
+        for (Match match : search(query, Integer.MAX_VALUE)) {
+            result.add(match.getPath());
+        }
+        return result;
+    }
+
+    /**
+     * The number of indexed paths.
+     */
+    public int size() {
+        return pathToValue.size();
+    }
+
+    private Set<String> getCandidates(String q) {
+        Set<String> best = null;
+        for (String gram : getGrams(q)) {
+            Set<String> paths = gramToPaths.get(gram);
+            if (paths == null) {
+                return Collections.emptySet();
+            }
+            if (best == null || paths.size() < best.size()) {
+                best = paths;
+            }
+        }
+        return best;
+    }
+
+    private void addIfMatches(String path, IndexedValue indexed, String q, List<Match> result) {
+        if (indexed == null) {
+            return; // removed since the candidates were found
+        }
+        String value = indexed.value;
+        int pos = value.indexOf(q);
+        if (pos < 0) {
+            return;
+        }
+        MatchType type = value.length() == q.length() ? MatchType.exact
+            : pos == 0 ? MatchType.prefix
+                : indexed.isWordStart(q) ? MatchType.wordStart
+                    : MatchType.substring;
+        result.add(new Match(path, value, type));
+    }
+
+    /**
+     * The distinct trigrams of a normalized value; a value shorter than a trigram is its own gram.
+     */
+    private static Set<String> getGrams(String value) {
+        if (value.length() <= GRAM) {
+            return Collections.singleton(value);
+        }
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); ++i) {
+            result.add(value.substring(i, i + GRAM));
+        }
+        return result;
+    }
+}
@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -13,6 +14,8 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -25,7 +28,9 @@ import org.xml.sax.SAXParseException;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalNotification;
 import com.google.common.collect.ImmutableSet;
 import com.ibm.icu.impl.Utility;
 import com.ibm.icu.text.UnicodeSet;
@@ -37,18 +42,56 @@ import com.ibm.icu.util.VersionInfo;
  */
 public class XMLNormalizingLoader{
 
-    private static final int CACHE_LIMIT = 700;
+    /**
+     * The cache is bounded by the estimated size of the sources, rather than by a count, so that the heap
+     * can be sized deliberately. Set CLDR_XML_CACHE_MB to change the budget; the default is a quarter of the max heap,
+     * or DEFAULT_UNLIMITED_CACHE_MB if the heap has no limit.
+     */
+    private static final long CACHE_MAX_BYTES = CLDRConfig.getInstance().getProperty("CLDR_XML_CACHE_MB",
+        getDefaultCacheMegabytes()) * 1024L * 1024L;
+
+    private static final int DEFAULT_UNLIMITED_CACHE_MB = 1024;
+
+    private static int getDefaultCacheMegabytes() {
+        long maxMemory = Runtime.getRuntime().maxMemory();
+        if (maxMemory == Long.MAX_VALUE) {
+            return DEFAULT_UNLIMITED_CACHE_MB;
+        }
+        long megabytes = maxMemory / 4 / 1024 / 1024;
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, megabytes));
+    }
+
+    private static final LongAdder parseNanos = new LongAdder();
+    private static final LongAdder parseCount = new LongAdder();
+    private static final LongAdder binaryCacheCount = new LongAdder();
+    private static final LongAdder cachedBytes = new LongAdder();
+    private static final LongAdder evictedBytes = new LongAdder();
+
     private static LoadingCache<XMLSourceCacheKey, XMLSource> cache = CacheBuilder.newBuilder()
-        .maximumSize(CACHE_LIMIT)
-        .softValues()   // will garbage-collected in LRU manner in response to memory demand
+        .maximumWeight(CACHE_MAX_BYTES)
+        .weigher((XMLSourceCacheKey key, XMLSource source) -> (int) Math.min(Integer.MAX_VALUE, estimateSize(source)))
+        .removalListener((RemovalNotification<XMLSourceCacheKey, XMLSource> notification) -> {
+            long size = estimateSize(notification.getValue());
+            cachedBytes.add(-size);
+            if (notification.wasEvicted()) {
+                evictedBytes.add(size);
+            }
+        })
+        .recordStats()
         .build(
             new CacheLoader<XMLSourceCacheKey, XMLSource>() {
                 @Override
                 public XMLSource load(XMLSourceCacheKey key) {
-                    return makeXMLSource(key);
+                    XMLSource source = makeXMLSource(key);
+                    cachedBytes.add(estimateSize(source));
+                    return source;
                 }
             });
 
+    private static long estimateSize(XMLSource source) {
+        return source instanceof SimpleXMLSource ? ((SimpleXMLSource) source).estimateSize() : 0;
+    }
+
     private static final boolean LOG_PROGRESS = false;
     private static final boolean DEBUG = false;
     enum SupplementalStatus {
@@ -116,6 +159,79 @@ public class XMLNormalizingLoader{
         return cache.getUnchecked(key);
     }
 
+    /**
+     * Load the sources for the locales into the cache, in parallel. Locales beyond the cache budget
+     * will just evict earlier ones, so this is only useful for a set that fits.
+     */
+    public static void prefetch(Collection<String> localeIds, List<File> dirs, DraftStatus minimalDraftStatus) {
+        localeIds.parallelStream()
+            .forEach(localeId -> getFrozenInstance(localeId, dirs, minimalDraftStatus));
+    }
+
+    /**
+     * Return the statistics of the cache: hits, misses, load time (including merging
+     * sources from multiple directories), and eviction count.
+     */
+    public static CacheStats getCacheStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Return the total time spent parsing XML files, in nanoseconds. (Part of the load time.)
+     */
+    public static long getParseNanos() {
+        return parseNanos.sum();
+    }
+
+    /**
+     * Return the number of XML files parsed.
+     */
+    public static long getParseCount() {
+        return parseCount.sum();
+    }
+
+    /**
+     * Return the number of files read from the {@link XMLSourceBinaryCache} instead of being parsed.
+     */
+    public static long getBinaryCacheCount() {
+        return binaryCacheCount.sum();
+    }
+
+    /**
+     * Return the estimated bytes currently in the cache.
+     */
+    public static long getCachedBytes() {
+        return cachedBytes.sum();
+    }
+
+    /**
+     * Return the estimated bytes evicted from the cache so far.
+     */
+    public static long getEvictedBytes() {
+        return evictedBytes.sum();
+    }
+
+    /**
+     * Return the budget of the cache, in estimated bytes.
+     */
+    public static long getMaxCachedBytes() {
+        return CACHE_MAX_BYTES;
+    }
+
+    /**
+     * Return a one-line summary of the statistics, for logging.
+     */
+    public static String getStatistics() {
+        CacheStats stats = cache.stats();
+        return String.format("XMLSource cache: %d entries, %d/%d MB; %d hits, %d misses; "
+            + "%d loads in %d ms, of which %d parses in %d ms and %d from the binary cache; %d evictions, %d MB",
+            cache.size(), getCachedBytes() >> 20, CACHE_MAX_BYTES >> 20,
+            stats.hitCount(), stats.missCount(),
+            stats.loadCount(), TimeUnit.NANOSECONDS.toMillis(stats.totalLoadTime()),
+            getParseCount(), TimeUnit.NANOSECONDS.toMillis(getParseNanos()), getBinaryCacheCount(),
+            stats.evictionCount(), getEvictedBytes() >> 20);
+    }
+
     private static XMLSource makeXMLSource(XMLSourceCacheKey key) {
         XMLSource source = null;
         if (key.dirs.size() == 1) {
@@ -148,6 +264,11 @@ public class XMLNormalizingLoader{
     }
 
     public static XMLSource loadXMLFile(File f, String localeId, DraftStatus minimalDraftStatus) {
+        XMLSource cached = XMLSourceBinaryCache.read(f, localeId, minimalDraftStatus);
+        if (cached != null) {
+            binaryCacheCount.increment();
+            return cached;
+        }
         // use try-with-resources statement
         try (
             InputStream fis = new FileInputStream(f);
@@ -155,7 +276,10 @@ public class XMLNormalizingLoader{
             String fullFileName = PathUtilities.getNormalizedPathString(f);
             XMLSource source = new SimpleXMLSource(localeId);
             XMLNormalizingHandler XML_HANDLER = new XMLNormalizingHandler(source, minimalDraftStatus);
+            long start = System.nanoTime();
             XMLFileReader.read(fullFileName, fis, -1, true, XML_HANDLER);
+            parseNanos.add(System.nanoTime() - start);
+            parseCount.increment();
             if (XML_HANDLER.supplementalStatus == SupplementalStatus.NEVER_SET) {
                 throw new IllegalArgumentException("root of file must be either ldml or supplementalData");
             }
@@ -166,6 +290,7 @@ public class XMLNormalizingLoader{
                     + XML_HANDLER.overrideCount
                     + "; The exact problems are printed on the console above.");
             }
+            XMLSourceBinaryCache.write(f, minimalDraftStatus, source);
             return source;
         } catch (IOException e) {
             throw new ICUUncheckedIOException("Cannot read the file " + f, e);
@@ -1161,27 +1161,35 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
             return this; // No-op. ResolvingSource is already read-only.
         }
 
+        /**
+         * Clear the cached locations for the path, and pass the change on to any listeners on the resolved
+         * values, including for the paths aliasing to it.
+         */
         @Override
         public void valueChanged(String xpath, XMLSource nonResolvingSource) {
-            if (!cachingIsEnabled) {
-                return;
-            }
-            synchronized (getSourceLocaleIDCache) {
-                AliasLocation location = getSourceLocaleIDCache.remove(xpath);
-                if (location == null) {
-                    return;
-                }
-                // Paths aliasing to this path (directly or indirectly) may be affected,
-                // so clear them as well.
-                // There's probably a more elegant way to fix the paths than simply
-                // throwing everything out.
-                Set<String> dependentPaths = getDirectAliases(new String[] { xpath });
-                if (dependentPaths.size() > 0) {
-                    for (String path : dependentPaths) {
-                        getSourceLocaleIDCache.remove(path);
+            if (cachingIsEnabled) {
+                synchronized (getSourceLocaleIDCache) {
+                    AliasLocation location = getSourceLocaleIDCache.remove(xpath);
+                    if (location != null) {
+                        // Paths aliasing to this path (directly or indirectly) may be affected,
+                        // so clear them as well.
+                        // There's probably a more elegant way to fix the paths than simply
+                        // throwing everything out.
+                        Set<String> dependentPaths = getDirectAliases(new String[] { xpath });
+                        if (dependentPaths.size() > 0) {
+                            for (String path : dependentPaths) {
+                                getSourceLocaleIDCache.remove(path);
+                            }
+                        }
                     }
                 }
             }
+            if (hasListeners()) {
+                notifyListeners(xpath);
+                for (String path : getDirectAliases(new String[] { xpath })) {
+                    notifyListeners(path);
+                }
+            }
         }
 
         /**
@@ -1586,6 +1594,13 @@ public abstract class XMLSource implements Freezable<XMLSource>, Iterable<String
         listeners.add(new WeakReference<>(listener));
     }
 
+    /**
+     * Are there any listeners on this XML source?
+     */
+    protected boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
     /**
      * Notifies all listeners that the winning value for the given path has changed.
      *
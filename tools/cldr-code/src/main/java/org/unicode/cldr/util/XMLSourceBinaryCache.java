@@ -0,0 +1,247 @@
+package org.unicode.cldr.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.unicode.cldr.util.CLDRFile.DraftStatus;
+import org.unicode.cldr.util.XPathParts.Comments;
+import org.unicode.cldr.util.XPathParts.Comments.CommentType;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * A cache of parsed XML files in a compact binary form, so that they don't have to be reparsed by every process.
+ * Used by {@link XMLNormalizingLoader#loadXMLFile}, only if CLDR_XML_BINARY_CACHE_DIR is set.
+ * <p>
+ * Each entry has a header that records the source file (path, length, modification time), the draft status,
+ * and the modification time of the DTD; if any of these has changed, the entry is ignored and the file is reparsed.
+ * The header is followed by a table of the distinguishing paths, the values and full paths, and the comments,
+ * which refer to the paths by index. Entries are read with buffered streams, and paths are interned across files.
+ */
+public class XMLSourceBinaryCache {
+    public static final String FORMAT_KEY = "xmlsrc-1";
+
+    private static final File CACHE_DIR;
+    static {
+        String dirName = CLDRConfig.getInstance().getProperty("CLDR_XML_BINARY_CACHE_DIR", null);
+        CACHE_DIR = dirName == null || dirName.isEmpty() ? null : new File(dirName);
+    }
+
+    private static final Interner<String> PATH_INTERNER = Interners.newWeakInterner();
+
+    /**
+     * Is the cache turned on?
+     */
+    public static boolean isEnabled() {
+        return CACHE_DIR != null;
+    }
+
+    /**
+     * Return the source for the file from the cache, or null if the cache is off, or the entry is missing or out of date.
+     * The source is not frozen.
+     */
+    public static SimpleXMLSource read(File sourceFile, String localeId, DraftStatus minimalDraftStatus) {
+        if (CACHE_DIR == null) {
+            return null;
+        }
+        File cacheFile = getCacheFile(sourceFile, minimalDraftStatus);
+        if (!cacheFile.exists()) {
+            return null;
+        }
+        try {
+            return readFrom(cacheFile, sourceFile, localeId, minimalDraftStatus);
+        } catch (Exception e) {
+            System.err.println("XMLSourceBinaryCache: ignoring " + cacheFile + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Store the source parsed from the file, if the cache is on. Failures are reported but otherwise ignored.
+     */
+    public static void write(File sourceFile, DraftStatus minimalDraftStatus, XMLSource source) {
+        if (CACHE_DIR == null) {
+            return;
+        }
+        File cacheFile = getCacheFile(sourceFile, minimalDraftStatus);
+        try {
+            cacheFile.getParentFile().mkdirs();
+            // write to a temporary file and rename, so that readers in other processes never see a partial file
+            File tempFile = File.createTempFile(cacheFile.getName(), ".tmp", cacheFile.getParentFile());
+            try {
+                writeTo(tempFile, sourceFile, minimalDraftStatus, source);
+                Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                tempFile.delete();
+            }
+        } catch (IOException e) {
+            System.err.println("XMLSourceBinaryCache: can't write " + cacheFile + ": " + e);
+        }
+    }
+
+    static File getCacheFile(File sourceFile, DraftStatus minimalDraftStatus) {
+        File dir = sourceFile.getAbsoluteFile().getParentFile();
+        String dirKey = dir.getName() + "-" + Integer.toHexString(PathUtilities.getNormalizedPathString(dir).hashCode());
+        String name = sourceFile.getName().replaceFirst("\\.xml$", "") + "-" + minimalDraftStatus + ".bin";
+        return new File(new File(CACHE_DIR, dirKey), name);
+    }
+
+    private static long getDtdModified(DtdType dtdType) {
+        if (dtdType == null || CLDRPaths.BASE_DIRECTORY == null) {
+            return 0;
+        }
+        return new File(CLDRPaths.BASE_DIRECTORY, dtdType.dtdPath).lastModified();
+    }
+
+    /**
+     * Write the source parsed from sourceFile to the cache file.
+     */
+    public static void writeTo(File cacheFile, File sourceFile, DraftStatus minimalDraftStatus, XMLSource source)
+        throws IOException {
+        Map<String, Integer> pathToId = new HashMap<>();
+        List<String> paths = new ArrayList<>();
+        for (String path : source) {
+            addPath(path, pathToId, paths);
+        }
+        Comments comments = source.getXpathComments();
+        for (CommentType type : CommentType.values()) {
+            for (String path : comments.getCommentMap(type).keySet()) {
+                addPath(path, pathToId, paths);
+            }
+        }
+        DtdType dtdType = source.getXMLNormalizingDtdType();
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(cacheFile)))) {
+            writeString(out, FORMAT_KEY);
+            writeString(out, PathUtilities.getNormalizedPathString(sourceFile));
+            out.writeLong(sourceFile.length());
+            out.writeLong(sourceFile.lastModified());
+            writeString(out, minimalDraftStatus.name());
+            writeString(out, dtdType == null ? null : dtdType.name());
+            out.writeLong(getDtdModified(dtdType));
+            out.writeBoolean(source.isNonInheriting());
+
+            out.writeInt(paths.size());
+            for (String path : paths) {
+                writeString(out, path);
+            }
+            for (String path : paths) {
+                String value = source.getValueAtDPath(path);
+                String fullPath = source.getFullPathAtDPath(path);
+                writeString(out, value);
+                writeString(out, path.equals(fullPath) ? null : fullPath);
+            }
+
+            writeString(out, comments.getInitialComment());
+            writeString(out, comments.getFinalComment());
+            for (CommentType type : CommentType.values()) {
+                Map<String, String> commentMap = comments.getCommentMap(type);
+                out.writeInt(commentMap.size());
+                for (Entry<String, String> entry : commentMap.entrySet()) {
+                    out.writeInt(pathToId.get(entry.getKey()));
+                    writeString(out, entry.getValue());
+                }
+            }
+        }
+    }
+
+    private static void addPath(String path, Map<String, Integer> pathToId, List<String> paths) {
+        if (!pathToId.containsKey(path)) {
+            pathToId.put(path, paths.size());
+            paths.add(path);
+        }
+    }
+
+    /**
+     * Read the source for sourceFile from the cache file, or return null if the cache file is out of date.
+     */
+    public static SimpleXMLSource readFrom(File cacheFile, File sourceFile, String localeId, DraftStatus minimalDraftStatus)
+        throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            return readFrom(in, sourceFile, localeId, minimalDraftStatus);
+        }
+    }
+
+    private static SimpleXMLSource readFrom(DataInputStream in, File sourceFile, String localeId,
+        DraftStatus minimalDraftStatus) throws IOException {
+        if (!FORMAT_KEY.equals(readString(in))
+            || !PathUtilities.getNormalizedPathString(sourceFile).equals(readString(in))
+            || in.readLong() != sourceFile.length()
+            || in.readLong() != sourceFile.lastModified()
+            || !minimalDraftStatus.name().equals(readString(in))) {
+            return null;
+        }
+        String dtdTypeName = readString(in);
+        DtdType dtdType = dtdTypeName == null ? null : DtdType.valueOf(dtdTypeName);
+        if (in.readLong() != getDtdModified(dtdType)) {
+            return null;
+        }
+
+        SimpleXMLSource source = new SimpleXMLSource(localeId);
+        source.setXMLNormalizingDtdType(dtdType);
+        source.setNonInheriting(in.readBoolean());
+
+        String[] paths = new String[in.readInt()];
+        for (int i = 0; i < paths.length; ++i) {
+            paths[i] = PATH_INTERNER.intern(readString(in));
+        }
+        for (String path : paths) {
+            String value = readString(in);
+            String fullPath = readString(in);
+            if (value != null) {
+                source.putValueAtDPath(path, value);
+            }
+            if (fullPath != null) {
+                source.putFullPathAtDPath(path, fullPath);
+            }
+        }
+
+        Comments comments = source.getXpathComments();
+        comments.setInitialComment(readString(in));
+        comments.setFinalComment(readString(in));
+        for (CommentType type : CommentType.values()) {
+            int count = in.readInt();
+            for (int i = 0; i < count; ++i) {
+                comments.addComment(type, paths[in.readInt()], readString(in));
+            }
+        }
+        return source;
+    }
+
+    // Strings are written as a byte count (-1 for null) and UTF-8, since writeUTF is limited to 64K.
+
+    static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -19,12 +19,19 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.concurrent.ConcurrentHashMap;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSet.Builder;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.ibm.icu.impl.Utility;
 import com.ibm.icu.util.Freezable;
 
@@ -46,7 +53,41 @@ public final class XPathParts implements Freezable<XPathParts>, Comparable<XPath
 
     private DtdData dtdData = null;
 
-    private static final Map<String, XPathParts> cache = new ConcurrentHashMap<>();
+    /**
+     * The cache of frozen instances, bounded so that long-running processes don't accumulate every path
+     * ever seen. By default it holds at most CLDR_XPATH_CACHE_SIZE paths (default 500000); if CLDR_XPATH_CACHE_CHARS
+     * is set, it is instead bounded by the total length of the cached paths. The least recently used are evicted.
+     * Initialized lazily, since the configuration isn't available when XPathParts is loaded.
+     */
+    private static final class FrozenCache {
+        static final LoadingCache<String, XPathParts> CACHE = build();
+
+        private static LoadingCache<String, XPathParts> build() {
+            CLDRConfig config = CLDRConfig.getInstance();
+            int maxChars = config.getProperty("CLDR_XPATH_CACHE_CHARS", 0);
+            CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
+                .concurrencyLevel(Runtime.getRuntime().availableProcessors())
+                .recordStats();
+            if (maxChars > 0) {
+                builder.maximumWeight(maxChars)
+                    .weigher((String path, XPathParts parts) -> path.length());
+            } else {
+                builder.maximumSize(config.getProperty("CLDR_XPATH_CACHE_SIZE", 500000));
+            }
+            return builder.build(new CacheLoader<String, XPathParts>() {
+                @Override
+                public XPathParts load(String path) {
+                    return new XPathParts().addInternal(path, true).freeze();
+                }
+            });
+        }
+    }
+
+    /**
+     * Attribute values are shared between frozen instances, since the same few values (such as "wide" or "one")
+     * occur in a great many paths. (Element and attribute names are interned.)
+     */
+    private static final Interner<String> ATTRIBUTE_VALUES = Interners.newWeakInterner();
 
     /**
      * Construct a new empty XPathParts object.
@@ -205,6 +246,13 @@ public final class XPathParts implements Freezable<XPathParts>, Comparable<XPath
             return this;
         }
 
+        /**
+         * Return an unmodifiable view of the comments of the given style, from path to comment.
+         */
+        public Map<String, String> getCommentMap(CommentType style) {
+            return Collections.unmodifiableMap(comments.get(style));
+        }
+
         public String removeComment(CommentType style, String xPath) {
             String result = comments.get(style).get(xPath);
             if (result != null) comments.get(style).remove(xPath);
@@ -977,7 +1025,11 @@ public final class XPathParts implements Freezable<XPathParts>, Comparable<XPath
 
         public Element makeImmutable() {
             if (attributes != null && !(attributes instanceof ImmutableMap)) {
-                attributes = ImmutableMap.copyOf(attributes);
+                ImmutableMap.Builder<String, String> builder = ImmutableMap.builder();
+                for (Entry<String, String> entry : attributes.entrySet()) {
+                    builder.put(entry.getKey(), ATTRIBUTE_VALUES.intern(entry.getValue()));
+                }
+                attributes = builder.build();
             }
 
             return this;
@@ -1294,9 +1346,27 @@ public final class XPathParts implements Freezable<XPathParts>, Comparable<XPath
     }
 
     public static XPathParts getFrozenInstance(String path) {
-        XPathParts result = cache.computeIfAbsent(path,
-            (String forPath) -> new XPathParts().addInternal(forPath, true).freeze());
-        return result;
+        try {
+            return FrozenCache.CACHE.getUnchecked(path);
+        } catch (UncheckedExecutionException e) {
+            // rethrow what the parser threw, eg IllegalArgumentException for a malformed path
+            Throwables.throwIfUnchecked(e.getCause());
+            throw e;
+        }
+    }
+
+    /**
+     * Return the hit, miss, load and eviction counts of the frozen instance cache.
+     */
+    public static CacheStats getFrozenCacheStats() {
+        return FrozenCache.CACHE.stats();
+    }
+
+    /**
+     * Return the number of paths in the frozen instance cache.
+     */
+    public static long getFrozenCacheSize() {
+        return FrozenCache.CACHE.size();
     }
 
     public DtdData getDtdData() {
@@ -0,0 +1,77 @@
+package org.unicode.cldr.json;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class Ldml2JsonConverterTest {
+    @TempDir
+    Path tmpDir;
+
+    @Test
+    void testStreamingMain() throws Exception {
+        checkStreamingMatchesBatch("-t main -m (fr|de_CH|root)");
+    }
+
+    @Test
+    void testStreamingMainResolved() throws Exception {
+        checkStreamingMatchesBatch("-t main -m (fr|de_CH) -r true");
+    }
+
+    @Test
+    void testStreamingMainPackages() throws Exception {
+        // packages write the modern tier sections to two directories; -o writes the 'other' section too
+        checkStreamingMatchesBatch("-t main -m (fr|de_CH) -p true -o true");
+    }
+
+    @Test
+    void testStreamingSupplemental() throws Exception {
+        checkStreamingMatchesBatch("-t supplemental -m (numberingSystems|plurals|supplementalData)");
+    }
+
+    /**
+     * Convert the same files with and without streaming (-S), and check that the output is identical.
+     * The identity info is copied into every section (the default), so this also checks that streaming
+     * never rejects an identity/version item as coming too late.
+     */
+    private void checkStreamingMatchesBatch(String args) throws Exception {
+        final Path batchDir = tmpDir.resolve("batch");
+        final Path streamingDir = tmpDir.resolve("streaming");
+        convert(args, batchDir, false);
+        convert(args, streamingDir, true);
+
+        final Set<Path> batchFiles = listFiles(batchDir);
+        assertFalse(batchFiles.isEmpty(), "no output for " + args);
+        assertEquals(batchFiles, listFiles(streamingDir), "output files for " + args);
+        for (Path file : batchFiles) {
+            assertArrayEquals(Files.readAllBytes(batchDir.resolve(file)),
+                Files.readAllBytes(streamingDir.resolve(file)),
+                "contents of " + file + " for " + args);
+        }
+    }
+
+    private static void convert(String args, Path outputDir, boolean streaming) throws Exception {
+        String allArgs = args + " -d " + outputDir + " -S " + streaming;
+        Ldml2JsonConverter.main(allArgs.split(" "));
+    }
+
+    private static Set<Path> listFiles(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths
+                .filter(Files::isRegularFile)
+                .map(dir::relativize)
+                .collect(Collectors.toCollection(TreeSet::new));
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package org.unicode.cldr.unittest;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -431,4 +433,29 @@ public class LikelySubtagsTest extends TestFmwk {
         return "{\"und_" + script + "\", \"" + langScript + originCountry
             + "\"},";
     }
+
+    public void TestMaximizeAll() {
+        List<String> tags = new ArrayList<>();
+        for (Entry<String, String> entry : likely.entrySet()) {
+            tags.add(entry.getKey());
+            tags.add(entry.getValue());
+        }
+        tags.addAll(Arrays.asList("", "root", "und_Zzzz_ZZ", "zh-TW", "de_DE_1996", "qqq", "en_Qaaa"));
+
+        LikelySubtags likelySubtags = new LikelySubtags();
+        List<String> maximized = likelySubtags.maximizeAll(tags);
+        List<String> minimized = likelySubtags.minimizeAll(tags);
+        assertEquals("maximized size", tags.size(), maximized.size());
+        assertEquals("minimized size", tags.size(), minimized.size());
+        for (int i = 0; i < tags.size(); ++i) {
+            String tag = tags.get(i);
+            // the second call comes from the cache, and must agree
+            assertEquals("maximize " + tag, maximized.get(i), likelySubtags.maximize(tag));
+            assertEquals("minimize " + tag, minimized.get(i), likelySubtags.minimize(tag));
+        }
+        for (String key : likely.keySet()) {
+            assertEquals("maximize " + key, likely.get(key), likelySubtags.maximize(key));
+        }
+        assertTrue("cache hits", likelySubtags.getCacheStats().hitCount() > 0);
+    }
 }
@@ -1,6 +1,7 @@
 package org.unicode.cldr.unittest;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -30,6 +31,7 @@ import org.unicode.cldr.util.CldrUtility;
 import org.unicode.cldr.util.Counter;
 import org.unicode.cldr.util.DtdType;
 import org.unicode.cldr.util.Factory;
+import org.unicode.cldr.util.FlattenedXMLSource;
 import org.unicode.cldr.util.GrammarInfo;
 import org.unicode.cldr.util.GrammarInfo.GrammaticalFeature;
 import org.unicode.cldr.util.GrammarInfo.GrammaticalTarget;
@@ -871,4 +873,75 @@ public class TestCLDRFile extends TestFmwk {
             errln("Failure: " + Joiner.on('\n').join(Sets.difference(es.getRawExtraPaths(), es_US.getRawExtraPaths())));
         }
     }
+
+    public void TestSharedExtraPaths() {
+        CLDRFile es = cldrFactory.make("es", true);
+        CLDRFile esUnresolved = cldrFactory.make("es", false);
+        Set<String> resolvedExtras = es.getRawExtraPaths();
+        long hits = CLDRFile.getExtraPathCacheStats().hitCount();
+        Set<String> unresolvedExtras = esUnresolved.getRawExtraPaths();
+        assertTrue("the second file of a locale reuses the shared extra paths",
+            CLDRFile.getExtraPathCacheStats().hitCount() > hits);
+        assertTrue("the resolved file has at least the extra paths of the unresolved one",
+            resolvedExtras.containsAll(unresolvedExtras));
+
+        Set<String> inFile = new HashSet<>();
+        esUnresolved.forEach(inFile::add);
+        for (String prefix : new String[] { "//ldml/units/", "//ldml/numbers/currencies/", "//ldml/dates/timeZoneNames/metazone",
+            "//ldml/numbers/minimalPairs/", "//ldml/nonexistent" }) {
+            Set<String> expected = new TreeSet<>();
+            for (String path : unresolvedExtras) {
+                if (path.startsWith(prefix) && !inFile.contains(path)) {
+                    expected.add(path);
+                }
+            }
+            assertEquals(prefix, expected, esUnresolved.getExtraPaths(prefix, new TreeSet<String>()));
+        }
+    }
+
+    public void TestFlattenedXMLSource() throws IOException {
+        CLDRFile resolved = cldrFactory.make("fr_CA", true);
+        CLDRFile flattened = FlattenedXMLSource.make(cldrFactory, "fr_CA");
+        assertEquals("same paths", Sets.newHashSet(resolved), Sets.newHashSet(flattened));
+        checkFlattened(resolved, flattened);
+
+        File file = File.createTempFile("fr_CA", ".flat");
+        try {
+            FlattenedXMLSource.flatten(flattened).writeTo(file);
+            CLDRFile reread = new CLDRFile(FlattenedXMLSource.readFrom(file)).freeze();
+            assertEquals("same paths after reading", Sets.newHashSet(resolved), Sets.newHashSet(reread));
+            checkFlattened(resolved, reread);
+            assertEquals("same unresolved paths", Sets.newHashSet(resolved.getUnresolved()),
+                Sets.newHashSet(reread.getUnresolved()));
+        } finally {
+            file.delete();
+        }
+    }
+
+    private void checkFlattened(CLDRFile resolved, CLDRFile flattened) {
+        int errors = 0;
+        for (String path : resolved.fullIterable()) {
+            Status status = new Status();
+            Status flatStatus = new Status();
+            Output<String> pathWhereFound = new Output<>();
+            Output<String> localeWhereFound = new Output<>();
+            Output<String> flatPathWhereFound = new Output<>();
+            Output<String> flatLocaleWhereFound = new Output<>();
+            if (!Objects.equals(resolved.getStringValue(path), flattened.getStringValue(path))
+                || !Objects.equals(resolved.getFullXPath(path), flattened.getFullXPath(path))
+                || !Objects.equals(resolved.getSourceLocaleID(path, status), flattened.getSourceLocaleID(path, flatStatus))
+                || !Objects.equals(status.pathWhereFound, flatStatus.pathWhereFound)
+                || !Objects.equals(resolved.getBaileyValue(path, pathWhereFound, localeWhereFound),
+                    flattened.getBaileyValue(path, flatPathWhereFound, flatLocaleWhereFound))
+                || !Objects.equals(pathWhereFound.value, flatPathWhereFound.value)
+                || !Objects.equals(localeWhereFound.value, flatLocaleWhereFound.value)
+                || resolved.isHere(path) != flattened.isHere(path)
+                || !Objects.equals(resolved.getLastModifiedDate(path), flattened.getLastModifiedDate(path))) {
+                errln("Flattened resolution differs for " + path);
+                if (++errors > 10) {
+                    return;
+                }
+            }
+        }
+    }
 }
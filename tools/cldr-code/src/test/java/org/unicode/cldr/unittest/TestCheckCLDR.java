@@ -1,5 +1,8 @@
 package org.unicode.cldr.unittest;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -14,6 +17,7 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.regex.Matcher;
+import java.util.stream.IntStream;
 
 import org.unicode.cldr.test.CheckCLDR;
 import org.unicode.cldr.test.CheckCLDR.CheckStatus;
@@ -27,6 +31,7 @@ import org.unicode.cldr.test.CheckDates;
 import org.unicode.cldr.test.CheckForExemplars;
 import org.unicode.cldr.test.CheckNames;
 import org.unicode.cldr.test.CheckNew;
+import org.unicode.cldr.test.ConsoleCheckCLDR;
 import org.unicode.cldr.test.SubmissionLocales;
 import org.unicode.cldr.test.TestCache;
 import org.unicode.cldr.test.TestCache.TestResultBundle;
@@ -1011,4 +1016,53 @@ public class TestCheckCLDR extends TestFmwk {
            }
        }
     }
+
+    /**
+     * ConsoleCheckCLDR --threads: the output and the in-order actions must be the same as on one thread, even when
+     * a check runs its own parallel streams, and no checker may be used by two locales at once.
+     */
+    public void TestConsoleCheckLocaleRuns() {
+        List<String> locales = new ArrayList<>();
+        for (String locale : "root af am ar as az be bg bn bs ca cs cy da de el en en_GB es et eu fa fi fr ga gl gu he hi".split(" ")) {
+            locales.add(locale);
+        }
+        List<String> serialActions = new ArrayList<>();
+        String serial = runLocales(locales, 1, serialActions);
+        for (int threads : new int[] { 2, 4, 8 }) {
+            List<String> actions = new ArrayList<>();
+            String parallel = runLocales(locales, threads, actions);
+            assertEquals("output with " + threads + " threads", serial, parallel);
+            assertEquals("actions with " + threads + " threads", serialActions, actions);
+        }
+        assertEquals("actions", locales.size(), serialActions.size());
+    }
+
+    /**
+     * A stand-in for CompoundCheckCLDR, which keeps the locale being checked.
+     */
+    private static class LocaleChecker {
+        String localeID;
+    }
+
+    private String runLocales(List<String> locales, int threads, List<String> actions) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream oldOut = System.out;
+        System.setOut(new PrintStream(bytes, true));
+        try {
+            ConsoleCheckCLDR.LocaleRun.checkLocales(locales, threads, LocaleChecker::new, (run, checker) -> {
+                String localeID = run.getLocaleID();
+                checker.localeID = localeID;
+                System.out.println("# Checking " + localeID);
+                // a nested parallel stream, as some checks use
+                long sum = IntStream.range(0, 2000).parallel().mapToLong(i -> (i * 31 + localeID.hashCode()) % 97).sum();
+                System.out.println(localeID + "\t" + sum);
+                run.inOrder(() -> actions.add(localeID));
+                System.out.println("# Checked " + checker.localeID);
+            });
+        } finally {
+            System.setOut(oldOut);
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
 }
+
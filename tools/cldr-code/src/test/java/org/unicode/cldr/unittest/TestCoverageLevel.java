@@ -1,5 +1,10 @@
 package org.unicode.cldr.unittest;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -15,8 +20,10 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.unicode.cldr.test.CoverageLevel2;
+import org.unicode.cldr.test.CoverageSnapshot;
 import org.unicode.cldr.util.CLDRConfig;
 import org.unicode.cldr.util.CLDRFile;
 import org.unicode.cldr.util.CLDRLocale;
@@ -46,6 +53,7 @@ import org.unicode.cldr.util.SupplementalDataInfo.PopulationData;
 import org.unicode.cldr.util.XPathParts;
 
 import com.google.common.base.Joiner;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.LinkedHashMultimap;
@@ -322,6 +330,76 @@ public class TestCoverageLevel extends TestFmwkPlus {
         assertEquals("Narrow $", Level.BASIC, level);
     }
 
+    /**
+     * A single CoverageLevel2 is shared across threads; it must give the same levels as when used from one thread.
+     */
+    public void TestConcurrentLevels() {
+        List<String> paths = new ArrayList<>();
+        ENGLISH.fullIterable().forEach(paths::add);
+        for (String locale : Arrays.asList("fr", "sr_Latn", "zh_Hant", "ar")) {
+            CoverageLevel2 coverageLevel = CoverageLevel2.getInstance(SDI, locale);
+            Map<String, Level> expected = new HashMap<>();
+            for (String path : paths) {
+                expected.put(path, coverageLevel.getLevel(path));
+            }
+            Map<String, Level> actual = paths.parallelStream()
+                .collect(Collectors.toConcurrentMap(path -> path, coverageLevel::getLevel));
+            for (String path : paths) {
+                if (!assertEquals(locale + " " + path, expected.get(path), actual.get(path))) {
+                    break;
+                }
+            }
+        }
+    }
+
+    public void TestCoverageCache() {
+        List<String> paths = new ArrayList<>();
+        ENGLISH.fullIterable().forEach(paths::add);
+        SDI.prewarmCoverageLevels("de", paths);
+        CacheStats before = SDI.getCoverageCacheStats();
+        CoverageLevel2 coverageLevel = CoverageLevel2.getInstance(SDI, "de");
+        for (String path : paths) {
+            if (!assertEquals(path, coverageLevel.getLevel(path), SDI.getCoverageLevel(path, "de"))) {
+                break;
+            }
+        }
+        CacheStats after = SDI.getCoverageCacheStats().minus(before);
+        assertEquals("hits after prewarm", (long) paths.size(), after.hitCount());
+        assertEquals("misses after prewarm", 0L, after.missCount());
+    }
+
+    public void TestCoverageSnapshot() throws IOException {
+        List<String> paths = new ArrayList<>();
+        ENGLISH.fullIterable().forEach(paths::add);
+        Map<String, List<String>> languageToPaths = new TreeMap<>();
+        for (String language : Arrays.asList("en", "fr", "sr")) {
+            languageToPaths.put(language, paths);
+        }
+        File file = File.createTempFile("coverageSnapshot", ".data");
+        try {
+            CoverageSnapshot.write(file, SDI, languageToPaths);
+            CoverageSnapshot snapshot = CoverageSnapshot.load(file);
+            assertEquals("languages", 3, snapshot.getLanguageCount());
+            assertEquals("paths", paths.size(), snapshot.getPathCount());
+            StringWriter differences = new StringWriter();
+            int differenceCount = snapshot.validate(SDI, new PrintWriter(differences, true));
+            assertEquals("differences " + differences.toString(), 0, differenceCount);
+
+            languages: for (String language : languageToPaths.keySet()) {
+                CoverageSnapshot.LanguageLevels levels = snapshot.getLevels(SDI, language, SDI.getCoverageVariableInfo(language));
+                CoverageLevel2 live = CoverageLevel2.getInstance(SDI, language);
+                for (String path : paths) {
+                    if (!assertEquals(language + " " + path, live.getLevel(path), levels.get(path))) {
+                        break languages;
+                    }
+                }
+                assertNull("unknown path", levels.get("//ldml/notAPath"));
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
     public void TestA() {
         String path = "//ldml/characterLabels/characterLabel[@type=\"other\"]";
         SupplementalDataInfo sdi = SupplementalDataInfo
@@ -10,6 +10,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeSet;
@@ -18,6 +19,7 @@ import org.unicode.cldr.util.CLDRConfig;
 import org.unicode.cldr.util.CLDRPaths;
 import org.unicode.cldr.util.DtdData;
 import org.unicode.cldr.util.DtdData.Attribute;
+import org.unicode.cldr.util.DtdData.DtdComparator;
 import org.unicode.cldr.util.DtdData.Element;
 import org.unicode.cldr.util.DtdData.ElementType;
 import org.unicode.cldr.util.DtdType;
@@ -319,6 +321,35 @@ public class TestDtdData extends TestFmwk {
         }
     }
 
+    /**
+     * The sort keys must give the same ordering as comparing the parsed paths.
+     */
+    public void TestSortKeyOrdering() {
+        DtdData dtdData = DtdData.getInstance(DtdType.ldml);
+        DtdComparator comparator = dtdData.getDtdComparator();
+        List<String> paths = new ArrayList<>();
+        testInfo.getEnglish().fullIterable().forEach(paths::add);
+        paths.add("//ldml/_fake/element");
+        Collections.sort(paths, comparator);
+
+        Random random = new Random(0);
+        int failures = 0;
+        for (int i = 0; i < paths.size(); ++i) {
+            String path1 = paths.get(i);
+            String path2 = random.nextBoolean() && i + 1 < paths.size() ? paths.get(i + 1) : paths.get(random.nextInt(paths.size()));
+            int expected = Integer.signum(comparator.xpathComparator(XPathParts.getFrozenInstance(path1), XPathParts.getFrozenInstance(path2)));
+            int actual = Integer.signum(dtdData.getSortKey(path1).compareTo(dtdData.getSortKey(path2)));
+            if (expected != actual && ++failures < 10) {
+                errln("Sort key ordering differs: " + expected + " ≠ " + actual + "\n\t" + path1 + "\n\t" + path2);
+            }
+        }
+        // _q attributes are compared numerically, by falling back to the parsed paths
+        String q3 = "//ldml/localeDisplayNames/languages/language[@type=\"en\"][@_q=\"3\"]";
+        String q12 = "//ldml/localeDisplayNames/languages/language[@type=\"en\"][@_q=\"12\"]";
+        assertTrue("_q ordering", comparator.compare(q3, q12) < 0);
+        logln("paths: " + paths.size() + ", sort key cache: " + dtdData.getSortKeyCacheStats());
+    }
+
 //    public void TestNonLeafValues() {
 //        for (DtdType type : DtdType.values()) {
 //            if (type == DtdType.ldmlICU) {
@@ -1,11 +1,15 @@
 package org.unicode.cldr.unittest;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.unicode.cldr.test.ExampleGenerator;
 import org.unicode.cldr.test.ExampleGenerator.UnitLength;
@@ -823,4 +827,50 @@ public class TestExampleGenerator extends TestFmwk {
             errln("Expected example to contain " + EXPECTED + "; got " + specialExample);
         }
     }
+
+    /**
+     * A single ExampleGenerator is shared by all the Survey Tool threads for a locale.
+     * Generate the examples for all paths from several threads at once, with caching off so
+     * that the formatting is really done concurrently, and compare with a serial run.
+     */
+    public void TestConcurrentExamples() throws InterruptedException {
+        final CLDRFile cldrFile = info.getCLDRFile("fr", true);
+        final ExampleGenerator serial = new ExampleGenerator(cldrFile, info.getEnglish(), CLDRPaths.DEFAULT_SUPPLEMENTAL_DIRECTORY);
+        final ExampleGenerator shared = new ExampleGenerator(cldrFile, info.getEnglish(), CLDRPaths.DEFAULT_SUPPLEMENTAL_DIRECTORY);
+        shared.setCachingEnabled(false);
+
+        final List<String> paths = new ArrayList<>();
+        final List<String> expected = new ArrayList<>();
+        for (String path : cldrFile.fullIterable()) {
+            if (path.startsWith("//ldml/dates") || path.startsWith("//ldml/numbers") || path.startsWith("//ldml/units")) {
+                paths.add(path);
+                expected.add(serial.getExampleHtml(path, cldrFile.getStringValue(path)));
+            }
+        }
+
+        final int threadCount = 8;
+        final AtomicInteger failures = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; ++t) {
+            final int offset = t * paths.size() / threadCount;
+            Thread thread = new Thread(() -> {
+                // each thread starts at a different point, so different kinds of paths are done at the same time
+                for (int i = 0; i < paths.size(); ++i) {
+                    int index = (i + offset) % paths.size();
+                    String path = paths.get(index);
+                    String actual = shared.getExampleHtml(path, cldrFile.getStringValue(path));
+                    if (!Objects.equals(expected.get(index), actual) && failures.incrementAndGet() < 10) {
+                        errln("Concurrent example differs for " + path + ":\n\t" + expected.get(index) + "\n\t" + actual);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals("concurrent failures", 0, failures.get());
+        logln("paths: " + paths.size() + ", threads: " + threadCount);
+    }
 }
@@ -1,20 +1,28 @@
 package org.unicode.cldr.unittest;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 import org.unicode.cldr.util.CLDRConfig;
 import org.unicode.cldr.util.CLDRFile;
 import org.unicode.cldr.util.DtdData;
 import org.unicode.cldr.util.DtdData.AttributeValueComparator;
 import org.unicode.cldr.util.DtdType;
+import org.unicode.cldr.util.PathHeader;
 import org.unicode.cldr.util.Timer;
 import org.unicode.cldr.util.XPathParts;
 
+import com.google.common.cache.CacheStats;
 import com.ibm.icu.util.Output;
 
 public class TestPerf extends TestFmwkPlus {
@@ -132,6 +140,29 @@ public class TestPerf extends TestFmwkPlus {
         assertEquals("", elementSize, size / ITERATIONS);
     }
 
+    public void TestFrozenXPathPartsCache() {
+        CacheStats before = XPathParts.getFrozenCacheStats();
+        for (String p : testPaths) {
+            XPathParts.getFrozenInstance(p);
+        }
+        CacheStats after = XPathParts.getFrozenCacheStats().minus(before);
+        logln("Frozen cache: " + XPathParts.getFrozenCacheSize() + " paths, " + after);
+        assertEquals("lookups", testPaths.size(), (int) after.requestCount());
+
+        // attribute values are shared between frozen instances
+        XPathParts wide1 = XPathParts.getFrozenInstance("//ldml/dates/calendars/calendar[@type=\"gregorian\"]/months/monthContext[@type=\"format\"]/monthWidth[@type=\"wide\"]/month[@type=\"1\"]");
+        XPathParts wide2 = XPathParts.getFrozenInstance("//ldml/dates/calendars/calendar[@type=\"buddhist\"]/days/dayContext[@type=\"format\"]/dayWidth[@type=\"wide\"]/day[@type=\"sun\"]");
+        assertTrue("shared value", wide1.getAttributeValue(-2, "type") == wide2.getAttributeValue(-2, "type"));
+
+        // malformed paths still throw IllegalArgumentException
+        try {
+            XPathParts.getFrozenInstance("//ldml/dates[@type=\"unterminated");
+            errln("expected an exception for a malformed path");
+        } catch (IllegalArgumentException e) {
+            logln("expected: " + e.getMessage());
+        }
+    }
+
     public void TestXPathPartsWithComparators() {
         for (String path : sortedArray) {
             XPathParts newParts = XPathParts.getFrozenInstance(path);
@@ -195,6 +226,48 @@ public class TestPerf extends TestFmwkPlus {
         return timer.getSeconds() / iterations;
     }
 
+    /**
+     * Compare PathHeader.Factory.fromPath over all the English paths, one thread vs. all cores.
+     * The cache is cleared before each run, so that the lookups (not the cache) are measured.
+     */
+    public void TestPathHeaderThreads() {
+        PathHeader.Factory phf = PathHeader.getFactory();
+        List<String> paths = Arrays.asList(sortedArray);
+        paths.forEach(phf::fromPath); // warmup
+
+        phf.clearCache();
+        Timer timer = new Timer();
+        Map<String, PathHeader> sequential = new HashMap<>();
+        for (String path : paths) {
+            sequential.put(path, phf.fromPath(path));
+        }
+        timer.stop();
+        double sequentialSeconds = timer.getSeconds();
+
+        phf.clearCache();
+        timer.start();
+        Map<String, PathHeader> parallel = paths.parallelStream()
+            .collect(Collectors.toConcurrentMap(path -> path, phf::fromPath));
+        timer.stop();
+        double parallelSeconds = timer.getSeconds();
+
+        logln("PathHeader paths: " + paths.size()
+            + "\tsequential: " + sequentialSeconds + "s"
+            + "\tparallel: " + parallelSeconds + "s"
+            + "\tthreads: " + ForkJoinPool.commonPool().getParallelism());
+        for (String path : paths) {
+            PathHeader expected = sequential.get(path);
+            PathHeader actual = parallel.get(path);
+            if (!assertEquals(path, expected, actual)) {
+                break;
+            }
+            // equals() doesn't look at the ordering, so check that too
+            if (!assertEquals(path + " order", 0, expected.compareTo(actual))) {
+                break;
+            }
+        }
+    }
+
     public void TestUnused() {
 
     }
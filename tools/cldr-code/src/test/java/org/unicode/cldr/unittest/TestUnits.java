@@ -69,6 +69,7 @@ import org.unicode.cldr.util.UnitConverter;
 import org.unicode.cldr.util.UnitConverter.Continuation;
 import org.unicode.cldr.util.UnitConverter.Continuation.UnitIterator;
 import org.unicode.cldr.util.UnitConverter.ConversionInfo;
+import org.unicode.cldr.util.UnitConverter.ConversionPlan;
 import org.unicode.cldr.util.UnitConverter.TargetInfo;
 import org.unicode.cldr.util.UnitConverter.UnitComplexity;
 import org.unicode.cldr.util.UnitConverter.UnitId;
@@ -637,6 +638,92 @@ public class TestUnits extends TestFmwk {
         assertEquals("", Rational.of(7), uinfo.convert(Rational.of(2)));
     }
 
+    /**
+     * The long arithmetic must give the same results as BigInteger, including when it overflows.
+     */
+    public void TestRationalOverflow() {
+        long big = (1L << 62) - 57; // prime
+        Rational[] values = {
+            Rational.ZERO, Rational.ONE, Rational.NEGATIVE_ONE, Rational.INFINITY, Rational.NaN,
+            Rational.of(3, 5), Rational.of(-7, 1024), Rational.of(big, 3), Rational.of(-3, big),
+            Rational.of(Long.MAX_VALUE, 7), Rational.of(Long.MIN_VALUE, 9),
+            Rational.of(BigInteger.ONE.shiftLeft(100), BigInteger.valueOf(3)),
+        };
+        for (Rational a : values) {
+            for (Rational b : values) {
+                BigInteger an = a.numerator, ad = a.denominator, bn = b.numerator, bd = b.denominator;
+                String title = a + ", " + b;
+                if (!ad.equals(BigInteger.ZERO) && !bd.equals(BigInteger.ZERO)) {
+                    assertEquals("add " + title, Rational.of(an.multiply(bd).add(bn.multiply(ad)), ad.multiply(bd)), a.add(b));
+                    assertEquals("subtract " + title, Rational.of(an.multiply(bd).subtract(bn.multiply(ad)), ad.multiply(bd)), a.subtract(b));
+                    assertEquals("compareTo " + title, an.multiply(bd).compareTo(bn.multiply(ad)), a.compareTo(b));
+                }
+                Rational product = a.multiply(b);
+                if (!product.equals(Rational.NaN)) {
+                    assertEquals("multiply " + title, Rational.of(an.multiply(bn), ad.multiply(bd)), product);
+                }
+                assertEquals("equals " + title, an.equals(bn) && ad.equals(bd), a.equals(b));
+            }
+            assertEquals("negate " + a, Rational.of(a.numerator.negate(), a.denominator), a.negate());
+            assertEquals("reciprocal " + a, Rational.of(a.denominator, a.numerator), a.reciprocal());
+        }
+    }
+
+    /**
+     * The compiled plans give the same results as the step-by-step conversion, and the double API is close to them.
+     */
+    public void TestConversionPlan() {
+        Rational[] values = { Rational.ZERO, Rational.ONE, Rational.of(-40), Rational.of(1234567, 1000) };
+        int count = 0;
+        for (String source : converter.canConvert()) {
+            for (String target : converter.canConvertBetween(source)) {
+                ConversionPlan plan = converter.getConversionPlan(source, target);
+                if (!assertTrue(source + " ⟹ " + target, plan.isValid())) {
+                    continue;
+                }
+                Output<String> sourceBase = new Output<>();
+                Output<String> targetBase = new Output<>();
+                ConversionInfo sourceInfo = converter.parseUnitId(converter.fixDenormalized(source), sourceBase, false);
+                ConversionInfo targetInfo = converter.parseUnitId(target, targetBase, false);
+                boolean reciprocal = !sourceBase.value.equals(targetBase.value)
+                    && targetBase.value.equals(converter.reciprocalOf(sourceBase.value));
+                for (Rational value : values) {
+                    Rational intermediate = sourceInfo.convert(value);
+                    Rational expected = targetInfo.convertBackwards(reciprocal ? intermediate.reciprocal() : intermediate);
+                    Rational actual = converter.convert(value, source, target, false);
+                    assertEquals(source + " ⟹ " + target + ": " + value, expected, actual);
+                    double expectedDouble = expected.doubleValue();
+                    double actualDouble = converter.convert(value.doubleValue(), source, target);
+                    if (Math.abs(expectedDouble - actualDouble) > 1e-9 * Math.max(1, Math.abs(expectedDouble))) {
+                        errln(source + " ⟹ " + target + ": " + value + ", expected " + expectedDouble + ", got " + actualDouble);
+                    }
+                }
+                ++count;
+            }
+        }
+        logln("plans checked: " + count + ", " + converter.getConversionCacheStats());
+
+        // reciprocal
+        ConversionPlan plan = converter.getConversionPlan("liter-per-100-kilometer", "mile-per-gallon");
+        assertNull("reciprocal isn't linear", plan.getLinear());
+        Rational mpg = plan.convert(Rational.of(5));
+        assertEquals("round trip", Rational.of(5), converter.getConversionPlan("mile-per-gallon", "liter-per-100-kilometer").convert(mpg));
+
+        // arrays
+        double[] celsius = converter.convert(new double[] { -40, 0, 100 }, "fahrenheit", "celsius");
+        double[] expectedCelsius = { -40.0, -160.0 / 9, 340.0 / 9 };
+        for (int i = 0; i < celsius.length; ++i) {
+            if (Math.abs(expectedCelsius[i] - celsius[i]) > 1e-12) {
+                errln("fahrenheit ⟹ celsius: expected " + expectedCelsius[i] + ", got " + celsius[i]);
+            }
+        }
+
+        // unknown and incomparable
+        assertEquals("incomparable", Rational.NaN, converter.convert(Rational.ONE, "meter", "second", false));
+        assertTrue("incomparable double", Double.isNaN(converter.convert(1.0, "meter", "second")));
+        assertEquals("unknown", ConversionPlan.NONE, converter.getConversionPlan("xyzzy", "meter"));
+    }
+
     public void TestRationalParse() {
         Rational.RationalParser parser = SDI.getRationalParser();
 
@@ -22,8 +22,10 @@ import java.util.Random;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 
+import org.unicode.cldr.test.ExampleGenerator;
 import org.unicode.cldr.test.SubmissionLocales;
 import org.unicode.cldr.tool.ConvertLanguageData.InverseComparator;
 import org.unicode.cldr.util.CLDRConfig;
@@ -35,15 +37,21 @@ import org.unicode.cldr.util.Counter;
 import org.unicode.cldr.util.DelegatingIterator;
 import org.unicode.cldr.util.EscapingUtilities;
 import org.unicode.cldr.util.Factory;
+import org.unicode.cldr.util.ICUServiceBuilder;
 import org.unicode.cldr.util.Organization;
 import org.unicode.cldr.util.PathHeader;
 import org.unicode.cldr.util.PathHeader.PageId;
 import org.unicode.cldr.util.PatternCache;
+import org.unicode.cldr.util.PathDescription;
 import org.unicode.cldr.util.PluralSamples;
+import org.unicode.cldr.util.RegexLookup;
+import org.unicode.cldr.util.RegexLookup.LookupType;
+import org.unicode.cldr.util.SimpleXMLSource;
 import org.unicode.cldr.util.SpecialLocales;
 import org.unicode.cldr.util.StringId;
 import org.unicode.cldr.util.SupplementalDataInfo;
 import org.unicode.cldr.util.SupplementalDataInfo.PluralInfo.Count;
+import org.unicode.cldr.util.ValueSearchIndex;
 import org.unicode.cldr.util.VettingViewer;
 import org.unicode.cldr.util.VettingViewer.Choice;
 import org.unicode.cldr.util.VettingViewer.MissingStatus;
@@ -52,6 +60,7 @@ import org.unicode.cldr.util.VoteResolver;
 import org.unicode.cldr.util.VoteResolver.Level;
 import org.unicode.cldr.util.VoteResolver.Status;
 import org.unicode.cldr.util.VoteResolver.VoterInfo;
+import org.unicode.cldr.util.XMLSource;
 import org.unicode.cldr.util.XMLUploader;
 import org.unicode.cldr.util.props.ICUPropertyFactory;
 
@@ -61,7 +70,10 @@ import com.ibm.icu.impl.Utility;
 import com.ibm.icu.lang.UCharacter;
 import com.ibm.icu.lang.UProperty;
 import com.ibm.icu.text.Collator;
+import com.ibm.icu.text.DecimalFormat;
+import com.ibm.icu.text.Transform;
 import com.ibm.icu.text.UnicodeSet;
+import com.ibm.icu.util.Output;
 import com.ibm.icu.util.ULocale;
 
 public class TestUtilities extends TestFmwkPlus {
@@ -148,6 +160,182 @@ public class TestUtilities extends TestFmwkPlus {
         }
     }
 
+    public void TestICUServiceBuilderSharing() throws InterruptedException {
+        // only frozen files share formatters; files from the factory are frozen
+        final CLDRFile cldrFile = testInfo.getCldrFactory().make("de", true);
+        ICUServiceBuilder first = new ICUServiceBuilder().setCldrFile(cldrFile);
+        ICUServiceBuilder second = new ICUServiceBuilder().setCldrFile(cldrFile);
+        DecimalFormat format1 = first.getNumberFormat(1);
+        DecimalFormat format2 = second.getNumberFormat(1);
+        assertNotSame("clones are handed out", format1, format2);
+        assertEquals("same pattern", format1.toPattern(), format2.toPattern());
+        assertTrue("second builder shares the formatters of the first",
+            second.getCacheStats().get("numberFormats").hitCount() > 0);
+
+        // the builder can be shared across threads
+        final String expected = first.getDateFormat("gregorian", 2, 2).format(ExampleGenerator.DATE_SAMPLE)
+            + first.getCurrencyFormat("EUR").format(1234.5);
+        final AtomicInteger failures = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; ++i) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 200; ++j) {
+                    String actual = second.getDateFormat("gregorian", 2, 2).format(ExampleGenerator.DATE_SAMPLE)
+                        + second.getCurrencyFormat("EUR").format(1234.5);
+                    if (!expected.equals(actual)) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals("concurrent formatting failures", 0, failures.get());
+        logln("shared formatter stats: " + ICUServiceBuilder.getSharedCacheStats());
+    }
+
+    public void TestStringIdBulk() {
+        // ids are persisted (eg in Survey Tool URLs), so they must never change
+        final String path = "//ldml/numbers/symbols[@numberSystem=\"sund\"]/infinity";
+        assertEquals("stable id", "6d37a14eec91cee6", StringId.getHexId(path));
+
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < 5000; ++i) {
+            strings.add("bulk-" + i);
+        }
+        long[] ids = StringId.getIds(strings);
+        for (int i = 0; i < strings.size(); ++i) {
+            if (ids[i] != StringId.getId(strings.get(i))) {
+                errln("getIds differs from getId for " + strings.get(i));
+                break;
+            }
+        }
+
+        List<String> known = Arrays.asList("preload-a", "preload-b");
+        StringId.preload(known);
+        for (String s : known) {
+            assertEquals("preloaded", s, StringId.getStringFromId(StringId.getId(s)));
+        }
+        logln("preloaded: " + StringId.getPreloadedCount() + ", cache: " + StringId.getCacheStats());
+    }
+
+    public void TestValueSearchIndex() {
+        final String us = "//ldml/localeDisplayNames/territories/territory[@type=\"US\"]";
+        final String gb = "//ldml/localeDisplayNames/territories/territory[@type=\"GB\"]";
+        final String ae = "//ldml/localeDisplayNames/territories/territory[@type=\"AE\"]";
+        final String en = "//ldml/localeDisplayNames/languages/language[@type=\"en\"]";
+        SimpleXMLSource source = new SimpleXMLSource("xx");
+        source.putValueAtDPath(us, "United States");
+        source.putValueAtDPath(gb, "United Kingdom");
+        source.putValueAtDPath(ae, "United Arab Emirates");
+        source.putValueAtDPath(en, "English");
+        CLDRFile cldrFile = new CLDRFile(source);
+        ValueSearchIndex index = new ValueSearchIndex(cldrFile);
+        source.addListener(index);
+
+        assertEquals("prefix, shortest first", Arrays.asList(us, gb, ae), getSearchPaths(index, "united", 10));
+        assertEquals("limit", Arrays.asList(us), getSearchPaths(index, "UNITED", 1));
+        assertEquals("exact", Arrays.asList(en), getSearchPaths(index, "english", 10));
+        assertEquals("short query", Arrays.asList(en), getSearchPaths(index, "en", 10));
+        List<ValueSearchIndex.Match> matches = index.search("kingdom", 10);
+        assertEquals("word start", ValueSearchIndex.MatchType.wordStart, matches.get(0).getType());
+        assertEquals("substring", Arrays.asList(gb), getSearchPaths(index, "ngdo", 10));
+        assertEquals("word start, not first word", ValueSearchIndex.MatchType.wordStart,
+            index.search("arab", 10).get(0).getType());
+        assertEquals("across words", ValueSearchIndex.MatchType.substring,
+            index.search("tedstates", 10).get(0).getType());
+        assertEquals("missing", Arrays.asList(), getSearchPaths(index, "xyz", 10));
+
+        // updated from the listener
+        source.putValueAtDPath(en, "Anglais");
+        source.notifyListeners(en);
+        assertEquals("old value", Arrays.asList(), getSearchPaths(index, "english", 10));
+        assertEquals("new value", Arrays.asList(en), getSearchPaths(index, "angl", 10));
+        source.removeValueAtDPath(gb);
+        source.notifyListeners(gb);
+        assertEquals("removed", Arrays.asList(us, ae), getSearchPaths(index, "united", 10));
+
+        // a resolved file, updated from changes anywhere in the chain
+        SimpleXMLSource child = new SimpleXMLSource("xx_YY");
+        child.putValueAtDPath(gb, "Royaume-Uni");
+        SimpleXMLSource root = new SimpleXMLSource("root");
+        XMLSource resolving = new XMLSource.ResolvingSource(Arrays.asList(child, source, root));
+        ValueSearchIndex resolvedIndex = new ValueSearchIndex(new CLDRFile(resolving));
+        resolving.addListener(resolvedIndex);
+        assertEquals("inherited", Arrays.asList(us), getSearchPaths(resolvedIndex, "states", 10));
+        source.putValueAtDPath(us, "États-Unis");
+        source.notifyListeners(us);
+        assertEquals("parent changed", Arrays.asList(us), getSearchPaths(resolvedIndex, "états", 10));
+        assertEquals("parent changed, old value", Arrays.asList(), getSearchPaths(resolvedIndex, "states", 10));
+        source.putValueAtDPath(gb, "United Kingdom");
+        source.notifyListeners(gb);
+        assertEquals("overridden in child", Arrays.asList(), getSearchPaths(resolvedIndex, "kingdom", 10));
+        child.putValueAtDPath(ae, "Émirats arabes unis");
+        child.notifyListeners(ae);
+        assertEquals("child changed", Arrays.asList(ae), getSearchPaths(resolvedIndex, "émirats", 10));
+
+        // same results as a scan over a real locale
+        CLDRFile fr = testInfo.getCLDRFile("fr", true);
+        ValueSearchIndex frIndex = new ValueSearchIndex(fr);
+        for (String query : Arrays.asList("lun", "mars", "dollar", "é")) {
+            Set<String> expected = new TreeSet<>();
+            String q = SimpleXMLSource.normalize(query);
+            for (String path : fr) {
+                String value = fr.getStringValue(path);
+                if (value != null && SimpleXMLSource.normalize(value).contains(q)) {
+                    expected.add(path);
+                }
+            }
+            assertEquals("fr " + query, expected, frIndex.getPathsContaining(query, new TreeSet<>()));
+        }
+    }
+
+    /**
+     * A listener on a resolving source hears about changes anywhere in its chain, and about the paths
+     * aliasing to the changed path, whose values then come from the new value.
+     */
+    public void TestResolvingSourceListeners() {
+        final String wide = "//ldml/dates/calendars/calendar[@type=\"coptic\"]/months/monthContext[@type=\"format\"]"
+            + "/monthWidth[@type=\"wide\"]/month[@type=\"1\"]";
+        final String abbreviated = wide.replace("monthWidth[@type=\"wide\"]", "monthWidth[@type=\"abbreviated\"]");
+        SimpleXMLSource child = new SimpleXMLSource("xx");
+        XMLSource resolving = new XMLSource.ResolvingSource(Arrays.asList(child, testInfo.getCldrFactory().makeSource("root")));
+        List<String> heard = new ArrayList<>();
+        XMLSource.Listener listener = (xpath, source) -> heard.add(xpath);
+        resolving.addListener(listener);
+        assertEquals("inherited", "Tout", resolving.getValueAtDPath(wide));
+        assertEquals("inherited through an alias", "Tout", resolving.getValueAtDPath(abbreviated));
+
+        child.putValueAtDPath(wide, "Thout");
+        child.notifyListeners(wide);
+        assertTrue("changed path " + heard, heard.contains(wide));
+        assertTrue("aliasing path " + heard, heard.contains(abbreviated));
+        assertEquals("changed", "Thout", resolving.getValueAtDPath(wide));
+        assertEquals("changed through an alias", "Thout", resolving.getValueAtDPath(abbreviated));
+
+        // a resolving source with no listeners of its own passes nothing on
+        XMLSource unheard = new XMLSource.ResolvingSource(Arrays.asList(child, testInfo.getCldrFactory().makeSource("root")));
+        assertEquals("other source", "Thout", unheard.getValueAtDPath(abbreviated));
+        List<String> heardBefore = new ArrayList<>(heard);
+        heard.clear();
+        child.removeValueAtDPath(wide);
+        child.notifyListeners(wide);
+        assertEquals("heard only through the source listened to", heardBefore, heard);
+        assertEquals("removed", "Tout", resolving.getValueAtDPath(abbreviated));
+        assertEquals("removed, other source", "Tout", unheard.getValueAtDPath(abbreviated));
+    }
+
+    private List<String> getSearchPaths(ValueSearchIndex index, String query, int limit) {
+        List<String> result = new ArrayList<>();
+        for (ValueSearchIndex.Match match : index.search(query, limit)) {
+            result.add(match.getPath());
+        }
+        return result;
+    }
+
     public void TestUrlEscape() {
         Matcher byte1 = PatternCache.get("%[A-Za-z0-9]{2}").matcher("");
         Matcher byte2 = PatternCache.get("%[A-Za-z0-9]{2}%[A-Za-z0-9]{2}")
@@ -1388,4 +1576,46 @@ public class TestUtilities extends TestFmwkPlus {
             errln("Got getMissingStatus = " + status.toString() + "; expected " + expected.toString());
         }
     }
+
+    /**
+     * The element trie used by the default RegexLookup must give the same results (first match and arguments)
+     * as the linear lookup.
+     */
+    public void TestRegexLookupTrie() {
+        Set<String> paths = new TreeSet<>();
+        testInfo.getEnglish().fullIterable().forEach(paths::add);
+        paths.add("//ldml/dates/calendars/calendar[@type=\"gregorian\"]/months/monthContext[@type=\"format\"]/monthWidth[@type=\"wide\"]/month[@type=\"1\"]");
+        paths.add("//ldml/unknownElement");
+        paths.add("not a path");
+
+        Object[][] sources = {
+            { PathHeader.class, "data/PathHeader.txt", RegexLookup.RegexFinderTransformPath },
+            { PathDescription.class, "data/PathDescription.txt", RegexLookup.RegexFinderTransform },
+        };
+        for (Object[] source : sources) {
+            @SuppressWarnings("unchecked")
+            Transform<String, RegexLookup.RegexFinder> transform = (Transform<String, RegexLookup.RegexFinder>) source[2];
+            RegexLookup<String> trie = RegexLookup.<String> of(LookupType.OPTIMIZED_DIRECTORY_PATTERN_LOOKUP, transform)
+                .loadFromFile((Class<?>) source[0], (String) source[1]);
+            RegexLookup<String> linear = RegexLookup.<String> of(LookupType.STANDARD, transform)
+                .loadFromFile((Class<?>) source[0], (String) source[1]);
+            assertEquals(source[1] + " size", linear.size(), trie.size());
+            int matched = 0;
+            for (String path : paths) {
+                Output<String[]> trieArgs = new Output<>();
+                Output<String[]> linearArgs = new Output<>();
+                String expected = linear.get(path, null, linearArgs);
+                String actual = trie.get(path, null, trieArgs);
+                if (!assertEquals(source[1] + " " + path, expected, actual)) {
+                    continue;
+                }
+                assertEquals(source[1] + " args " + path, Arrays.toString(linearArgs.value), Arrays.toString(trieArgs.value));
+                assertEquals(source[1] + " all " + path, linear.getAll(path, null, null, null), trie.getAll(path, null, null, null));
+                if (expected != null) {
+                    ++matched;
+                }
+            }
+            logln(source[1] + ": " + matched + "/" + paths.size() + " paths matched");
+        }
+    }
 }
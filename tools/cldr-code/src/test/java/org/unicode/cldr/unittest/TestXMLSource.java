@@ -1,17 +1,29 @@
 package org.unicode.cldr.unittest;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.unicode.cldr.util.CLDRConfig;
 import org.unicode.cldr.util.CLDRFile;
+import org.unicode.cldr.util.CLDRFile.DraftStatus;
+import org.unicode.cldr.util.CLDRPaths;
 import org.unicode.cldr.util.CldrUtility;
+import org.unicode.cldr.util.XMLNormalizingLoader;
 import org.unicode.cldr.util.XMLSource;
+import org.unicode.cldr.util.XMLSourceBinaryCache;
 import org.unicode.cldr.util.XPathParts.Comments;
+import org.unicode.cldr.util.XPathParts.Comments.CommentType;
 
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableSet;
 import com.ibm.icu.dev.test.TestFmwk;
 
 public class TestXMLSource extends TestFmwk {
@@ -134,4 +146,51 @@ public class TestXMLSource extends TestFmwk {
         }
 
     }
+
+    public void TestLoaderPrefetch() {
+        List<File> dirs = Collections.singletonList(new File(CLDRPaths.MAIN_DIRECTORY));
+        List<String> locales = Arrays.asList("fr", "fr_CA", "de", "ja");
+        XMLNormalizingLoader.prefetch(locales, dirs, DraftStatus.unconfirmed);
+        CacheStats before = XMLNormalizingLoader.getCacheStats();
+        for (String locale : locales) {
+            XMLSource source = XMLNormalizingLoader.getFrozenInstance(locale, dirs, DraftStatus.unconfirmed);
+            assertEquals("locale", locale, source.getLocaleID());
+        }
+        CacheStats after = XMLNormalizingLoader.getCacheStats().minus(before);
+        assertEquals("all hits after prefetch", locales.size(), (int) after.hitCount());
+        assertTrue("cached bytes within budget",
+            XMLNormalizingLoader.getCachedBytes() <= XMLNormalizingLoader.getMaxCachedBytes());
+        assertTrue("some time parsing", XMLNormalizingLoader.getParseNanos() > 0);
+        logln(XMLNormalizingLoader.getStatistics());
+    }
+
+    public void TestBinaryCacheRoundTrip() throws IOException {
+        File sourceFile = new File(CLDRPaths.MAIN_DIRECTORY, "fr.xml");
+        XMLSource parsed = XMLNormalizingLoader.loadXMLFile(sourceFile, "fr", DraftStatus.unconfirmed);
+        File cacheFile = File.createTempFile("fr", ".bin");
+        try {
+            XMLSourceBinaryCache.writeTo(cacheFile, sourceFile, DraftStatus.unconfirmed, parsed);
+            XMLSource read = XMLSourceBinaryCache.readFrom(cacheFile, sourceFile, "fr", DraftStatus.unconfirmed);
+            assertNotNull("read back", read);
+            assertEquals("paths", ImmutableSet.copyOf(parsed), ImmutableSet.copyOf(read));
+            for (String path : parsed) {
+                assertEquals("value of " + path, parsed.getValueAtDPath(path), read.getValueAtDPath(path));
+                assertEquals("full path of " + path, parsed.getFullPathAtDPath(path), read.getFullPathAtDPath(path));
+            }
+            assertEquals("nonInheriting", parsed.isNonInheriting(), read.isNonInheriting());
+            assertEquals("dtd type", parsed.getXMLNormalizingDtdType(), read.getXMLNormalizingDtdType());
+            Comments parsedComments = parsed.getXpathComments();
+            Comments readComments = read.getXpathComments();
+            assertEquals("initial comment", parsedComments.getInitialComment(), readComments.getInitialComment());
+            assertEquals("final comment", parsedComments.getFinalComment(), readComments.getFinalComment());
+            for (CommentType type : CommentType.values()) {
+                assertEquals(type + " comments", parsedComments.getCommentMap(type), readComments.getCommentMap(type));
+            }
+
+            // a different draft status doesn't match
+            assertNull("stale", XMLSourceBinaryCache.readFrom(cacheFile, sourceFile, "fr", DraftStatus.approved));
+        } finally {
+            cacheFile.delete();
+        }
+    }
 }